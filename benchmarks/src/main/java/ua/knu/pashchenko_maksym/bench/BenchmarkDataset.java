@@ -0,0 +1,204 @@
+package ua.knu.pashchenko_maksym.bench;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ua.knu.pashchenko_maksym.dao.CourseDao;
+import ua.knu.pashchenko_maksym.dao.DataSourceProvider;
+import ua.knu.pashchenko_maksym.dao.GradeDao;
+import ua.knu.pashchenko_maksym.dao.GroupDao;
+import ua.knu.pashchenko_maksym.dao.JdbcCourseDao;
+import ua.knu.pashchenko_maksym.dao.JdbcGradeDao;
+import ua.knu.pashchenko_maksym.dao.JdbcGradeScanDao;
+import ua.knu.pashchenko_maksym.dao.JdbcGroupDao;
+import ua.knu.pashchenko_maksym.dao.JdbcStudentDao;
+import ua.knu.pashchenko_maksym.dao.JdbcTeacherDao;
+import ua.knu.pashchenko_maksym.dao.PgCopyGradeExportDao;
+import ua.knu.pashchenko_maksym.dao.StudentDao;
+import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingCourseDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingGroupDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingTeacherDao;
+import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.service.GradeBookService;
+import ua.knu.pashchenko_maksym.service.ReportService;
+
+/**
+ * Recreates the schema in the benchmark database and seeds it once per trial.
+ *
+ * <p>The dataset size is controlled by the JMH parameters below, e.g.
+ * {@code -p groups=50 -p studentsPerGroup=100}. Seeding drops all tables, so the
+ * state refuses to run against the application's default database. The database is
+ * {@code gradebook_bench} on localhost unless {@code -Dgradebook.db.url} says otherwise.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDataset {
+
+    private static final String APPLICATION_DB_URL = "jdbc:postgresql://localhost:5432/gradebook";
+    private static final String DEFAULT_BENCH_DB_URL = "jdbc:postgresql://localhost:5432/gradebook_bench";
+    private static final int INSERT_CHUNK = 10_000;
+
+    @Param("10")
+    public int groups;
+
+    @Param("50")
+    public int studentsPerGroup;
+
+    @Param("20")
+    public int courses;
+
+    @Param("20")
+    public int gradesPerStudent;
+
+    GradeDao gradeDao;
+    GradeBookService gradeBookService;
+    ReportService copyReportService;
+    ReportService jdbcReportService;
+
+    long[] groupIds;
+    long[] studentIds;
+    long[] courseIds;
+    long[] teacherIds;
+
+    private long lastSeededGradeId;
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException, SQLException {
+        String url = System.getProperty("gradebook.db.url", DEFAULT_BENCH_DB_URL);
+        if (url.equals(APPLICATION_DB_URL)) {
+            throw new IllegalStateException("Benchmarks drop and recreate all tables; "
+                    + "point -Dgradebook.db.url at a dedicated database");
+        }
+        // DataSourceProvider reads the URL when it is first used, which happens below
+        System.setProperty("gradebook.db.url", url);
+
+        recreateSchema(Path.of(System.getProperty("bench.schema", "../resources/db/schema.sql")));
+
+        StudentDao studentDao = new JdbcStudentDao();
+        GroupDao groupDao = new CachingGroupDao(new JdbcGroupDao(), 1_000, Duration.ofMinutes(5));
+        CourseDao courseDao = new CachingCourseDao(new JdbcCourseDao(), 1_000, Duration.ofMinutes(5));
+        TeacherDao teacherDao = new CachingTeacherDao(new JdbcTeacherDao(), 1_000, Duration.ofMinutes(5));
+        gradeDao = new JdbcGradeDao();
+        gradeBookService = new GradeBookService(studentDao, groupDao, courseDao, teacherDao, gradeDao,
+                new JdbcGradeScanDao());
+        copyReportService = new ReportService(studentDao, groupDao, courseDao, teacherDao, gradeDao,
+                new PgCopyGradeExportDao());
+        jdbcReportService = new ReportService(studentDao, groupDao, courseDao, teacherDao, gradeDao);
+
+        Random random = new Random(42);
+
+        teacherIds = new long[Math.max(1, courses / 2)];
+        for (int i = 0; i < teacherIds.length; i++) {
+            teacherIds[i] = gradeBookService.createTeacher("Teacher" + i, "Bench" + i,
+                    "Department " + (i % 5), "teacher" + i + "@bench.local").getId();
+        }
+
+        courseIds = new long[courses];
+        for (int i = 0; i < courses; i++) {
+            courseIds[i] = gradeBookService.createCourse("Course " + i, 1 + i % 2, 2025,
+                    teacherIds[i % teacherIds.length], 5).getId();
+        }
+
+        groupIds = new long[groups];
+        studentIds = new long[groups * studentsPerGroup];
+        int s = 0;
+        for (int g = 0; g < groups; g++) {
+            groupIds[g] = gradeBookService.createGroup("BENCH-" + g, (short) (1 + g % 6)).getId();
+            for (int i = 0; i < studentsPerGroup; i++, s++) {
+                studentIds[s] = gradeBookService.createStudent("Student" + s, "Bench" + s,
+                        "student" + s + "@bench.local", groupIds[g], 2025).getId();
+            }
+        }
+
+        List<Grade> chunk = new ArrayList<>(INSERT_CHUNK);
+        LocalDate today = LocalDate.now();
+        for (long studentId : studentIds) {
+            for (int i = 0; i < gradesPerStudent; i++) {
+                int course = random.nextInt(courses);
+                Grade grade = new Grade();
+                grade.setStudentId(studentId);
+                grade.setCourseId(courseIds[course]);
+                grade.setTeacherId(teacherIds[course % teacherIds.length]);
+                grade.setValue(BigDecimal.valueOf(4_000 + random.nextInt(6_001), 2));
+                grade.setGradeDate(today.minusDays(random.nextInt(365)));
+                chunk.add(grade);
+                if (chunk.size() == INSERT_CHUNK) {
+                    gradeBookService.addGrades(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            gradeBookService.addGrades(chunk);
+        }
+
+        try (Connection connection = DataSourceProvider.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM grades")) {
+                rs.next();
+                lastSeededGradeId = rs.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Removes grades inserted by write benchmarks so every iteration sees the same data.
+     */
+    @TearDown(Level.Iteration)
+    public void removeInsertedGrades() throws SQLException {
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement("DELETE FROM grades WHERE id > ?")) {
+            ps.setLong(1, lastSeededGradeId);
+            ps.executeUpdate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        DataSourceProvider.shutdown();
+    }
+
+    long randomStudentId() {
+        return studentIds[ThreadLocalRandom.current().nextInt(studentIds.length)];
+    }
+
+    long randomCourseId() {
+        return courseIds[ThreadLocalRandom.current().nextInt(courseIds.length)];
+    }
+
+    long randomGroupId() {
+        return groupIds[ThreadLocalRandom.current().nextInt(groupIds.length)];
+    }
+
+    long randomTeacherId() {
+        return teacherIds[ThreadLocalRandom.current().nextInt(teacherIds.length)];
+    }
+
+    private static void recreateSchema(Path schema) throws IOException, SQLException {
+        String sql = Files.readString(schema, StandardCharsets.UTF_8);
+        try (Connection connection = DataSourceProvider.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ua.knu.pashchenko_maksym.bench;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.knu.pashchenko_maksym.model.Grade;
+
+/**
+ * Service-level operations: a single grade insert with its reference checks
+ * and the group average used by reports.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class GradeBookServiceBenchmark {
+
+    @Benchmark
+    public Grade addGrade(BenchmarkDataset data) {
+        double value = ThreadLocalRandom.current().nextInt(4_000, 10_001) / 100.0;
+        return data.gradeBookService.addGrade(data.randomStudentId(), data.randomCourseId(),
+                data.randomTeacherId(), value, LocalDate.now());
+    }
+
+    @Benchmark
+    public double getGroupAverageForCourse(BenchmarkDataset data) {
+        return data.gradeBookService.getGroupAverageForCourse(data.randomGroupId(), data.randomCourseId());
+    }
+}
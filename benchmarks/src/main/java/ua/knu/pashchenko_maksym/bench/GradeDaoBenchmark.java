@@ -0,0 +1,39 @@
+package ua.knu.pashchenko_maksym.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.model.GradeSummary;
+
+/**
+ * Read paths of {@code JdbcGradeDao}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class GradeDaoBenchmark {
+
+    @Benchmark
+    public List<Grade> findByStudentAndCourse(BenchmarkDataset data) {
+        return data.gradeDao.findByStudentAndCourse(data.randomStudentId(), data.randomCourseId());
+    }
+
+    @Benchmark
+    public List<Grade> findByGroupAndCourse(BenchmarkDataset data) {
+        return data.gradeDao.findByGroupAndCourse(data.randomGroupId(), data.randomCourseId());
+    }
+
+    @Benchmark
+    public GradeSummary summarizeByGroupAndCourse(BenchmarkDataset data) {
+        return data.gradeDao.summarizeByGroupAndCourse(data.randomGroupId(), data.randomCourseId());
+    }
+}
@@ -0,0 +1,71 @@
+package ua.knu.pashchenko_maksym.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CSV exports of {@code ReportService}, both through {@code COPY} and through
+ * the JDBC fallback, so the two paths can be compared on the same data.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ReportExportBenchmark {
+
+    /**
+     * Per-thread target file, overwritten by every export.
+     */
+    @State(Scope.Thread)
+    public static class Target {
+
+        Path file;
+
+        @Setup(Level.Trial)
+        public void create() throws IOException {
+            file = Files.createTempFile("gradebook-bench-", ".csv");
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public void exportGroupCourseCopy(BenchmarkDataset data, Target target) throws IOException {
+        data.copyReportService.exportGroupCourseGradesToCsv(data.randomGroupId(), data.randomCourseId(),
+                target.file);
+    }
+
+    @Benchmark
+    public void exportGroupCourseJdbc(BenchmarkDataset data, Target target) throws IOException {
+        data.jdbcReportService.exportGroupCourseGradesToCsv(data.randomGroupId(), data.randomCourseId(),
+                target.file);
+    }
+
+    @Benchmark
+    public void exportStudentCopy(BenchmarkDataset data, Target target) throws IOException {
+        data.copyReportService.exportStudentGradesToCsv(data.randomStudentId(), target.file);
+    }
+
+    @Benchmark
+    public void exportStudentJdbc(BenchmarkDataset data, Target target) throws IOException {
+        data.jdbcReportService.exportStudentGradesToCsv(data.randomStudentId(), target.file);
+    }
+}
@@ -1,4 +1,5 @@
 -- Спочатку дропнемо таблиці в правильному порядку залежностей
+DROP TABLE IF EXISTS grade_stats CASCADE;
 DROP TABLE IF EXISTS grades   CASCADE;
 DROP TABLE IF EXISTS courses  CASCADE;
 DROP TABLE IF EXISTS students CASCADE;
@@ -26,6 +27,10 @@ CREATE TABLE IF NOT EXISTS students (
 CREATE INDEX IF NOT EXISTS idx_students_group_id
     ON students(group_id);
 
+-- Keyset-пагінація списку студентів (ORDER BY last_name, first_name, id)
+CREATE INDEX IF NOT EXISTS idx_students_name_id
+    ON students(last_name, first_name, id);
+
 
 -- Таблиця викладачів
 CREATE TABLE IF NOT EXISTS teachers (
@@ -36,6 +41,10 @@ CREATE TABLE IF NOT EXISTS teachers (
                                         email       VARCHAR(150)
 );
 
+-- Keyset-пагінація списку викладачів (ORDER BY last_name, first_name, id)
+CREATE INDEX IF NOT EXISTS idx_teachers_name_id
+    ON teachers(last_name, first_name, id);
+
 -- Таблиця курсів
 CREATE TABLE IF NOT EXISTS courses (
                                        id          BIGSERIAL PRIMARY KEY,
@@ -68,3 +77,121 @@ CREATE INDEX IF NOT EXISTS idx_grades_course
 
 CREATE INDEX IF NOT EXISTS idx_grades_teacher
     ON grades(teacher_id);
+
+-- Keyset-пагінація списку оцінок (ORDER BY grade_date DESC, id)
+CREATE INDEX IF NOT EXISTS idx_grades_date_id
+    ON grades(grade_date DESC, id);
+
+
+-- Агрегати оцінок (сума та кількість), що підтримуються тригерами на grades.
+-- scope: 'student', 'course', 'teacher' (course_id = 0) та 'student_course'.
+-- Середнє групи по курсу збирається з рядків 'student_course' студентів групи,
+-- тому зміна групи студента не потребує перерахунку.
+CREATE TABLE IF NOT EXISTS grade_stats (
+                                           scope      VARCHAR(16) NOT NULL,
+                                           entity_id  BIGINT      NOT NULL,
+                                           course_id  BIGINT      NOT NULL DEFAULT 0,
+                                           total      NUMERIC     NOT NULL DEFAULT 0,
+                                           cnt        BIGINT      NOT NULL DEFAULT 0,
+                                           PRIMARY KEY (scope, entity_id, course_id)
+);
+
+-- Рейтинг студентів курсу: усі рядки (student_course, course_id = ?) без сканування таблиці
+CREATE INDEX IF NOT EXISTS idx_grade_stats_scope_course
+    ON grade_stats(scope, course_id);
+
+-- Застосовує зміни одного SQL-оператора до grade_stats (у тій самій транзакції).
+-- Працює з transition tables, тож масові вставки (batch, COPY) оновлюють
+-- агрегати одним set-based запитом, а не рядок за рядком.
+--
+-- Конкуренція: upsert блокує рядок агрегату до кінця транзакції, тому транзакції,
+-- що пишуть оцінки того самого курсу чи викладача, виконуються по черзі на рядках
+-- 'course' та 'teacher'. Щоб два пакети з перетинними ключами не заблокували один
+-- одного навхрест (взаємоблокування через порядок hash-агрегації), кожен оператор
+-- робить рівно один upsert з рядками, відсортованими за первинним ключем:
+-- UPDATE об'єднує старі та нові рядки в одну дельту, а не оновлює агрегати двічі.
+-- Рядки з нульовою дельтою (наприклад, змінилася лише дата) не блокуються зовсім.
+CREATE OR REPLACE FUNCTION grade_stats_apply_delta() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO grade_stats (scope, entity_id, course_id, total, cnt)
+        SELECT k.scope, k.entity_id, k.course_id, SUM(c.value), SUM(c.cnt)
+        FROM (SELECT n.student_id, n.course_id, n.teacher_id, n.value, 1 AS cnt FROM new_rows n) c
+                 CROSS JOIN LATERAL (VALUES ('student', c.student_id, 0::bigint),
+                                            ('course', c.course_id, 0),
+                                            ('teacher', c.teacher_id, 0),
+                                            ('student_course', c.student_id, c.course_id))
+            AS k(scope, entity_id, course_id)
+        WHERE k.entity_id IS NOT NULL
+        GROUP BY k.scope, k.entity_id, k.course_id
+        ORDER BY k.scope, k.entity_id, k.course_id
+        ON CONFLICT (scope, entity_id, course_id) DO UPDATE
+            SET total = grade_stats.total + EXCLUDED.total,
+                cnt   = grade_stats.cnt + EXCLUDED.cnt;
+
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO grade_stats (scope, entity_id, course_id, total, cnt)
+        SELECT k.scope, k.entity_id, k.course_id, SUM(c.value), SUM(c.cnt)
+        FROM (SELECT o.student_id, o.course_id, o.teacher_id, -o.value AS value, -1 AS cnt FROM old_rows o) c
+                 CROSS JOIN LATERAL (VALUES ('student', c.student_id, 0::bigint),
+                                            ('course', c.course_id, 0),
+                                            ('teacher', c.teacher_id, 0),
+                                            ('student_course', c.student_id, c.course_id))
+            AS k(scope, entity_id, course_id)
+        WHERE k.entity_id IS NOT NULL
+        GROUP BY k.scope, k.entity_id, k.course_id
+        ORDER BY k.scope, k.entity_id, k.course_id
+        ON CONFLICT (scope, entity_id, course_id) DO UPDATE
+            SET total = grade_stats.total + EXCLUDED.total,
+                cnt   = grade_stats.cnt + EXCLUDED.cnt;
+
+    ELSE
+        INSERT INTO grade_stats (scope, entity_id, course_id, total, cnt)
+        SELECT k.scope, k.entity_id, k.course_id, SUM(c.value), SUM(c.cnt)
+        FROM (SELECT o.student_id, o.course_id, o.teacher_id, -o.value AS value, -1 AS cnt FROM old_rows o
+              UNION ALL
+              SELECT n.student_id, n.course_id, n.teacher_id, n.value, 1 FROM new_rows n) c
+                 CROSS JOIN LATERAL (VALUES ('student', c.student_id, 0::bigint),
+                                            ('course', c.course_id, 0),
+                                            ('teacher', c.teacher_id, 0),
+                                            ('student_course', c.student_id, c.course_id))
+            AS k(scope, entity_id, course_id)
+        WHERE k.entity_id IS NOT NULL
+        GROUP BY k.scope, k.entity_id, k.course_id
+        HAVING SUM(c.value) <> 0 OR SUM(c.cnt) <> 0
+        ORDER BY k.scope, k.entity_id, k.course_id
+        ON CONFLICT (scope, entity_id, course_id) DO UPDATE
+            SET total = grade_stats.total + EXCLUDED.total,
+                cnt   = grade_stats.cnt + EXCLUDED.cnt;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER grades_stats_insert
+    AFTER INSERT ON grades
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION grade_stats_apply_delta();
+
+CREATE TRIGGER grades_stats_update
+    AFTER UPDATE ON grades
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION grade_stats_apply_delta();
+
+CREATE TRIGGER grades_stats_delete
+    AFTER DELETE ON grades
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION grade_stats_apply_delta();
+
+-- TRUNCATE не викликає DELETE-тригери, тому агрегати очищуються окремо.
+CREATE OR REPLACE FUNCTION grade_stats_reset() RETURNS trigger AS $$
+BEGIN
+    TRUNCATE TABLE grade_stats;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER grades_stats_truncate
+    AFTER TRUNCATE ON grades
+    FOR EACH STATEMENT EXECUTE FUNCTION grade_stats_reset();
@@ -1,26 +1,42 @@
 package ua.knu.pashchenko_maksym;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import ua.knu.pashchenko_maksym.dao.CourseDao;
+import ua.knu.pashchenko_maksym.dao.DataSourceProvider;
 import ua.knu.pashchenko_maksym.dao.GradeDao;
 import ua.knu.pashchenko_maksym.dao.GroupDao;
 import ua.knu.pashchenko_maksym.dao.JdbcCourseDao;
 import ua.knu.pashchenko_maksym.dao.JdbcGradeDao;
+import ua.knu.pashchenko_maksym.dao.JdbcGradeScanDao;
 import ua.knu.pashchenko_maksym.dao.JdbcGroupDao;
 import ua.knu.pashchenko_maksym.dao.JdbcStudentDao;
 import ua.knu.pashchenko_maksym.dao.JdbcTeacherDao;
+import ua.knu.pashchenko_maksym.dao.PgCopyGradeExportDao;
 import ua.knu.pashchenko_maksym.dao.StudentDao;
 import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingCourseDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingGroupDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingTeacherDao;
+import ua.knu.pashchenko_maksym.dao.metrics.InstrumentedCourseDao;
+import ua.knu.pashchenko_maksym.dao.metrics.InstrumentedGradeDao;
+import ua.knu.pashchenko_maksym.dao.metrics.InstrumentedGroupDao;
+import ua.knu.pashchenko_maksym.dao.metrics.InstrumentedStudentDao;
+import ua.knu.pashchenko_maksym.dao.metrics.InstrumentedTeacherDao;
 import ua.knu.pashchenko_maksym.menu.ConsoleMenu;
 import ua.knu.pashchenko_maksym.model.Course;
 import ua.knu.pashchenko_maksym.model.Group;
 import ua.knu.pashchenko_maksym.model.Student;
 import ua.knu.pashchenko_maksym.model.Teacher;
+import ua.knu.pashchenko_maksym.script.LoadDriver;
+import ua.knu.pashchenko_maksym.script.ParallelScriptRunner;
+import ua.knu.pashchenko_maksym.script.ScriptCommandExecutor;
+import ua.knu.pashchenko_maksym.script.ScriptRunner;
+import ua.knu.pashchenko_maksym.service.AsyncGradeBookService;
 import ua.knu.pashchenko_maksym.service.GradeBookService;
+import ua.knu.pashchenko_maksym.service.GradeWriteBehindQueue;
 import ua.knu.pashchenko_maksym.service.ReportService;
 import ua.knu.pashchenko_maksym.util.IoUtil;
 
@@ -30,12 +46,15 @@ import ua.knu.pashchenko_maksym.util.IoUtil;
  * <p>Клас відповідає за:
  * <ul>
  *     <li>ініціалізацію DAO-рівня ({@link JdbcStudentDao}, {@link JdbcGroupDao}, {@link JdbcCourseDao},
- *     {@link JdbcTeacherDao}, {@link JdbcGradeDao});</li>
+ *     {@link JdbcTeacherDao}, {@link JdbcGradeDao}); довідники груп, курсів і викладачів
+ *     обгортаються кешуючими декораторами;</li>
  *     <li>створення сервісів {@link GradeBookService} та {@link ReportService};</li>
- *     <li>запуск у одному з двох режимів:
+ *     <li>запуск у одному з чотирьох режимів:
  *     <ul>
  *         <li>інтерактивний консольний режим ({@link ConsoleMenu});</li>
- *         <li>тестовий режим зчитування команд із текстового файлу NZ_test.txt.</li>
+ *         <li>тестовий режим зчитування команд із текстового файлу NZ_test.txt;</li>
+ *         <li>навантажувальний режим: одночасний прогін сценаріїв кількома потоками;</li>
+ *         <li>паралельне виконання NZ_test.txt з урахуванням залежностей між командами.</li>
  *     </ul>
  *     </li>
  * </ul>
@@ -57,6 +76,40 @@ public class Main {
     private static final Path OUTPUT_TEXT_FILE =
             Path.of("resources/output/result.txt");
 
+    /**
+     * Кількість команд сценарію в одній транзакції
+     * (системна властивість {@code gradebook.script.transactionSize}).
+     */
+    private static final int SCRIPT_TRANSACTION_SIZE =
+            Integer.getInteger("gradebook.script.transactionSize", ScriptRunner.DEFAULT_TRANSACTION_SIZE);
+
+    /**
+     * Чи зберігати оцінки, додані поза транзакціями, через {@link GradeWriteBehindQueue}
+     * у всіх режимах (системна властивість {@code gradebook.writeBehind}).
+     */
+    private static final boolean WRITE_BEHIND = Boolean.getBoolean("gradebook.writeBehind");
+
+    /**
+     * Параметри черги відкладеного запису (системні властивості
+     * {@code gradebook.writeBehind.capacity}, {@code .batchSize}, {@code .maxLatencyMs}).
+     */
+    private static final int WRITE_BEHIND_CAPACITY =
+            Integer.getInteger("gradebook.writeBehind.capacity", GradeWriteBehindQueue.DEFAULT_CAPACITY);
+    private static final int WRITE_BEHIND_BATCH_SIZE =
+            Integer.getInteger("gradebook.writeBehind.batchSize", GradeWriteBehindQueue.DEFAULT_MAX_BATCH_SIZE);
+    private static final Duration WRITE_BEHIND_MAX_LATENCY = Duration.ofMillis(
+            Long.getLong("gradebook.writeBehind.maxLatencyMs", GradeWriteBehindQueue.DEFAULT_MAX_LATENCY.toMillis()));
+
+    /**
+     * Максимальна кількість записів у кеші довідників (курси, викладачі, групи).
+     */
+    private static final int ENTITY_CACHE_MAX_ENTRIES = 1_000;
+
+    /**
+     * Час життя записів у кеші довідників.
+     */
+    private static final Duration ENTITY_CACHE_TTL = Duration.ofMinutes(5);
+
     /**
      * Головний метод застосунку.
      *
@@ -65,23 +118,45 @@ public class Main {
      * пропонує користувачу обрати режим запуску:
      * <ul>
      *     <li>1 — інтерактивне консольне меню ({@link ConsoleMenu});</li>
-     *     <li>2 — виконання сценарію з файлу {@code NZ_test.txt} ({@link #runTestScript(GradeBookService, ReportService)}).</li>
+     *     <li>2 — виконання сценарію з файлу {@code NZ_test.txt} ({@link #runTestScript(GradeBookService, ReportService)});</li>
+     *     <li>3 — навантажувальний прогін сценаріїв ({@link #runLoadTest(GradeBookService, ReportService)});</li>
+     *     <li>4 — паралельне виконання {@code NZ_test.txt} з урахуванням залежностей
+     *     ({@link #runParallelTestScript(GradeBookService, ReportService)}).</li>
      * </ul>
      *
      * @param args параметри командного рядка (не використовуються)
      */
     public static void main(String[] args) {
-        StudentDao studentDao = new JdbcStudentDao();
-        GroupDao groupDao = new JdbcGroupDao();
-        CourseDao courseDao = new JdbcCourseDao();
-        TeacherDao teacherDao = new JdbcTeacherDao();
-        GradeDao gradeDao = new JdbcGradeDao();
+        // вимірювання — під кешем, щоб рахувати лише реальні звернення до БД
+        StudentDao studentDao = new InstrumentedStudentDao(new JdbcStudentDao());
+        GroupDao groupDao =
+                new CachingGroupDao(new InstrumentedGroupDao(new JdbcGroupDao()),
+                        ENTITY_CACHE_MAX_ENTRIES, ENTITY_CACHE_TTL);
+        CachingCourseDao courseDao =
+                new CachingCourseDao(new InstrumentedCourseDao(new JdbcCourseDao()),
+                        ENTITY_CACHE_MAX_ENTRIES, ENTITY_CACHE_TTL);
+        // видалення викладача обнуляє teacher_id його курсів, тож очищає й кеш курсів
+        TeacherDao teacherDao =
+                new CachingTeacherDao(new InstrumentedTeacherDao(new JdbcTeacherDao()),
+                        ENTITY_CACHE_MAX_ENTRIES, ENTITY_CACHE_TTL, courseDao);
+        GradeDao gradeDao = new InstrumentedGradeDao(new JdbcGradeDao());
+
+        GradeWriteBehindQueue gradeQueue = WRITE_BEHIND
+                ? new GradeWriteBehindQueue(gradeDao,
+                        WRITE_BEHIND_CAPACITY, WRITE_BEHIND_BATCH_SIZE, WRITE_BEHIND_MAX_LATENCY)
+                : null;
+        if (gradeQueue != null) {
+            // дописує прийняті оцінки, якщо процес завершують поза блоком finally (Ctrl+C, System.exit)
+            Runtime.getRuntime().addShutdownHook(new Thread(gradeQueue::close, "gradebook-write-behind-flush"));
+        }
 
         GradeBookService gradeBookService =
-                new GradeBookService(studentDao, groupDao, courseDao, teacherDao, gradeDao);
+                new GradeBookService(studentDao, groupDao, courseDao, teacherDao, gradeDao,
+                        new JdbcGradeScanDao(), gradeQueue);
 
         ReportService reportService =
-                new ReportService(studentDao, groupDao, courseDao, teacherDao, gradeDao, gradeBookService);
+                new ReportService(studentDao, groupDao, courseDao, teacherDao, gradeDao,
+                        new PgCopyGradeExportDao());
 
         System.out.println("===================================");
         System.out.println("     Student Grade Book System     ");
@@ -89,21 +164,42 @@ public class Main {
         System.out.println("Оберіть режим запуску:");
         System.out.println("1 - Інтерактивний режим (консоль)");
         System.out.println("2 - Тестовий режим (файл NZ_test.txt)");
+        System.out.println("3 - Навантажувальний режим (паралельне відтворення сценаріїв)");
+        System.out.println("4 - Паралельний тестовий режим (файл NZ_test.txt)");
 
-        int mode = IoUtil.readIntInRange("Режим (1-2): ", 1, 2);
+        int mode = IoUtil.readIntInRange("Режим (1-4): ", 1, 4);
         System.out.println();
 
-        if (mode == 1) {
-            ConsoleMenu menu = new ConsoleMenu(gradeBookService, reportService);
-            menu.run();
-        } else {
-            runTestScript(gradeBookService, reportService);
+        try {
+            if (mode == 1) {
+                try (AsyncGradeBookService asyncService = new AsyncGradeBookService(gradeBookService)) {
+                    ConsoleMenu menu = new ConsoleMenu(gradeBookService, reportService, asyncService);
+                    menu.run();
+                }
+            } else if (mode == 2) {
+                runTestScript(gradeBookService, reportService);
+                System.out.println(DataSourceProvider.getPoolStats());
+            } else if (mode == 3) {
+                runLoadTest(gradeBookService, reportService);
+                System.out.println(DataSourceProvider.getPoolStats());
+            } else {
+                runParallelTestScript(gradeBookService, reportService);
+                System.out.println(DataSourceProvider.getPoolStats());
+            }
+        } finally {
+            // черга пише через пул з'єднань, тож дописується до його закриття
+            if (gradeQueue != null) {
+                gradeQueue.close();
+                System.out.println(gradeQueue.getStats());
+            }
+            DataSourceProvider.shutdown();
         }
     }
 
     /**
-     * Простий тестовий запускач, який читає команди з NZ_test.txt
-     * та записує короткий текстовий лог у result.txt.
+     * Тестовий запускач, який потоково читає команди з NZ_test.txt
+     * та одразу дописує текстовий лог у result.txt ({@link ScriptRunner}).
+     * Команди виконуються транзакціями по {@link #SCRIPT_TRANSACTION_SIZE}.
      *
      * <p>Формат рядків у NZ_test.txt (приклад):
      *
@@ -127,59 +223,14 @@ public class Main {
                                       ReportService reportService) {
         System.out.println("=== Тестовий режим ===");
 
-        StringBuilder log = new StringBuilder();
-        log.append("=== Test run log ===\n");
+        ScriptCommandExecutor executor =
+                new ScriptCommandExecutor(gradeBookService, reportService, System.out);
+        ScriptRunner runner = new ScriptRunner(executor, SCRIPT_TRANSACTION_SIZE);
 
         try {
-            List<String> lines = Files.readAllLines(TEST_FILE, StandardCharsets.UTF_8);
+            ScriptRunner.Summary summary = runner.run(TEST_FILE, OUTPUT_TEXT_FILE);
 
-            for (String rawLine : lines) {
-                String line = rawLine.trim();
-                if (line.isEmpty() || line.startsWith("#")) {
-                    continue;
-                }
-
-                String[] parts = line.split(";");
-                String cmd = parts[0].trim().toUpperCase();
-
-                log.append("Command: ").append(line).append('\n');
-
-                switch (cmd) {
-                    case "ADD_GROUP":
-                        handleAddGroup(parts, gradeBookService, log);
-                        break;
-                    case "ADD_STUDENT":
-                        handleAddStudent(parts, gradeBookService, log);
-                        break;
-                    case "ADD_TEACHER":
-                        handleAddTeacher(parts, gradeBookService, log);
-                        break;
-                    case "ADD_COURSE":
-                        handleAddCourse(parts, gradeBookService, log);
-                        break;
-                    case "SET_GRADE":
-                        handleSetGrade(parts, gradeBookService, log);
-                        break;
-                    case "REPORT_STUDENT":
-                        handleReportStudent(parts, reportService, gradeBookService, log);
-                        break;
-                    case "REPORT_GROUP_COURSE":
-                        handleReportGroupCourse(parts, reportService, gradeBookService, log);
-                        break;
-                    case "REPORT_TEACHER":
-                        handleReportTeacher(parts, reportService, gradeBookService, log);
-                        break;
-                    default:
-                        log.append("  Unknown command: ").append(cmd).append('\n');
-                }
-
-                log.append('\n');
-            }
-
-            Files.createDirectories(OUTPUT_TEXT_FILE.getParent());
-            Files.writeString(OUTPUT_TEXT_FILE, log.toString(), StandardCharsets.UTF_8);
-
-            System.out.println("Тестовий сценарій виконано.");
+            System.out.println("Тестовий сценарій виконано: " + summary);
             System.out.println("Результат записано у: " + OUTPUT_TEXT_FILE.toAbsolutePath());
         } catch (IOException e) {
             System.out.println("Помилка читання/запису тестових файлів: " + e.getMessage());
@@ -189,191 +240,72 @@ public class Main {
         }
     }
 
-    // ============================
-    // Test script handlers
-    // ============================
-
     /**
-     * Обробляє команду {@code ADD_GROUP} із тестового файлу.
+     * Паралельний тестовий режим: виконує NZ_test.txt через {@link ParallelScriptRunner}.
+     * Незалежні команди виконуються одночасно, лог у result.txt має той самий порядок,
+     * що й у послідовному режимі.
      *
-     * <p>Очікуваний формат:
-     * {@code ADD_GROUP;name;year}
-     *
-     * @param parts   розбитий по {@code ;} рядок із файлу
-     * @param service сервіс журналу оцінок
-     * @param log     буфер для запису текстового логу
+     * @param gradeBookService сервіс для CRUD-операцій і розрахунків
+     * @param reportService    сервіс для формування звітів
      */
-    private static void handleAddGroup(String[] parts,
-                                       GradeBookService service,
-                                       StringBuilder log) {
-        if (parts.length < 3) {
-            log.append("  ERROR: ADD_GROUP requires name;year\n");
-            return;
-        }
-        String name = parts[1].trim();
-        int year = Integer.parseInt(parts[2].trim());
-        var g = service.createGroup(name, (short) year);
-        log.append("  OK: created group ").append(g).append('\n');
-    }
+    private static void runParallelTestScript(GradeBookService gradeBookService,
+                                              ReportService reportService) {
+        System.out.println("=== Паралельний тестовий режим ===");
+        int workers = IoUtil.readIntInRange("Кількість потоків (1-256): ", 1, 256);
 
-    /**
-     * Обробляє команду {@code ADD_STUDENT} із тестового файлу.
-     *
-     * <p>Очікуваний формат:
-     * {@code ADD_STUDENT;firstName;lastName;email;groupId;enrollmentYear}
-     */
-    private static void handleAddStudent(String[] parts,
-                                         GradeBookService service,
-                                         StringBuilder log) {
-        if (parts.length < 6) {
-            log.append("  ERROR: ADD_STUDENT requires firstName;lastName;email;groupId;enrollmentYear\n");
-            return;
-        }
-        String firstName = parts[1].trim();
-        String lastName = parts[2].trim();
-        String email = parts[3].trim();
-        long groupId = Long.parseLong(parts[4].trim());
-        int year = Integer.parseInt(parts[5].trim());
-
-        var s = service.createStudent(firstName, lastName, email, groupId, year);
-        log.append("  OK: created student ").append(s).append('\n');
-    }
+        ParallelScriptRunner runner =
+                new ParallelScriptRunner(gradeBookService, reportService, System.out, workers);
+        try {
+            ParallelScriptRunner.Summary summary = runner.run(TEST_FILE, OUTPUT_TEXT_FILE);
 
-    /**
-     * Обробляє команду {@code ADD_TEACHER} із тестового файлу.
-     *
-     * <p>Очікуваний формат:
-     * {@code ADD_TEACHER;firstName;lastName;department;email}
-     */
-    private static void handleAddTeacher(String[] parts,
-                                         GradeBookService service,
-                                         StringBuilder log) {
-        if (parts.length < 5) {
-            log.append("  ERROR: ADD_TEACHER requires firstName;lastName;department;email\n");
-            return;
+            System.out.println("Тестовий сценарій виконано: " + summary);
+            System.out.println("Результат записано у: " + OUTPUT_TEXT_FILE.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Помилка читання/запису тестових файлів: " + e.getMessage());
         }
-        String firstName = parts[1].trim();
-        String lastName = parts[2].trim();
-        String department = parts[3].trim();
-        String email = parts[4].trim();
-
-        var t = service.createTeacher(firstName, lastName, department, email);
-        log.append("  OK: created teacher ").append(t).append('\n');
     }
 
     /**
-     * Обробляє команду {@code ADD_COURSE} із тестового файлу.
+     * Навантажувальний режим: відтворює один або кілька сценаріїв з кількох потоків
+     * через {@link LoadDriver} і записує підсумок у {@code load_summary.txt}
+     * поруч із {@code result.txt}.
      *
-     * <p>Очікуваний формат:
-     * {@code ADD_COURSE;name;semester;year;teacherId;credits}
+     * @param gradeBookService сервіс для CRUD-операцій і розрахунків
+     * @param reportService    сервіс для формування звітів
      */
-    private static void handleAddCourse(String[] parts,
-                                        GradeBookService service,
-                                        StringBuilder log) {
-        if (parts.length < 6) {
-            log.append("  ERROR: ADD_COURSE requires name;semester;year;teacherId;credits\n");
-            return;
+    private static void runLoadTest(GradeBookService gradeBookService,
+                                    ReportService reportService) {
+        System.out.println("=== Навантажувальний режим ===");
+
+        int workers = IoUtil.readIntInRange("Кількість потоків (1-256): ", 1, 256);
+        int rate = IoUtil.readIntInRange("Цільовий темп, команд/с (0 - закритий цикл): ", 0, 1_000_000);
+        int loops = IoUtil.readIntInRange("Кількість повторів сценарію (1-100000): ", 1, 100_000);
+        boolean runSetup = IoUtil.readIntInRange("Виконати команди ADD_* перед навантаженням? (1 - так, 0 - ні): ",
+                0, 1) == 1;
+
+        List<Path> scripts = new ArrayList<>();
+        while (true) {
+            String path = IoUtil.readLine("Файл сценарію (Enter - "
+                    + (scripts.isEmpty() ? TEST_FILE : "завершити") + "): ").trim();
+            if (path.isEmpty()) {
+                break;
+            }
+            scripts.add(Path.of(path));
         }
-        String name = parts[1].trim();
-        Integer semester = Integer.parseInt(parts[2].trim());
-        Integer year = Integer.parseInt(parts[3].trim());
-        Long teacherId = Long.parseLong(parts[4].trim());
-        Integer credits = Integer.parseInt(parts[5].trim());
-
-        var c = service.createCourse(name, semester, year, teacherId, credits);
-        log.append("  OK: created course ").append(c).append('\n');
-    }
-
-    /**
-     * Обробляє команду {@code SET_GRADE} із тестового файлу.
-     *
-     * <p>Очікуваний формат:
-     * {@code SET_GRADE;studentId;courseId;teacherIdOr0;value;date}
-     * (якщо {@code teacherIdOr0 = 0}, оцінка не прив'язується до викладача).
-     */
-    private static void handleSetGrade(String[] parts,
-                                       GradeBookService service,
-                                       StringBuilder log) {
-        if (parts.length < 6) {
-            log.append("  ERROR: SET_GRADE requires studentId;courseId;teacherIdOr0;value;date\n");
-            return;
+        if (scripts.isEmpty()) {
+            scripts.add(TEST_FILE);
         }
-        long studentId = Long.parseLong(parts[1].trim());
-        long courseId = Long.parseLong(parts[2].trim());
-        long teacherIdRaw = Long.parseLong(parts[3].trim());
-        Long teacherId = teacherIdRaw == 0 ? null : teacherIdRaw;
-        double value = Double.parseDouble(parts[4].trim());
-        String dateStr = parts[5].trim();
-
-        java.time.LocalDate date =
-                dateStr.isEmpty() ? java.time.LocalDate.now() : java.time.LocalDate.parse(dateStr);
 
         try {
-            var g = service.addGrade(studentId, courseId, teacherId, value, date);
-            log.append("  OK: added grade ").append(g).append('\n');
-        } catch (IllegalArgumentException e) {
-            log.append("  ERROR: ").append(e.getMessage()).append('\n');
-        }
-    }
-
-    /**
-     * Обробляє команду {@code REPORT_STUDENT}:
-     * рахує середній бал студента і формує звіт.
-     */
-    private static void handleReportStudent(String[] parts,
-                                            ReportService reportService,
-                                            GradeBookService service,
-                                            StringBuilder log) {
-        if (parts.length < 2) {
-            log.append("  ERROR: REPORT_STUDENT requires studentId\n");
-            return;
-        }
-        long studentId = Long.parseLong(parts[1].trim());
-        log.append("  Student average: ")
-                .append(String.format("%.2f", service.getStudentAverageGrade(studentId)))
-                .append('\n');
-        reportService.printStudentReport(studentId);
-    }
-
-    /**
-     * Обробляє команду {@code REPORT_GROUP_COURSE}:
-     * рахує середній бал групи по курсу і формує звіт.
-     */
-    private static void handleReportGroupCourse(String[] parts,
-                                                ReportService reportService,
-                                                GradeBookService service,
-                                                StringBuilder log) {
-        if (parts.length < 3) {
-            log.append("  ERROR: REPORT_GROUP_COURSE requires groupId;courseId\n");
-            return;
-        }
-        long groupId = Long.parseLong(parts[1].trim());
-        long courseId = Long.parseLong(parts[2].trim());
-        double avg = service.getGroupAverageForCourse(groupId, courseId);
-        log.append("  Group-course average: ")
-                .append(String.format("%.2f", avg))
-                .append('\n');
-        reportService.printGroupCourseReport(groupId, courseId);
-    }
-
-    /**
-     * Обробляє команду {@code REPORT_TEACHER}:
-     * рахує середній бал оцінок, виставлених викладачем, і формує звіт.
-     */
-    private static void handleReportTeacher(String[] parts,
-                                            ReportService reportService,
-                                            GradeBookService service,
-                                            StringBuilder log) {
-        if (parts.length < 2) {
-            log.append("  ERROR: REPORT_TEACHER requires teacherId\n");
-            return;
+            LoadDriver driver = new LoadDriver(gradeBookService, reportService, workers, rate, loops, runSetup);
+            LoadDriver.Summary summary = driver.run(scripts, OUTPUT_TEXT_FILE.getParent());
+            System.out.println(summary);
+            summary.getCommands().forEach((cmd, stats) -> System.out.println("  " + cmd + ": " + stats));
+            System.out.println("Підсумок записано у: "
+                    + OUTPUT_TEXT_FILE.resolveSibling(LoadDriver.SUMMARY_FILE).toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Помилка читання/запису файлів сценарію: " + e.getMessage());
         }
-        long teacherId = Long.parseLong(parts[1].trim());
-        double avg = service.getTeacherAverageGrade(teacherId);
-        log.append("  Teacher average: ")
-                .append(String.format("%.2f", avg))
-                .append('\n');
-        reportService.printTeacherReport(teacherId);
     }
 
     /**
@@ -0,0 +1,55 @@
+package ua.knu.pashchenko_maksym.analytics;
+
+/**
+ * Результат агрегації оцінок: кількість, середнє, мінімум і максимум.
+ *
+ * <p>Значення зберігаються в сотих частках бала, щоб уникнути похибок
+ * при сумуванні.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class GradeAggregate {
+
+    public static final GradeAggregate EMPTY = new GradeAggregate(0, 0, 0, 0);
+
+    private final long count;
+    private final long sumCenti;
+    private final int minCenti;
+    private final int maxCenti;
+
+    GradeAggregate(long count, long sumCenti, int minCenti, int maxCenti) {
+        this.count = count;
+        this.sumCenti = sumCenti;
+        this.minCenti = minCenti;
+        this.maxCenti = maxCenti;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0.0 : sumCenti / 100.0 / count;
+    }
+
+    /**
+     * @return мінімальна оцінка або {@code 0.0}, якщо оцінок немає
+     */
+    public double getMin() {
+        return count == 0 ? 0.0 : minCenti / 100.0;
+    }
+
+    /**
+     * @return максимальна оцінка або {@code 0.0}, якщо оцінок немає
+     */
+    public double getMax() {
+        return count == 0 ? 0.0 : maxCenti / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GradeAggregate{count=%d, avg=%.2f, min=%.2f, max=%.2f}",
+                count, getAverage(), getMin(), getMax());
+    }
+}
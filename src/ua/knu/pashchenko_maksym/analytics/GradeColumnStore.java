@@ -0,0 +1,289 @@
+package ua.knu.pashchenko_maksym.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ua.knu.pashchenko_maksym.dao.GradeScanDao;
+
+/**
+ * Колонкове сховище оцінок у пам'яті для аналітики по всій таблиці {@code grades}.
+ *
+ * <p>Замість {@code List<Grade>} (об'єкт, {@code Long}-поля, {@link java.math.BigDecimal},
+ * {@link LocalDate} на кожен рядок) дані зберігаються у паралельних примітивних масивах:
+ * <ul>
+ *     <li>id студента, курсу, викладача та групи — словниково закодовані в {@code int}
+ *     (щільні індекси 0..n-1, сам id зберігається один раз у словнику);</li>
+ *     <li>оцінка — {@code int} у сотих частках бала;</li>
+ *     <li>дата — {@code int} epoch-day.</li>
+ * </ul>
+ * Це 24 байти на рядок, а агрегація — послідовний прохід по масивах
+ * з накопиченням у масивах, індексованих кодом, без хеш-таблиць і boxing.
+ *
+ * <p>Сховище незмінне після побудови й безпечне для читання з кількох потоків.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class GradeColumnStore {
+
+    /**
+     * Вимір, за яким групуються оцінки.
+     */
+    public enum Dimension {
+        STUDENT, COURSE, TEACHER, GROUP
+    }
+
+    /**
+     * Код для відсутнього значення (оцінка без викладача, студент без групи).
+     */
+    private static final int NONE = -1;
+
+    private static final int DIMENSIONS = Dimension.values().length;
+
+    private final int size;
+    private final int[][] codes;
+    private final long[][] dictionaries;
+    private final LongIntHashMap[] lookups;
+    private final int[] valueCenti;
+    private final int[] epochDay;
+
+    private GradeColumnStore(int size,
+                             int[][] codes,
+                             long[][] dictionaries,
+                             LongIntHashMap[] lookups,
+                             int[] valueCenti,
+                             int[] epochDay) {
+        this.size = size;
+        this.codes = codes;
+        this.dictionaries = dictionaries;
+        this.lookups = lookups;
+        this.valueCenti = valueCenti;
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Завантажує всю таблицю {@code grades} одним потоковим проходом.
+     *
+     * @param scanDao джерело рядків
+     * @return заповнене сховище
+     */
+    public static GradeColumnStore load(GradeScanDao scanDao) {
+        Builder builder = new Builder();
+        scanDao.scanAll(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * @return кількість оцінок у сховищі
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return наближений обсяг пам'яті під дані сховища, байт
+     */
+    public long estimatedMemoryBytes() {
+        long bytes = (long) size * (DIMENSIONS * Integer.BYTES + 2 * Integer.BYTES);
+        for (int d = 0; d < DIMENSIONS; d++) {
+            // id у словнику + усі слоти хеш-таблиці (long + int)
+            bytes += (long) dictionaries[d].length * Long.BYTES
+                    + (long) lookups[d].capacity() * (Long.BYTES + Integer.BYTES);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return агрегат по всіх оцінках
+     */
+    public GradeAggregate aggregateAll() {
+        return aggregateRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Агрегує оцінки одного студента/курсу/викладача/групи.
+     *
+     * @param dimension вимір
+     * @param id        id сутності
+     * @return агрегат ({@link GradeAggregate#EMPTY}, якщо оцінок немає)
+     */
+    public GradeAggregate aggregateFor(Dimension dimension, long id) {
+        int code = lookups[dimension.ordinal()].get(id);
+        if (code == NONE) {
+            return GradeAggregate.EMPTY;
+        }
+
+        int[] column = codes[dimension.ordinal()];
+        long count = 0;
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (column[i] == code) {
+                int v = valueCenti[i];
+                count++;
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        return count == 0 ? GradeAggregate.EMPTY : new GradeAggregate(count, sum, min, max);
+    }
+
+    /**
+     * Групує всі оцінки за виміром.
+     *
+     * @param dimension вимір групування
+     * @return агрегати за id сутності (лише сутності, що мають оцінки)
+     */
+    public Map<Long, GradeAggregate> aggregateBy(Dimension dimension) {
+        return aggregateBy(dimension, null, null);
+    }
+
+    /**
+     * Групує оцінки за виміром у межах діапазону дат.
+     *
+     * @param dimension вимір групування
+     * @param from      початкова дата включно або {@code null}
+     * @param to        кінцева дата включно або {@code null}
+     * @return агрегати за id сутності (лише сутності, що мають оцінки в діапазоні)
+     */
+    public Map<Long, GradeAggregate> aggregateBy(Dimension dimension, LocalDate from, LocalDate to) {
+        int lo = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int hi = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+
+        int[] column = codes[dimension.ordinal()];
+        long[] dictionary = dictionaries[dimension.ordinal()];
+        int keys = dictionary.length;
+
+        long[] count = new long[keys];
+        long[] sum = new long[keys];
+        int[] min = new int[keys];
+        int[] max = new int[keys];
+        Arrays.fill(min, Integer.MAX_VALUE);
+        Arrays.fill(max, Integer.MIN_VALUE);
+
+        for (int i = 0; i < size; i++) {
+            int code = column[i];
+            int day = epochDay[i];
+            if (code == NONE || day < lo || day > hi) {
+                continue;
+            }
+            int v = valueCenti[i];
+            count[code]++;
+            sum[code] += v;
+            if (v < min[code]) {
+                min[code] = v;
+            }
+            if (v > max[code]) {
+                max[code] = v;
+            }
+        }
+
+        Map<Long, GradeAggregate> result = new LinkedHashMap<>(keys * 2);
+        for (int code = 0; code < keys; code++) {
+            if (count[code] > 0) {
+                result.put(dictionary[code],
+                        new GradeAggregate(count[code], sum[code], min[code], max[code]));
+            }
+        }
+        return result;
+    }
+
+    private GradeAggregate aggregateRange(int lo, int hi) {
+        long count = 0;
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            int day = epochDay[i];
+            if (day < lo || day > hi) {
+                continue;
+            }
+            int v = valueCenti[i];
+            count++;
+            sum += v;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        return count == 0 ? GradeAggregate.EMPTY : new GradeAggregate(count, sum, min, max);
+    }
+
+    /**
+     * Накопичує рядки у масивах, що ростуть удвічі, та будує словники id.
+     */
+    private static final class Builder {
+
+        private int size;
+        private int[][] codes = new int[DIMENSIONS][1024];
+        private int[] valueCenti = new int[1024];
+        private int[] epochDay = new int[1024];
+
+        private final long[][] dictionaries = new long[DIMENSIONS][64];
+        private final int[] dictionarySizes = new int[DIMENSIONS];
+        private final LongIntHashMap[] lookups = new LongIntHashMap[DIMENSIONS];
+
+        private Builder() {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                lookups[d] = new LongIntHashMap(64);
+            }
+        }
+
+        private void add(long studentId, long courseId, long teacherId, long groupId,
+                         int value, int day) {
+            if (size == valueCenti.length) {
+                int capacity = size * 2;
+                for (int d = 0; d < DIMENSIONS; d++) {
+                    codes[d] = Arrays.copyOf(codes[d], capacity);
+                }
+                valueCenti = Arrays.copyOf(valueCenti, capacity);
+                epochDay = Arrays.copyOf(epochDay, capacity);
+            }
+
+            codes[Dimension.STUDENT.ordinal()][size] = encode(Dimension.STUDENT, studentId);
+            codes[Dimension.COURSE.ordinal()][size] = encode(Dimension.COURSE, courseId);
+            codes[Dimension.TEACHER.ordinal()][size] = encode(Dimension.TEACHER, teacherId);
+            codes[Dimension.GROUP.ordinal()][size] = encode(Dimension.GROUP, groupId);
+            valueCenti[size] = value;
+            epochDay[size] = day;
+            size++;
+        }
+
+        /**
+         * Id {@code 0} означає відсутнє значення (див. {@link GradeScanDao.GradeRowConsumer}).
+         */
+        private int encode(Dimension dimension, long id) {
+            if (id == 0) {
+                return NONE;
+            }
+            int d = dimension.ordinal();
+            int next = dictionarySizes[d];
+            int code = lookups[d].putIfAbsent(id, next);
+            if (code == next) {
+                if (next == dictionaries[d].length) {
+                    dictionaries[d] = Arrays.copyOf(dictionaries[d], next * 2);
+                }
+                dictionaries[d][next] = id;
+                dictionarySizes[d]++;
+            }
+            return code;
+        }
+
+        private GradeColumnStore build() {
+            int[][] trimmedCodes = new int[DIMENSIONS][];
+            long[][] trimmedDictionaries = new long[DIMENSIONS][];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                trimmedCodes[d] = Arrays.copyOf(codes[d], size);
+                trimmedDictionaries[d] = Arrays.copyOf(dictionaries[d], dictionarySizes[d]);
+            }
+            return new GradeColumnStore(size,
+                    trimmedCodes,
+                    trimmedDictionaries,
+                    lookups,
+                    Arrays.copyOf(valueCenti, size),
+                    Arrays.copyOf(epochDay, size));
+        }
+    }
+}
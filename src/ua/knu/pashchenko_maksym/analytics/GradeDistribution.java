@@ -0,0 +1,83 @@
+package ua.knu.pashchenko_maksym.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Статистика розподілу оцінок: середнє, стандартне відхилення, медіана,
+ * p10/p90 та гістограма по 10 кошиках шириною 10 балів.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class GradeDistribution {
+
+    private final long count;
+    private final double mean;
+    private final double stdDev;
+    private final double min;
+    private final double max;
+    private final double median;
+    private final double p10;
+    private final double p90;
+    private final long[] histogram;
+
+    GradeDistribution(long count, double mean, double stdDev, double min, double max,
+                      double median, double p10, double p90, long[] histogram) {
+        this.count = count;
+        this.mean = mean;
+        this.stdDev = stdDev;
+        this.min = min;
+        this.max = max;
+        this.median = median;
+        this.p10 = p10;
+        this.p90 = p90;
+        this.histogram = histogram;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStdDev() {
+        return stdDev;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public double getP10() {
+        return p10;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    /**
+     * @return копія гістограми: елемент {@code i} — кількість оцінок у [10*i, 10*i+10)
+     *         (останній кошик включає 100)
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GradeDistribution{count=%d, mean=%.2f, stdDev=%.2f, min=%.2f, "
+                        + "p10=%.2f, median=%.2f, p90=%.2f, max=%.2f, histogram=%s}",
+                count, mean, stdDev, min, p10, median, p90, max, Arrays.toString(histogram));
+    }
+}
@@ -0,0 +1,185 @@
+package ua.knu.pashchenko_maksym.analytics;
+
+/**
+ * Mergeable-скетч розподілу оцінок для обмеженого домену 0–100 з точністю до сотих.
+ *
+ * <p>Складається з двох частин:
+ * <ul>
+ *     <li>лічильники для кожного можливого значення (10 001 комірка по {@code long},
+ *     ~80 КБ) — дають точні медіану, перцентилі, мінімум/максимум і гістограму;</li>
+ *     <li>стан алгоритму Велфорда (кількість, середнє, M2) — чисельно стабільна дисперсія.</li>
+ * </ul>
+ * Обидві частини об'єднуються без повторного проходу по даних
+ * ({@link #merge(GradeSketch)}), тож часткові результати, наприклад по різних групах,
+ * можна рахувати окремо й потім зливати.
+ *
+ * <p>Клас не потокобезпечний; для паралельної обробки кожен потік веде свій скетч,
+ * які потім об'єднуються.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class GradeSketch {
+
+    /**
+     * Максимальна оцінка в сотих частках бала.
+     */
+    public static final int MAX_CENTI = 100_00;
+
+    private final long[] counts = new long[MAX_CENTI + 1];
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    /**
+     * Додає одну оцінку.
+     *
+     * @param valueCenti оцінка в сотих частках бала (0..10000)
+     * @throws IllegalArgumentException якщо значення поза доменом
+     */
+    public void add(int valueCenti) {
+        add(valueCenti, 1);
+    }
+
+    /**
+     * Додає {@code times} однакових оцінок (наприклад, результат {@code GROUP BY value}).
+     *
+     * @param valueCenti оцінка в сотих частках бала (0..10000)
+     * @param times      кількість повторень (&gt;= 0)
+     * @throws IllegalArgumentException якщо значення поза доменом або {@code times < 0}
+     */
+    public void add(int valueCenti, long times) {
+        if (valueCenti < 0 || valueCenti > MAX_CENTI) {
+            throw new IllegalArgumentException("Grade value out of range 0..100: " + valueCenti / 100.0);
+        }
+        if (times < 0) {
+            throw new IllegalArgumentException("times must not be negative");
+        }
+        if (times == 0) {
+            return;
+        }
+        counts[valueCenti] += times;
+        combine(times, valueCenti / 100.0, 0.0);
+    }
+
+    /**
+     * Додає до цього скетча всі дані з {@code other}; {@code other} не змінюється.
+     *
+     * @param other інший скетч
+     * @return цей скетч
+     */
+    public GradeSketch merge(GradeSketch other) {
+        if (other.count == 0) {
+            return this;
+        }
+        for (int v = 0; v <= MAX_CENTI; v++) {
+            counts[v] += other.counts[v];
+        }
+        combine(other.count, other.mean, other.m2);
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : mean;
+    }
+
+    /**
+     * @return стандартне відхилення генеральної сукупності (0.0, якщо оцінок немає)
+     */
+    public double getStdDev() {
+        return count == 0 ? 0.0 : Math.sqrt(m2 / count);
+    }
+
+    /**
+     * Перцентиль за методом найближчого рангу.
+     *
+     * @param p частка в діапазоні (0, 1], наприклад 0.9 для p90
+     * @return значення перцентиля або 0.0, якщо оцінок немає
+     */
+    public double percentile(double p) {
+        if (p <= 0 || p > 1) {
+            throw new IllegalArgumentException("p must be in (0, 1]");
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+        return valueAtRank((long) Math.ceil(p * count)) / 100.0;
+    }
+
+    /**
+     * @return медіана (середнє двох центральних значень для парної кількості)
+     */
+    public double median() {
+        if (count == 0) {
+            return 0.0;
+        }
+        if (count % 2 == 1) {
+            return valueAtRank(count / 2 + 1) / 100.0;
+        }
+        return (valueAtRank(count / 2) + valueAtRank(count / 2 + 1)) / 200.0;
+    }
+
+    public double getMin() {
+        return count == 0 ? 0.0 : valueAtRank(1) / 100.0;
+    }
+
+    public double getMax() {
+        return count == 0 ? 0.0 : valueAtRank(count) / 100.0;
+    }
+
+    /**
+     * Гістограма з {@code bins} кошиками однакової ширини на діапазоні 0–100;
+     * значення 100 потрапляє в останній кошик.
+     *
+     * @param bins кількість кошиків (1..10000)
+     * @return кількість оцінок у кожному кошику
+     */
+    public long[] histogram(int bins) {
+        if (bins <= 0 || bins > MAX_CENTI) {
+            throw new IllegalArgumentException("bins must be in 1.." + MAX_CENTI);
+        }
+        long[] result = new long[bins];
+        for (int v = 0; v <= MAX_CENTI; v++) {
+            if (counts[v] != 0) {
+                int bin = Math.min(bins - 1, (int) ((long) v * bins / MAX_CENTI));
+                result[bin] += counts[v];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return знімок основних статистик із гістограмою по 10 кошиках
+     */
+    public GradeDistribution toDistribution() {
+        return new GradeDistribution(count, getMean(), getStdDev(), getMin(), getMax(),
+                median(), percentile(0.1), percentile(0.9), histogram(10));
+    }
+
+    private long valueAtRank(long rank) {
+        long seen = 0;
+        for (int v = 0; v <= MAX_CENTI; v++) {
+            seen += counts[v];
+            if (seen >= rank) {
+                return v;
+            }
+        }
+        return MAX_CENTI;
+    }
+
+    /**
+     * Об'єднання станів Велфорда (формула Чана).
+     */
+    private void combine(long otherCount, double otherMean, double otherM2) {
+        long total = count + otherCount;
+        double delta = otherMean - mean;
+        mean += delta * otherCount / total;
+        m2 += otherM2 + delta * delta * ((double) count * otherCount / total);
+        count = total;
+    }
+}
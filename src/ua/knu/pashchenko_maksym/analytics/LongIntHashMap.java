@@ -0,0 +1,93 @@
+package ua.knu.pashchenko_maksym.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Мінімальна хеш-таблиця {@code long -> int} з відкритою адресацією
+ * для словникового кодування id без boxing.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+final class LongIntHashMap {
+
+    private static final int NO_VALUE = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+    }
+
+    /**
+     * @return значення для ключа або {@code -1}, якщо ключа немає
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (values[i] != NO_VALUE) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Додає ключ, якщо його ще немає.
+     *
+     * @return існуюче або щойно додане значення
+     */
+    int putIfAbsent(long key, int value) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (values[i] != NO_VALUE) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return кількість слотів таблиці (степінь двійки, завантаження не більше 50%)
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(values, NO_VALUE);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != NO_VALUE) {
+                putIfAbsent(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
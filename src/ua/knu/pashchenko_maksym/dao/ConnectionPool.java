@@ -0,0 +1,526 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Простий обмежений пул JDBC-з'єднань для {@link DataSourceProvider}.
+ *
+ * <p>Можливості пулу:
+ * <ul>
+ *     <li>не більше {@code maxSize} фізичних з'єднань одночасно;</li>
+ *     <li>очікування вільного з'єднання не довше за {@code acquireTimeoutMillis};</li>
+ *     <li>перевірка з'єднання через {@link Connection#isValid(int)} перед видачею,
+ *     якщо воно простоювало довше за {@link #VALIDATION_IDLE_THRESHOLD_MILLIS};</li>
+ *     <li>закриття з'єднань, що простоюють довше за {@code idleTimeoutMillis}
+ *     або живуть довше за {@code maxLifetimeMillis}.</li>
+ * </ul>
+ *
+ * <p>Клієнт отримує проксі-обгортку над фізичним з'єднанням: виклик
+ * {@link Connection#close()} повертає з'єднання в пул, а не закриває сокет.
+ * Тому DAO-класи можуть і надалі використовувати звичний
+ * {@code try (Connection c = DataSourceProvider.getConnection())}.
+ *
+ * <p>Якщо передано {@link SlowQueryLog}, кожен {@link PreparedStatement}, створений
+ * через логічне з'єднання, обгортається для вимірювання часу виконання.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    /**
+     * З'єднання, що простоювало менше цього часу, видається без додаткової перевірки.
+     */
+    private static final long VALIDATION_IDLE_THRESHOLD_MILLIS = 1_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int validationTimeoutSeconds;
+
+    /**
+     * Журнал повільних запитів або {@code null}, якщо вимкнено.
+     */
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * Дозволи на видачу з'єднань; кількість дорівнює {@link #maxSize}.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Вільні фізичні з'єднання (LIFO, щоб "гарячі" з'єднання використовувались першими).
+     * Доступ лише під монітором самої черги.
+     */
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed;
+
+    /**
+     * Створює пул і запускає фоновий потік очищення неактивних з'єднань.
+     *
+     * @param url                      JDBC URL бази даних
+     * @param user                     користувач БД
+     * @param password                 пароль користувача
+     * @param maxSize                  максимальна кількість фізичних з'єднань (&gt; 0)
+     * @param acquireTimeoutMillis     максимальний час очікування вільного з'єднання
+     * @param idleTimeoutMillis        час простою, після якого з'єднання закривається
+     * @param maxLifetimeMillis        максимальний час життя фізичного з'єднання
+     * @param validationTimeoutSeconds таймаут для {@link Connection#isValid(int)}
+     * @throws IllegalArgumentException якщо {@code maxSize <= 0}
+     */
+    public ConnectionPool(String url,
+                          String user,
+                          String password,
+                          int maxSize,
+                          long acquireTimeoutMillis,
+                          long idleTimeoutMillis,
+                          long maxLifetimeMillis,
+                          int validationTimeoutSeconds) {
+        this(url, user, password, maxSize, acquireTimeoutMillis, idleTimeoutMillis,
+                maxLifetimeMillis, validationTimeoutSeconds, null);
+    }
+
+    /**
+     * Створює пул з журналом повільних запитів.
+     *
+     * @param slowQueryLog журнал повільних запитів або {@code null}
+     * @see #ConnectionPool(String, String, String, int, long, long, long, int)
+     */
+    public ConnectionPool(String url,
+                          String user,
+                          String password,
+                          int maxSize,
+                          long acquireTimeoutMillis,
+                          long idleTimeoutMillis,
+                          long maxLifetimeMillis,
+                          int validationTimeoutSeconds,
+                          SlowQueryLog slowQueryLog) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.slowQueryLog = slowQueryLog;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "gradebook-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Видає з'єднання з пулу, за потреби очікуючи на вільне.
+     *
+     * @return логічне з'єднання; {@link Connection#close()} повертає його в пул
+     * @throws SQLException якщо пул закритий, вичерпано час очікування
+     *                      або не вдалося відкрити нове фізичне з'єднання
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (maxSize=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = open();
+            }
+            active.incrementAndGet();
+            acquired.increment();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Повертає знімок поточної статистики пулу.
+     *
+     * @return статистика пулу
+     */
+    public Stats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long count = acquired.sum();
+        return new Stats(
+                maxSize,
+                active.get(),
+                idleCount,
+                total.get(),
+                permits.getQueueLength(),
+                count,
+                created.sum(),
+                evicted.sum(),
+                timeouts.sum(),
+                count == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / count,
+                maxWaitNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * Закриває всі вільні з'єднання та зупиняє фоновий потік.
+     * З'єднання, які зараз видані, будуть закриті при поверненні.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        List<PooledConnection> victims;
+        synchronized (idle) {
+            victims = new ArrayList<>(idle);
+            idle.clear();
+        }
+        victims.forEach(this::discard);
+    }
+
+    // =============================
+    // internal
+    // =============================
+
+    private PooledConnection takeIdle() {
+        while (true) {
+            PooledConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+
+            long now = System.currentTimeMillis();
+            if (candidate.isExpired(now)) {
+                discard(candidate);
+                continue;
+            }
+            if (now - candidate.lastReturnedAt >= VALIDATION_IDLE_THRESHOLD_MILLIS
+                    && !candidate.isValid()) {
+                discard(candidate);
+                continue;
+            }
+            return candidate;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        total.incrementAndGet();
+        created.increment();
+        return new PooledConnection(physical);
+    }
+
+    /**
+     * Повертає фізичне з'єднання в пул після закриття логічного.
+     */
+    private void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            boolean reusable = !closed && pooled.reset() && !pooled.isExpired(System.currentTimeMillis());
+            if (reusable) {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                // close() міг спорожнити пул після перевірки вище — тоді з'єднання не повертаємо
+                synchronized (idle) {
+                    reusable = !closed;
+                    if (reusable) {
+                        idle.addFirst(pooled);
+                    }
+                }
+            }
+            if (!reusable) {
+                discard(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> victims = new ArrayList<>();
+        synchronized (idle) {
+            idle.removeIf(pooled -> {
+                boolean expired = pooled.isExpired(now)
+                        || now - pooled.lastReturnedAt >= idleTimeoutMillis;
+                if (expired) {
+                    victims.add(pooled);
+                }
+                return expired;
+            });
+        }
+        // фізичне закриття — поза монітором, щоб повільний сокет не блокував takeIdle/release
+        victims.forEach(this::discard);
+    }
+
+    private void discard(PooledConnection pooled) {
+        total.decrementAndGet();
+        evicted.increment();
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // з'єднання вже недійсне — нічого робити
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Фізичне з'єднання разом із метаданими пулу.
+     */
+    private final class PooledConnection {
+
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastReturnedAt = createdAt;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private boolean isExpired(long now) {
+            return now - createdAt >= maxLifetimeMillis;
+        }
+
+        private boolean isValid() {
+            try {
+                return physical.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Відкатує незавершену транзакцію та відновлює режим auto-commit.
+         *
+         * @return {@code true}, якщо з'єднання можна повторно використати
+         */
+        private boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Обробник логічного з'єднання: перехоплює {@code close()} / {@code isClosed()},
+     * решту викликів делегує фізичному з'єднанню (за потреби обгортаючи
+     * {@code prepareStatement} для {@link SlowQueryLog}).
+     */
+    private final class LeaseHandler implements InvocationHandler {
+
+        private final PooledConnection pooled;
+        private boolean released;
+
+        private LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (!released) {
+                            released = true;
+                            release(pooled);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    synchronized (this) {
+                        return released || pooled.physical.isClosed();
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            synchronized (this) {
+                if (released) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (slowQueryLog != null && "prepareStatement".equals(method.getName())) {
+                return slowQueryLog.wrap((PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Незмінний знімок статистики пулу для підбору його розміру.
+     */
+    public static final class Stats {
+
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int waiting;
+        private final long acquired;
+        private final long created;
+        private final long evicted;
+        private final long timeouts;
+        private final double avgWaitMillis;
+        private final double maxWaitMillis;
+
+        private Stats(int maxSize, int active, int idle, int total, int waiting,
+                      long acquired, long created, long evicted, long timeouts,
+                      double avgWaitMillis, double maxWaitMillis) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.waiting = waiting;
+            this.acquired = acquired;
+            this.created = created;
+            this.evicted = evicted;
+            this.timeouts = timeouts;
+            this.avgWaitMillis = avgWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        public long getAcquired() {
+            return acquired;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getEvicted() {
+            return evicted;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public double getAvgWaitMillis() {
+            return avgWaitMillis;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "PoolStats{max=%d, active=%d, idle=%d, total=%d, waiting=%d, acquired=%d, "
+                            + "created=%d, evicted=%d, timeouts=%d, avgWait=%.3f ms, maxWait=%.3f ms}",
+                    maxSize, active, idle, total, waiting, acquired,
+                    created, evicted, timeouts, avgWaitMillis, maxWaitMillis);
+        }
+    }
+}
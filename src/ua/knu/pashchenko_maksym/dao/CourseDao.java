@@ -9,6 +9,8 @@ public interface CourseDao {
 
     List<Course> findAll();
 
+    Page<Course> findPage(Course after, int pageSize);
+
     Course findByName(String name);
 
     List<Course> findByTeacherId(Long teacherId);
@@ -1,24 +1,61 @@
 package ua.knu.pashchenko_maksym.dao;
 
+import java.nio.file.Path;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Provides JDBC {@link Connection} instances to the PostgreSQL database used by the
  * Student Grade Book application.
  *
- * <p>Database parameters (URL, user, password) зараз захардкожені в константах, але за
- * потреби можуть бути винесені в конфігураційний файл або змінні оточення.
+ * <p>Database parameters (URL, user, password) мають значення за замовчуванням у константах
+ * і можуть бути перевизначені системними властивостями {@code gradebook.db.url},
+ * {@code gradebook.db.user}, {@code gradebook.db.password} (наприклад, для окремої
+ * бенчмарк-бази).
+ *
+ * <p>З'єднання видаються з обмеженого {@link ConnectionPool}, тож повторне відкриття
+ * TCP-з'єднання та автентифікація не виконуються на кожен виклик DAO.
+ * Параметри пулу можна перевизначити системними властивостями
+ * {@code gradebook.pool.maxSize}, {@code gradebook.pool.acquireTimeoutMs},
+ * {@code gradebook.pool.idleTimeoutMs}, {@code gradebook.pool.maxLifetimeMs}.
+ *
+ * <p>Журнал повільних запитів ({@link SlowQueryLog}) вмикається властивістю
+ * {@code gradebook.slowQuery.thresholdMs} (поріг у мс; за замовчуванням вимкнено).
+ * {@code gradebook.slowQuery.explain=true} додатково зберігає плани
+ * {@code EXPLAIN (ANALYZE, BUFFERS)}, {@code gradebook.slowQuery.dir} задає каталог
+ * (за замовчуванням {@code resources/output/slow_queries}).
  *
  * @author Pashchenko Maksym
  * @since 26.11.2025
  */
 public final class DataSourceProvider {
 
-    private static final String URL = "jdbc:postgresql://localhost:5432/gradebook";
-    private static final String USER = "postgres";
-    private static final String PASSWORD = "12345";
+    private static final String URL =
+            System.getProperty("gradebook.db.url", "jdbc:postgresql://localhost:5432/gradebook");
+    private static final String USER =
+            System.getProperty("gradebook.db.user", "postgres");
+    private static final String PASSWORD =
+            System.getProperty("gradebook.db.password", "12345");
+
+    private static final int POOL_MAX_SIZE =
+            Integer.getInteger("gradebook.pool.maxSize", 10);
+    private static final long POOL_ACQUIRE_TIMEOUT_MS =
+            Long.getLong("gradebook.pool.acquireTimeoutMs", 30_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS =
+            Long.getLong("gradebook.pool.idleTimeoutMs", 600_000L);
+    private static final long POOL_MAX_LIFETIME_MS =
+            Long.getLong("gradebook.pool.maxLifetimeMs", 1_800_000L);
+    private static final int POOL_VALIDATION_TIMEOUT_SEC = 5;
+
+    private static final long SLOW_QUERY_THRESHOLD_MS =
+            Long.getLong("gradebook.slowQuery.thresholdMs", -1L);
+    private static final boolean SLOW_QUERY_EXPLAIN =
+            Boolean.getBoolean("gradebook.slowQuery.explain");
+    private static final Path SLOW_QUERY_DIR =
+            Path.of(System.getProperty("gradebook.slowQuery.dir", "resources/output/slow_queries"));
+
+    private static final SlowQueryLog SLOW_QUERY_LOG;
+    private static final ConnectionPool POOL;
 
     static {
         try {
@@ -26,18 +63,74 @@ public final class DataSourceProvider {
         } catch (ClassNotFoundException e) {
             throw new ExceptionInInitializerError("PostgreSQL JDBC driver not found");
         }
+        SLOW_QUERY_LOG = SLOW_QUERY_THRESHOLD_MS < 0
+                ? null
+                : new SlowQueryLog(SLOW_QUERY_THRESHOLD_MS, SLOW_QUERY_EXPLAIN, SLOW_QUERY_DIR,
+                        URL, USER, PASSWORD);
+        POOL = new ConnectionPool(URL, USER, PASSWORD,
+                POOL_MAX_SIZE,
+                POOL_ACQUIRE_TIMEOUT_MS,
+                POOL_IDLE_TIMEOUT_MS,
+                POOL_MAX_LIFETIME_MS,
+                POOL_VALIDATION_TIMEOUT_SEC,
+                SLOW_QUERY_LOG);
     }
 
     private DataSourceProvider() {
     }
 
     /**
-     * Returns a new JDBC {@link Connection} to the configured PostgreSQL database.
+     * Returns a pooled JDBC {@link Connection} to the configured PostgreSQL database.
+     *
+     * <p>Closing the returned connection gives it back to the pool. If a
+     * {@link TransactionScope} is open on the current thread, a nested view of its
+     * connection is returned instead, so the caller joins that transaction.
      *
-     * @return fresh open {@link Connection} instance
-     * @throws SQLException if a database access error occurs or the connection cannot be established
+     * @return open {@link Connection} instance
+     * @throws SQLException if a database access error occurs, the connection cannot be established
+     *                      or no connection became available within the acquire timeout
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        TransactionScope scope = TransactionScope.current();
+        if (scope != null) {
+            return scope.nestedConnection();
+        }
+        return POOL.getConnection();
+    }
+
+    /**
+     * Returns a connection straight from the pool, ignoring any bound transaction.
+     */
+    static Connection getPooledConnection() throws SQLException {
+        return POOL.getConnection();
+    }
+
+    /**
+     * Returns current connection pool statistics (active, idle, wait time).
+     *
+     * @return snapshot of pool statistics
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return POOL.getStats();
+    }
+
+    /**
+     * Returns the slow-query log configured via {@code gradebook.slowQuery.*} properties.
+     *
+     * @return the log, or {@code null} if slow-query logging is disabled
+     */
+    public static SlowQueryLog getSlowQueryLog() {
+        return SLOW_QUERY_LOG;
+    }
+
+    /**
+     * Closes all idle pooled connections and flushes the slow-query log.
+     * Intended to be called on application shutdown.
+     */
+    public static void shutdown() {
+        POOL.close();
+        if (SLOW_QUERY_LOG != null) {
+            SLOW_QUERY_LOG.close();
+        }
     }
 }
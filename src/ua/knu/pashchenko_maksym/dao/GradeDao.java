@@ -1,7 +1,12 @@
 package ua.knu.pashchenko_maksym.dao;
 
 import java.util.List;
+import java.util.stream.Stream;
+
 import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.model.GradeDetails;
+import ua.knu.pashchenko_maksym.model.GradeSummary;
+import ua.knu.pashchenko_maksym.model.StudentRank;
 
 public interface GradeDao {
 
@@ -9,8 +14,12 @@ public interface GradeDao {
 
     List<Grade> findAll();
 
+    Page<Grade> findPage(Grade after, int pageSize);
+
     Grade insert(Grade grade);
 
+    List<Long> insertAll(List<Grade> grades);
+
     boolean update(Grade grade);
 
     boolean delete(Long id);
@@ -22,5 +31,31 @@ public interface GradeDao {
     List<Grade> findByTeacherId(Long teacherId);
 
     List<Grade> findByStudentAndCourse(Long studentId, Long courseId);
+
+    List<Grade> findByGroupAndCourse(Long groupId, Long courseId);
+
+    List<GradeDetails> findDetailsByStudentId(Long studentId);
+
+    List<GradeDetails> findDetailsByTeacherId(Long teacherId);
+
+    Stream<Grade> streamAll();
+
+    Stream<Grade> streamByStudentId(Long studentId);
+
+    Stream<Grade> streamByCourseId(Long courseId);
+
+    Stream<Grade> streamByTeacherId(Long teacherId);
+
+    GradeSummary summarizeByStudent(Long studentId);
+
+    GradeSummary summarizeByCourse(Long courseId);
+
+    GradeSummary summarizeByTeacher(Long teacherId);
+
+    GradeSummary summarizeByGroupAndCourse(Long groupId, Long courseId);
+
+    List<StudentRank> rankStudentsByCourse(Long courseId, int limit, boolean best);
+
+    List<StudentRank> rankStudentsByGroup(Long groupId, int limit, boolean best);
 }
 
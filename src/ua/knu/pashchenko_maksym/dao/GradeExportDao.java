@@ -0,0 +1,13 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface GradeExportDao {
+
+    long exportByStudent(Long studentId, Path file) throws IOException;
+
+    long exportByTeacher(Long teacherId, Path file) throws IOException;
+
+    long exportByGroupAndCourse(Long groupId, Long courseId, Path file) throws IOException;
+}
@@ -0,0 +1,55 @@
+package ua.knu.pashchenko_maksym.dao;
+
+public interface GradeScanDao {
+
+    void scanAll(GradeRowConsumer consumer);
+
+    /**
+     * Передає розподіл оцінок курсу, згрупований на стороні БД за групою та значенням.
+     *
+     * @param courseId id курсу
+     * @param consumer обробник трійок (група, значення, кількість)
+     */
+    void scanValueCountsByCourse(long courseId, ValueCountConsumer consumer);
+
+    /**
+     * Те саме, що {@link #scanValueCountsByCourse}, але лише для однієї групи.
+     *
+     * @param groupId  id групи ({@code 0} — студенти без групи)
+     * @param courseId id курсу
+     * @param consumer обробник трійок (група, значення, кількість)
+     */
+    void scanValueCountsByGroupAndCourse(long groupId, long courseId, ValueCountConsumer consumer);
+
+    /**
+     * Приймає один рядок оцінки у примітивному вигляді без створення об'єктів.
+     */
+    @FunctionalInterface
+    interface GradeRowConsumer {
+
+        /**
+         * @param studentId  id студента
+         * @param courseId   id курсу
+         * @param teacherId  id викладача або {@code 0}, якщо не вказаний
+         * @param groupId    id групи студента або {@code 0}, якщо студент без групи
+         * @param valueCenti оцінка в сотих частках бала (95.50 → 9550)
+         * @param epochDay   дата оцінки як {@link java.time.LocalDate#toEpochDay()}
+         */
+        void accept(long studentId, long courseId, long teacherId, long groupId,
+                    int valueCenti, int epochDay);
+    }
+
+    /**
+     * Приймає кількість однакових оцінок у межах однієї групи.
+     */
+    @FunctionalInterface
+    interface ValueCountConsumer {
+
+        /**
+         * @param groupId    id групи студента або {@code 0}, якщо студент без групи
+         * @param valueCenti оцінка в сотих частках бала
+         * @param count      кількість таких оцінок
+         */
+        void accept(long groupId, int valueCenti, long count);
+    }
+}
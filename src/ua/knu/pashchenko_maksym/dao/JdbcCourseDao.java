@@ -31,6 +31,9 @@ public class JdbcCourseDao implements CourseDao {
     private static final String FIND_ALL_SQL =
             SELECT_BASE + " ORDER BY id";
 
+    private static final String FIND_PAGE_AFTER_SQL =
+            SELECT_BASE + " WHERE id > ? ORDER BY id LIMIT ?";
+
     private static final String FIND_BY_NAME_SQL =
             SELECT_BASE + " WHERE name = ?";
 
@@ -102,6 +105,38 @@ public class JdbcCourseDao implements CourseDao {
         }
     }
 
+    /**
+     * Returns a page of courses ordered by id (keyset pagination on the primary key).
+     *
+     * @param after    last course of the previous page or {@code null} for the first page
+     * @param pageSize page size (&gt; 0)
+     * @return page of courses
+     * @throws IllegalArgumentException if {@code pageSize <= 0}
+     * @throws DaoException             if a database access error occurs
+     */
+    @Override
+    public Page<Course> findPage(Course after, int pageSize) {
+        Page.checkPageSize(pageSize);
+        List<Course> result = new ArrayList<>();
+
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(FIND_PAGE_AFTER_SQL)) {
+
+            ps.setLong(1, after == null ? 0L : after.getId());
+            ps.setInt(2, pageSize + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+
+            return Page.of(result, pageSize);
+        } catch (SQLException e) {
+            throw new DaoException("Error loading courses page", e);
+        }
+    }
+
     /**
      * Finds course by its exact name.
      *
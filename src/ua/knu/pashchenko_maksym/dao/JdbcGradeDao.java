@@ -1,18 +1,28 @@
 package ua.knu.pashchenko_maksym.dao;
 
 import java.math.BigDecimal;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Types;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 
 import ua.knu.pashchenko_maksym.dao.exception.DaoException;
 import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.model.GradeDetails;
+import ua.knu.pashchenko_maksym.model.GradeSummary;
+import ua.knu.pashchenko_maksym.model.StudentRank;
 
 /**
  * JDBC-реалізація {@link GradeDao} для таблиці {@code grades}.
@@ -38,6 +48,18 @@ public class JdbcGradeDao implements GradeDao {
     private static final String SELECT_ALL =
             SELECT_BASE + "ORDER BY grade_date DESC, id";
 
+    private static final String SELECT_FIRST_PAGE =
+            SELECT_BASE + "ORDER BY grade_date DESC, id LIMIT ?";
+
+    /**
+     * Сортування змішане (дата за спаданням, id за зростанням), тому порівняння рядків
+     * не підходить: {@code grade_date <= ?} дає пошук по індексу, а решта умови
+     * відкидає лише вже показані оцінки тієї самої дати.
+     */
+    private static final String SELECT_PAGE_AFTER =
+            SELECT_BASE + "WHERE grade_date <= ? AND (grade_date < ? OR id > ?) "
+                    + "ORDER BY grade_date DESC, id LIMIT ?";
+
     private static final String SELECT_BY_STUDENT =
             SELECT_BASE + "WHERE student_id = ? ORDER BY grade_date DESC, id";
 
@@ -51,10 +73,108 @@ public class JdbcGradeDao implements GradeDao {
             SELECT_BASE + "WHERE student_id = ? AND course_id = ? "
                     + "ORDER BY grade_date DESC, id";
 
+    private static final String SELECT_BY_GROUP_COURSE =
+            "SELECT g.id, g.student_id, g.course_id, g.teacher_id, g.value, g.grade_date "
+                    + "FROM grades g JOIN students s ON s.id = g.student_id "
+                    + "WHERE s.group_id = ? AND g.course_id = ? "
+                    + "ORDER BY s.last_name, s.first_name, s.id, g.grade_date DESC, g.id";
+
+    /**
+     * Оцінки разом із назвою курсу та іменем студента — для звітів без
+     * окремих запитів на кожен рядок.
+     */
+    private static final String SELECT_DETAILS_BASE =
+            "SELECT g.id, g.student_id, g.course_id, g.teacher_id, g.value, g.grade_date, "
+                    + "c.name AS course_name, s.first_name, s.last_name "
+                    + "FROM grades g "
+                    + "JOIN courses c ON c.id = g.course_id "
+                    + "JOIN students s ON s.id = g.student_id ";
+
+    private static final String SELECT_DETAILS_BY_STUDENT =
+            SELECT_DETAILS_BASE + "WHERE g.student_id = ? ORDER BY g.grade_date DESC, g.id";
+
+    private static final String SELECT_DETAILS_BY_TEACHER =
+            SELECT_DETAILS_BASE + "WHERE g.teacher_id = ? ORDER BY g.grade_date DESC, g.id";
+
+    /**
+     * Готові агрегати з {@code grade_stats}, які підтримуються тригерами на {@code grades}
+     * у тій самій транзакції, що й зміна оцінки.
+     */
+    private static final String SUMMARY_BY_SCOPE =
+            "SELECT cnt, total FROM grade_stats "
+                    + "WHERE scope = ? AND entity_id = ? AND course_id = 0";
+
+    private static final String SUMMARY_BY_GROUP_COURSE =
+            "SELECT COALESCE(SUM(gs.cnt), 0) AS cnt, COALESCE(SUM(gs.total), 0) AS total "
+                    + "FROM grade_stats gs JOIN students s ON s.id = gs.entity_id "
+                    + "WHERE gs.scope = 'student_course' AND s.group_id = ? AND gs.course_id = ?";
+
+    /**
+     * Рейтинг за середнім балом з {@code grade_stats}: віконні функції рахуються
+     * по одному рядку на студента, а не по рядках {@code grades}. Фільтр {@code pos <= ?}
+     * за {@code RANK()} залишає перші N місць разом з усіма, хто ділить N-те місце.
+     */
+    private static final String RANK_TEMPLATE =
+            "SELECT * FROM ("
+                    + "SELECT s.id, s.first_name, s.last_name, s.group_id, gs.cnt, "
+                    + "gs.total / gs.cnt AS avg, "
+                    + "RANK() OVER (ORDER BY gs.total / gs.cnt %1$s) AS pos, "
+                    + "DENSE_RANK() OVER (ORDER BY gs.total / gs.cnt %1$s) AS dense_pos "
+                    + "FROM grade_stats gs JOIN students s ON s.id = gs.entity_id "
+                    + "WHERE %2$s AND gs.cnt > 0"
+                    + ") r WHERE r.pos <= ? "
+                    + "ORDER BY r.pos, r.last_name, r.first_name, r.id";
+
+    private static final String RANK_BY_COURSE_FILTER =
+            "gs.scope = 'student_course' AND gs.course_id = ?";
+
+    private static final String RANK_BY_GROUP_FILTER =
+            "gs.scope = 'student' AND gs.course_id = 0 AND s.group_id = ?";
+
+    private static final String RANK_BY_COURSE_BEST = String.format(RANK_TEMPLATE, "DESC", RANK_BY_COURSE_FILTER);
+    private static final String RANK_BY_COURSE_WORST = String.format(RANK_TEMPLATE, "ASC", RANK_BY_COURSE_FILTER);
+    private static final String RANK_BY_GROUP_BEST = String.format(RANK_TEMPLATE, "DESC", RANK_BY_GROUP_FILTER);
+    private static final String RANK_BY_GROUP_WORST = String.format(RANK_TEMPLATE, "ASC", RANK_BY_GROUP_FILTER);
+
     private static final String INSERT_SQL =
             "INSERT INTO grades (student_id, course_id, teacher_id, value, grade_date) "
                     + "VALUES (?, ?, ?, ?, ?) RETURNING id";
 
+    /**
+     * SQLSTATE порушення зовнішнього ключа.
+     */
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    /**
+     * Імена зовнішніх ключів {@code grades}, згенеровані PostgreSQL для {@code schema.sql}.
+     */
+    private static final String STUDENT_FK = "grades_student_id_fkey";
+    private static final String COURSE_FK = "grades_course_id_fkey";
+    private static final String TEACHER_FK = "grades_teacher_id_fkey";
+
+    private static final String INSERT_BATCH_SQL =
+            "INSERT INTO grades (student_id, course_id, teacher_id, value, grade_date) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Перевірка існування всіх згаданих у пакеті студентів, курсів та викладачів
+     * одним запитом. Повертає лише відсутні id.
+     */
+    private static final String MISSING_REFERENCES_SQL =
+            "SELECT 'student' AS kind, x.id FROM unnest(?::bigint[]) AS x(id) "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM students s WHERE s.id = x.id) "
+                    + "UNION ALL "
+                    + "SELECT 'course', x.id FROM unnest(?::bigint[]) AS x(id) "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM courses c WHERE c.id = x.id) "
+                    + "UNION ALL "
+                    + "SELECT 'teacher', x.id FROM unnest(?::bigint[]) AS x(id) "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM teachers t WHERE t.id = x.id)";
+
+    /**
+     * Кількість рядків у одному JDBC-пакеті при масовій вставці.
+     */
+    private static final int BATCH_SIZE = 500;
+
     private static final String UPDATE_SQL =
             "UPDATE grades SET student_id = ?, course_id = ?, teacher_id = ?, "
                     + "value = ?, grade_date = ? WHERE id = ?";
@@ -62,6 +182,31 @@ public class JdbcGradeDao implements GradeDao {
     private static final String DELETE_SQL =
             "DELETE FROM grades WHERE id = ?";
 
+    /**
+     * Розмір порції серверного курсора для {@code stream*}-методів.
+     */
+    private final int fetchSize;
+
+    /**
+     * Створює DAO з розміром порції курсора за замовчуванням.
+     */
+    public JdbcGradeDao() {
+        this(JdbcStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Створює DAO із заданим розміром порції курсора для {@code stream*}-методів.
+     *
+     * @param fetchSize кількість рядків, що читаються за одне звернення до сервера (&gt; 0)
+     * @throws IllegalArgumentException якщо {@code fetchSize <= 0}
+     */
+    public JdbcGradeDao(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive");
+        }
+        this.fetchSize = fetchSize;
+    }
+
     /**
      * Пошук оцінки за її первинним ключем.
      *
@@ -110,6 +255,44 @@ public class JdbcGradeDao implements GradeDao {
         }
     }
 
+    /**
+     * Повертає сторінку оцінок у порядку дата (нові спочатку), id (keyset-пагінація).
+     *
+     * @param after    остання оцінка попередньої сторінки або {@code null} для першої
+     * @param pageSize розмір сторінки (&gt; 0)
+     * @return сторінка оцінок
+     * @throws IllegalArgumentException якщо {@code pageSize <= 0}
+     * @throws DaoException             у разі помилки доступу до БД
+     */
+    @Override
+    public Page<Grade> findPage(Grade after, int pageSize) {
+        Page.checkPageSize(pageSize);
+        List<Grade> result = new ArrayList<>();
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     after == null ? SELECT_FIRST_PAGE : SELECT_PAGE_AFTER)) {
+
+            int index = 1;
+            if (after != null) {
+                Date date = Date.valueOf(after.getGradeDate());
+                ps.setDate(index++, date);
+                ps.setDate(index++, date);
+                ps.setLong(index++, after.getId());
+            }
+            ps.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return Page.of(result, pageSize);
+
+        } catch (SQLException e) {
+            throw new DaoException("Error loading grades page", e);
+        }
+    }
+
     /**
      * Вставляє новий запис оцінки в таблицю {@code grades}.
      *
@@ -118,11 +301,29 @@ public class JdbcGradeDao implements GradeDao {
      *
      * @param grade оцінка для вставки (не {@code null})
      * @return той самий об'єкт {@link Grade} з оновленим id
-     * @throws IllegalArgumentException якщо значення оцінки дорівнює {@code null}
+     * @throws IllegalArgumentException якщо значення оцінки дорівнює {@code null} або
+     *                                  студента, курсу чи викладача не існує (порушено зовнішній ключ)
      * @throws DaoException             у разі помилки доступу до БД
      */
     @Override
     public Grade insert(Grade grade) {
+        TransactionScope tx = TransactionScope.current();
+        if (tx == null) {
+            return insertRow(grade);
+        }
+        // помилка вставки (наприклад, відсутній студент) не повинна перервати транзакцію викликача
+        Savepoint savepoint = tx.savepoint();
+        try {
+            Grade inserted = insertRow(grade);
+            tx.release(savepoint);
+            return inserted;
+        } catch (RuntimeException e) {
+            tx.rollbackTo(savepoint);
+            throw e;
+        }
+    }
+
+    private Grade insertRow(Grade grade) {
         try (Connection connection = DataSourceProvider.getConnection();
              PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
 
@@ -158,10 +359,93 @@ public class JdbcGradeDao implements GradeDao {
             return grade;
 
         } catch (SQLException e) {
+            IllegalArgumentException missing = missingReference(e, grade);
+            if (missing != null) {
+                throw missing;
+            }
             throw new DaoException("Error inserting grade " + grade, e);
         }
     }
 
+    /**
+     * Масово вставляє оцінки в одній транзакції.
+     *
+     * <p>Спочатку одним запитом перевіряється існування всіх згаданих студентів,
+     * курсів та викладачів, потім рядки вставляються JDBC-пакетами
+     * по {@value #BATCH_SIZE}. Якщо хоча б одна оцінка некоректна,
+     * транзакція відкочується і нічого не зберігається.
+     *
+     * <p>Згенеровані id записуються в об'єкти {@code grades}; дати, що дорівнюють
+     * {@code null}, замінюються на поточну дату.
+     *
+     * @param grades оцінки для вставки (не {@code null})
+     * @return згенеровані id у тому ж порядку, що й {@code grades}
+     * @throws IllegalArgumentException якщо значення оцінки дорівнює {@code null}
+     *                                  або посилання на студента/курс/викладача не існує
+     * @throws DaoException             у разі помилки доступу до БД
+     */
+    @Override
+    public List<Long> insertAll(List<Grade> grades) {
+        List<Long> ids = new ArrayList<>(grades.size());
+        if (grades.isEmpty()) {
+            return ids;
+        }
+
+        for (Grade grade : grades) {
+            if (grade.getValue() == null) {
+                throw new IllegalArgumentException("Grade value must not be null");
+            }
+            if (grade.getGradeDate() == null) {
+                grade.setGradeDate(LocalDate.now());
+            }
+        }
+
+        try (Connection connection = DataSourceProvider.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                checkReferences(connection, grades);
+
+                try (PreparedStatement ps =
+                             connection.prepareStatement(INSERT_BATCH_SQL, new String[]{"id"})) {
+                    int from = 0;
+                    while (from < grades.size()) {
+                        int to = Math.min(from + BATCH_SIZE, grades.size());
+                        for (Grade grade : grades.subList(from, to)) {
+                            bindInsert(ps, grade);
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+
+                        try (ResultSet keys = ps.getGeneratedKeys()) {
+                            int i = from;
+                            while (keys.next()) {
+                                long id = keys.getLong(1);
+                                grades.get(i++).setId(id);
+                                ids.add(id);
+                            }
+                        }
+                        from = to;
+                    }
+                }
+
+                connection.commit();
+                return ids;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                for (Grade grade : grades) {
+                    grade.setId(null);
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error inserting batch of " + grades.size() + " grades", e);
+        }
+    }
+
     /**
      * Оновлює існуючий запис оцінки.
      *
@@ -340,6 +624,386 @@ public class JdbcGradeDao implements GradeDao {
         }
     }
 
+    /**
+     * Повертає оцінки всіх студентів групи з курсу одним запитом
+     * (замість окремого запиту на кожного студента).
+     *
+     * @param groupId  id групи
+     * @param courseId id курсу
+     * @return оцінки, впорядковані за студентом (може бути порожнім)
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public List<Grade> findByGroupAndCourse(Long groupId, Long courseId) {
+        List<Grade> result = new ArrayList<>();
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SELECT_BY_GROUP_COURSE)) {
+
+            ps.setLong(1, groupId);
+            ps.setLong(2, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return result;
+
+        } catch (SQLException e) {
+            throw new DaoException("Error finding grades by group "
+                    + groupId + " and course " + courseId, e);
+        }
+    }
+
+    /**
+     * Повертає оцінки студента разом із назвами курсів одним запитом.
+     *
+     * @param studentId id студента
+     * @return список оцінок з деталями (може бути порожнім)
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public List<GradeDetails> findDetailsByStudentId(Long studentId) {
+        return findDetails(SELECT_DETAILS_BY_STUDENT, studentId,
+                "Error finding grade details by student " + studentId);
+    }
+
+    /**
+     * Повертає оцінки викладача разом із назвами курсів та іменами студентів одним запитом.
+     *
+     * @param teacherId id викладача
+     * @return список оцінок з деталями (може бути порожнім)
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public List<GradeDetails> findDetailsByTeacherId(Long teacherId) {
+        return findDetails(SELECT_DETAILS_BY_TEACHER, teacherId,
+                "Error finding grade details by teacher " + teacherId);
+    }
+
+    private List<GradeDetails> findDetails(String sql, Long id, String errorMessage) {
+        List<GradeDetails> result = new ArrayList<>();
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(new GradeDetails(mapRow(rs),
+                            rs.getString("course_name"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name")));
+                }
+            }
+            return result;
+
+        } catch (SQLException e) {
+            throw new DaoException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Потоково повертає всі оцінки (порядок як у {@link #findAll()}).
+     *
+     * <p>Рядки читаються серверним курсором порціями по {@code fetchSize},
+     * тож пам'ять не залежить від розміру таблиці. Потік треба закрити.
+     *
+     * @return лінивий закривний потік оцінок
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public Stream<Grade> streamAll() {
+        return JdbcStreams.stream(SELECT_ALL, fetchSize, ps -> { }, this::mapRow,
+                "Error streaming all grades");
+    }
+
+    /**
+     * Потоково повертає оцінки студента (див. {@link #streamAll()}).
+     *
+     * @param studentId id студента
+     * @return лінивий закривний потік оцінок
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public Stream<Grade> streamByStudentId(Long studentId) {
+        return JdbcStreams.stream(SELECT_BY_STUDENT, fetchSize, ps -> ps.setLong(1, studentId),
+                this::mapRow, "Error streaming grades by student " + studentId);
+    }
+
+    /**
+     * Потоково повертає оцінки з курсу (див. {@link #streamAll()}).
+     *
+     * @param courseId id курсу
+     * @return лінивий закривний потік оцінок
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public Stream<Grade> streamByCourseId(Long courseId) {
+        return JdbcStreams.stream(SELECT_BY_COURSE, fetchSize, ps -> ps.setLong(1, courseId),
+                this::mapRow, "Error streaming grades by course " + courseId);
+    }
+
+    /**
+     * Потоково повертає оцінки, виставлені викладачем (див. {@link #streamAll()}).
+     *
+     * @param teacherId id викладача
+     * @return лінивий закривний потік оцінок
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public Stream<Grade> streamByTeacherId(Long teacherId) {
+        return JdbcStreams.stream(SELECT_BY_TEACHER, fetchSize, ps -> ps.setLong(1, teacherId),
+                this::mapRow, "Error streaming grades by teacher " + teacherId);
+    }
+
+    /**
+     * Повертає суму та кількість оцінок студента з таблиці агрегатів (O(1)).
+     *
+     * @param studentId id студента
+     * @return агрегат ({@link GradeSummary#EMPTY}, якщо оцінок немає)
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public GradeSummary summarizeByStudent(Long studentId) {
+        return summarizeByScope("student", studentId);
+    }
+
+    /**
+     * Повертає суму та кількість оцінок з курсу з таблиці агрегатів (O(1)).
+     *
+     * @param courseId id курсу
+     * @return агрегат ({@link GradeSummary#EMPTY}, якщо оцінок немає)
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public GradeSummary summarizeByCourse(Long courseId) {
+        return summarizeByScope("course", courseId);
+    }
+
+    /**
+     * Повертає суму та кількість оцінок, виставлених викладачем, з таблиці агрегатів (O(1)).
+     *
+     * @param teacherId id викладача
+     * @return агрегат ({@link GradeSummary#EMPTY}, якщо оцінок немає)
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public GradeSummary summarizeByTeacher(Long teacherId) {
+        return summarizeByScope("teacher", teacherId);
+    }
+
+    /**
+     * Агрегує оцінки всіх студентів групи з курсу одним запитом: підсумовуються
+     * готові агрегати {@code (student, course)} студентів групи, тож вартість
+     * залежить від розміру групи, а не від кількості оцінок.
+     *
+     * @param groupId  id групи
+     * @param courseId id курсу
+     * @return кількість та сума оцінок ({@link GradeSummary#EMPTY}, якщо оцінок немає)
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public GradeSummary summarizeByGroupAndCourse(Long groupId, Long courseId) {
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SUMMARY_BY_GROUP_COURSE)) {
+
+            ps.setLong(1, groupId);
+            ps.setLong(2, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new GradeSummary(rs.getLong("cnt"), rs.getBigDecimal("total"));
+                }
+                return GradeSummary.EMPTY;
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error summarizing grades for group "
+                    + groupId + " and course " + courseId, e);
+        }
+    }
+
+    /**
+     * Рейтинг студентів за середнім балом з курсу.
+     *
+     * @param courseId id курсу
+     * @param limit    кількість місць (&gt; 0); студенти, що ділять останнє місце, теж повертаються
+     * @param best     {@code true} — найвищі бали, {@code false} — найнижчі
+     * @return студенти у порядку місць
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public List<StudentRank> rankStudentsByCourse(Long courseId, int limit, boolean best) {
+        return rank(best ? RANK_BY_COURSE_BEST : RANK_BY_COURSE_WORST, courseId, limit,
+                "Error ranking students of course " + courseId);
+    }
+
+    /**
+     * Рейтинг студентів групи за середнім балом по всіх курсах.
+     *
+     * @param groupId id групи
+     * @param limit   кількість місць (&gt; 0); студенти, що ділять останнє місце, теж повертаються
+     * @param best    {@code true} — найвищі бали, {@code false} — найнижчі
+     * @return студенти у порядку місць
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public List<StudentRank> rankStudentsByGroup(Long groupId, int limit, boolean best) {
+        return rank(best ? RANK_BY_GROUP_BEST : RANK_BY_GROUP_WORST, groupId, limit,
+                "Error ranking students of group " + groupId);
+    }
+
+    private List<StudentRank> rank(String sql, Long id, int limit, String errorMessage) {
+        List<StudentRank> result = new ArrayList<>();
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+
+            ps.setLong(1, id);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long group = rs.getLong("group_id");
+                    Long groupId = rs.wasNull() ? null : group;
+                    result.add(new StudentRank(
+                            rs.getInt("pos"),
+                            rs.getInt("dense_pos"),
+                            rs.getLong("id"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            groupId,
+                            rs.getLong("cnt"),
+                            rs.getBigDecimal("avg").doubleValue()));
+                }
+            }
+            return result;
+
+        } catch (SQLException e) {
+            throw new DaoException(errorMessage, e);
+        }
+    }
+
+    private GradeSummary summarizeByScope(String scope, Long id) {
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SUMMARY_BY_SCOPE)) {
+
+            ps.setString(1, scope);
+            ps.setLong(2, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new GradeSummary(rs.getLong("cnt"), rs.getBigDecimal("total"));
+                }
+                return GradeSummary.EMPTY;
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error loading " + scope + " grade summary for id " + id, e);
+        }
+    }
+
+    /**
+     * Перевіряє одним запитом, що всі студенти, курси та викладачі з пакета існують.
+     *
+     * @throws IllegalArgumentException з повідомленням, як у
+     *                                  {@code GradeBookService.addGrade}, для першого відсутнього id
+     */
+    private void checkReferences(Connection connection, List<Grade> grades) throws SQLException {
+        Set<Long> studentIds = new LinkedHashSet<>();
+        Set<Long> courseIds = new LinkedHashSet<>();
+        Set<Long> teacherIds = new LinkedHashSet<>();
+        for (Grade grade : grades) {
+            studentIds.add(grade.getStudentId());
+            courseIds.add(grade.getCourseId());
+            if (grade.getTeacherId() != null) {
+                teacherIds.add(grade.getTeacherId());
+            }
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(MISSING_REFERENCES_SQL)) {
+            Array students = connection.createArrayOf("bigint", studentIds.toArray());
+            Array courses = connection.createArrayOf("bigint", courseIds.toArray());
+            Array teachers = connection.createArrayOf("bigint", teacherIds.toArray());
+            ps.setArray(1, students);
+            ps.setArray(2, courses);
+            ps.setArray(3, teachers);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    String kind = rs.getString("kind");
+                    long id = rs.getLong("id");
+                    String entity = Character.toUpperCase(kind.charAt(0)) + kind.substring(1);
+                    throw new IllegalArgumentException(entity + " with id " + id + " not found");
+                }
+            }
+        }
+    }
+
+    /**
+     * Перетворює порушення зовнішнього ключа при вставці на {@link IllegalArgumentException}
+     * з тим самим повідомленням, що й {@link #checkReferences}.
+     *
+     * <p>Порушений ключ визначається за іменем обмеження з відповіді сервера; якщо драйвер
+     * його не надав, відсутнє посилання шукається запитом {@link #checkReferences}.
+     *
+     * @return виняток для кидання або {@code null}, якщо помилка інша
+     */
+    private IllegalArgumentException missingReference(SQLException e, Grade grade) {
+        if (!FOREIGN_KEY_VIOLATION.equals(e.getSQLState())) {
+            return null;
+        }
+        String constraint = null;
+        if (e instanceof PSQLException) {
+            ServerErrorMessage serverError = ((PSQLException) e).getServerErrorMessage();
+            if (serverError != null) {
+                constraint = serverError.getConstraint();
+            }
+        }
+        if (STUDENT_FK.equals(constraint)) {
+            return new IllegalArgumentException("Student with id " + grade.getStudentId() + " not found");
+        }
+        if (COURSE_FK.equals(constraint)) {
+            return new IllegalArgumentException("Course with id " + grade.getCourseId() + " not found");
+        }
+        if (TEACHER_FK.equals(constraint)) {
+            return new IllegalArgumentException("Teacher with id " + grade.getTeacherId() + " not found");
+        }
+        return findMissingReference(grade);
+    }
+
+    /**
+     * Шукає відсутнє посилання оцінки окремим запитом.
+     *
+     * <p>Запит іде окремим з'єднанням із пулу: з'єднання відкритої {@link TransactionScope}
+     * після помилки вставки перерване до відкату точки збереження.
+     *
+     * @return виняток для кидання або {@code null}, якщо всі посилання існують
+     *         чи перевірку не вдалося виконати
+     */
+    private IllegalArgumentException findMissingReference(Grade grade) {
+        try (Connection connection = DataSourceProvider.getPooledConnection()) {
+            checkReferences(connection, List.of(grade));
+        } catch (IllegalArgumentException missing) {
+            return missing;
+        } catch (SQLException ignored) {
+            // викликач отримає початкову помилку вставки
+        }
+        return null;
+    }
+
+    /**
+     * Заповнює параметри {@link #INSERT_BATCH_SQL} для однієї оцінки.
+     */
+    private void bindInsert(PreparedStatement ps, Grade grade) throws SQLException {
+        ps.setLong(1, grade.getStudentId());
+        ps.setLong(2, grade.getCourseId());
+
+        if (grade.getTeacherId() != null) {
+            ps.setLong(3, grade.getTeacherId());
+        } else {
+            ps.setNull(3, Types.BIGINT);
+        }
+
+        ps.setBigDecimal(4, grade.getValue());
+        ps.setDate(5, Date.valueOf(grade.getGradeDate()));
+    }
+
     /**
      * Мапінг поточного рядка {@link ResultSet} в об'єкт {@link Grade}.
      *
@@ -0,0 +1,144 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import ua.knu.pashchenko_maksym.dao.exception.DaoException;
+
+/**
+ * JDBC-реалізація {@link GradeScanDao}: повний прохід по таблиці {@code grades}
+ * серверним курсором без створення {@link ua.knu.pashchenko_maksym.model.Grade}.
+ *
+ * <p>Оцінка та дата перетворюються на цілі числа ще в SQL
+ * ({@code value * 100} та кількість днів від 1970-01-01), тож у Java
+ * не створюються {@link java.math.BigDecimal} та {@link java.sql.Date}.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class JdbcGradeScanDao implements GradeScanDao {
+
+    private static final String SCAN_SQL =
+            "SELECT g.student_id, g.course_id, COALESCE(g.teacher_id, 0) AS teacher_id, "
+                    + "COALESCE(s.group_id, 0) AS group_id, "
+                    + "(g.value * 100)::int AS value_centi, "
+                    + "(g.grade_date - DATE '1970-01-01') AS epoch_day "
+                    + "FROM grades g JOIN students s ON s.id = g.student_id";
+
+    /**
+     * Не більше 10 001 рядка на групу незалежно від кількості оцінок.
+     */
+    private static final String VALUE_COUNTS_BY_COURSE_SQL =
+            "SELECT COALESCE(s.group_id, 0) AS group_id, "
+                    + "(g.value * 100)::int AS value_centi, COUNT(*) AS cnt "
+                    + "FROM grades g JOIN students s ON s.id = g.student_id "
+                    + "WHERE g.course_id = ? "
+                    + "GROUP BY 1, 2";
+
+    private static final String VALUE_COUNTS_BY_GROUP_AND_COURSE_SQL =
+            "SELECT COALESCE(s.group_id, 0) AS group_id, "
+                    + "(g.value * 100)::int AS value_centi, COUNT(*) AS cnt "
+                    + "FROM grades g JOIN students s ON s.id = g.student_id "
+                    + "WHERE g.course_id = ? AND COALESCE(s.group_id, 0) = ? "
+                    + "GROUP BY 1, 2";
+
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    /**
+     * Передає кожен рядок таблиці {@code grades} у {@code consumer}.
+     *
+     * @param consumer обробник рядків
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public void scanAll(GradeRowConsumer consumer) {
+        try (Connection connection = DataSourceProvider.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(SCAN_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(SCAN_FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                                rs.getLong(4), rs.getInt(5), rs.getInt(6));
+                    }
+                }
+            } finally {
+                endReadTransaction(connection, autoCommit);
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error scanning grades", e);
+        }
+    }
+
+    /**
+     * Передає розподіл оцінок курсу у вигляді (група, значення, кількість).
+     *
+     * @param courseId id курсу
+     * @param consumer обробник
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public void scanValueCountsByCourse(long courseId, ValueCountConsumer consumer) {
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(VALUE_COUNTS_BY_COURSE_SQL)) {
+
+            ps.setLong(1, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getLong(1), rs.getInt(2), rs.getLong(3));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error reading grade distribution for course id=" + courseId, e);
+        }
+    }
+
+    /**
+     * Передає розподіл оцінок групи по курсу у вигляді (група, значення, кількість).
+     *
+     * @param groupId  id групи ({@code 0} — студенти без групи)
+     * @param courseId id курсу
+     * @param consumer обробник
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public void scanValueCountsByGroupAndCourse(long groupId, long courseId, ValueCountConsumer consumer) {
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(VALUE_COUNTS_BY_GROUP_AND_COURSE_SQL)) {
+
+            ps.setLong(1, courseId);
+            ps.setLong(2, groupId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getLong(1), rs.getInt(2), rs.getLong(3));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error reading grade distribution for group id=" + groupId
+                    + " and course id=" + courseId, e);
+        }
+    }
+
+    /**
+     * Завершує транзакцію курсора так само, як {@link JdbcStreams}: запит лише читав,
+     * тож фіксація рівнозначна відкату, але всередині {@link TransactionScope} вона лише
+     * звільняє точку збереження, а відкат скасував би зміни, зроблені обробником в області.
+     */
+    private static void endReadTransaction(Connection connection, boolean autoCommit)
+            throws SQLException {
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ua.knu.pashchenko_maksym.dao.exception.DaoException;
+
+/**
+ * Допоміжний клас для побудови "лінивих" {@link Stream} поверх серверного курсора PostgreSQL.
+ *
+ * <p>PostgreSQL JDBC-драйвер читає результат частинами по {@code fetchSize} рядків лише тоді,
+ * коли auto-commit вимкнено і запит {@code TYPE_FORWARD_ONLY}. Тому з'єднання
+ * переводиться в режим транзакції та утримується, доки потік не буде закрито.
+ *
+ * <p>Потік <b>обов'язково</b> треба закрити (найкраще через try-with-resources),
+ * інакше з'єднання не повернеться в пул.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+final class JdbcStreams {
+
+    /**
+     * Розмір порції за замовчуванням для серверного курсора.
+     */
+    static final int DEFAULT_FETCH_SIZE = 500;
+
+    private JdbcStreams() {
+    }
+
+    /**
+     * Мапер поточного рядка {@link ResultSet}.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Встановлює параметри {@link PreparedStatement}.
+     */
+    @FunctionalInterface
+    interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Виконує запит і повертає потік рядків, що читаються з курсора порціями.
+     *
+     * @param sql          SQL-запит
+     * @param fetchSize    кількість рядків, що завантажуються за одне звернення до сервера
+     * @param binder       встановлення параметрів запиту
+     * @param mapper       мапінг рядка в об'єкт
+     * @param errorMessage повідомлення для {@link DaoException}
+     * @return закривний потік; закриття звільняє курсор і повертає з'єднання
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    static <T> Stream<T> stream(String sql,
+                                int fetchSize,
+                                Binder binder,
+                                RowMapper<T> mapper,
+                                String errorMessage) {
+        Connection connection = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            connection = DataSourceProvider.getConnection();
+            connection.setAutoCommit(false);
+            ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            binder.bind(ps);
+            rs = ps.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(rs, ps, connection);
+            throw new DaoException(errorMessage, e);
+        }
+
+        ResultSet cursor = rs;
+        PreparedStatement statement = ps;
+        Connection conn = connection;
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DaoException(errorMessage, e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(cursor, statement, conn));
+    }
+
+    private static void closeQuietly(ResultSet rs, PreparedStatement ps, Connection connection) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (ps != null) {
+                ps.close();
+            }
+        } catch (SQLException ignored) {
+            // курсор і так буде закрито разом із транзакцією
+        }
+        if (connection != null) {
+            // запит лише читав, тож фіксація рівнозначна відкату; але всередині TransactionScope
+            // вона лише звільняє точку збереження, а відкат скасував би зміни, зроблені
+            // в області, поки потік був відкритий
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {
+                    // з'єднання все одно буде закрито нижче
+                }
+            }
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // з'єднання буде відкинуто пулом
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import ua.knu.pashchenko_maksym.dao.exception.DaoException;
 import ua.knu.pashchenko_maksym.model.Student;
@@ -48,6 +49,19 @@ public class JdbcStudentDao implements StudentDao {
     private static final String SELECT_ALL =
             SELECT_BASE + "ORDER BY last_name, first_name";
 
+    /**
+     * Перша сторінка студентів (ключ сортування доповнено id, щоб він був унікальним).
+     */
+    private static final String SELECT_FIRST_PAGE =
+            SELECT_BASE + "ORDER BY last_name, first_name, id LIMIT ?";
+
+    /**
+     * Наступна сторінка: пошук по індексу одразу після останнього показаного студента.
+     */
+    private static final String SELECT_PAGE_AFTER =
+            SELECT_BASE + "WHERE (last_name, first_name, id) > (?, ?, ?) "
+                    + "ORDER BY last_name, first_name, id LIMIT ?";
+
     /**
      * Студенти конкретної академічної групи.
      */
@@ -85,6 +99,31 @@ public class JdbcStudentDao implements StudentDao {
     private static final String DELETE_SQL =
             "DELETE FROM students WHERE id = ?";
 
+    /**
+     * Розмір порції серверного курсора для {@code stream*}-методів.
+     */
+    private final int fetchSize;
+
+    /**
+     * Створює DAO з розміром порції курсора за замовчуванням.
+     */
+    public JdbcStudentDao() {
+        this(JdbcStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Створює DAO із заданим розміром порції курсора для {@code stream*}-методів.
+     *
+     * @param fetchSize кількість рядків, що читаються за одне звернення до сервера (&gt; 0)
+     * @throws IllegalArgumentException якщо {@code fetchSize <= 0}
+     */
+    public JdbcStudentDao(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive");
+        }
+        this.fetchSize = fetchSize;
+    }
+
     /**
      * Знаходить студента за первинним ключем.
      *
@@ -133,6 +172,43 @@ public class JdbcStudentDao implements StudentDao {
         }
     }
 
+    /**
+     * Повертає сторінку студентів у порядку прізвище, ім'я, id (keyset-пагінація).
+     *
+     * @param after    останній студент попередньої сторінки або {@code null} для першої
+     * @param pageSize розмір сторінки (&gt; 0)
+     * @return сторінка студентів
+     * @throws IllegalArgumentException якщо {@code pageSize <= 0}
+     * @throws DaoException             у разі помилки доступу до БД
+     */
+    @Override
+    public Page<Student> findPage(Student after, int pageSize) {
+        Page.checkPageSize(pageSize);
+        List<Student> result = new ArrayList<>();
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     after == null ? SELECT_FIRST_PAGE : SELECT_PAGE_AFTER)) {
+
+            int index = 1;
+            if (after != null) {
+                ps.setString(index++, after.getLastName());
+                ps.setString(index++, after.getFirstName());
+                ps.setLong(index++, after.getId());
+            }
+            ps.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return Page.of(result, pageSize);
+
+        } catch (SQLException e) {
+            throw new DaoException("Error loading students page", e);
+        }
+    }
+
     /**
      * Додає нового студента до таблиці {@code students}.
      *
@@ -302,6 +378,33 @@ public class JdbcStudentDao implements StudentDao {
         }
     }
 
+    /**
+     * Потоково повертає всіх студентів через серверний курсор.
+     *
+     * <p>Потік треба закрити, щоб повернути з'єднання в пул.
+     *
+     * @return лінивий закривний потік студентів
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public Stream<Student> streamAll() {
+        return JdbcStreams.stream(SELECT_ALL, fetchSize, ps -> { }, this::mapRow,
+                "Error streaming all students");
+    }
+
+    /**
+     * Потоково повертає студентів, які мають оцінки з курсу (див. {@link #streamAll()}).
+     *
+     * @param courseId ідентифікатор курсу
+     * @return лінивий закривний потік студентів
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public Stream<Student> streamByCourseId(Long courseId) {
+        return JdbcStreams.stream(SELECT_BY_COURSE, fetchSize, ps -> ps.setLong(1, courseId),
+                this::mapRow, "Error streaming students by course " + courseId);
+    }
+
     /**
      * Мапить поточний рядок {@link ResultSet} на об'єкт {@link Student}.
      *
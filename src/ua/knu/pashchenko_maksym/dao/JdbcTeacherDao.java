@@ -48,6 +48,13 @@ public class JdbcTeacherDao implements TeacherDao {
     private static final String SELECT_ALL =
             SELECT_BASE + "ORDER BY last_name, first_name";
 
+    private static final String SELECT_FIRST_PAGE =
+            SELECT_BASE + "ORDER BY last_name, first_name, id LIMIT ?";
+
+    private static final String SELECT_PAGE_AFTER =
+            SELECT_BASE + "WHERE (last_name, first_name, id) > (?, ?, ?) "
+                    + "ORDER BY last_name, first_name, id LIMIT ?";
+
     /**
      * Пошук викладачів з певним прізвищем.
      */
@@ -122,6 +129,43 @@ public class JdbcTeacherDao implements TeacherDao {
         }
     }
 
+    /**
+     * Повертає сторінку викладачів у порядку прізвище, ім'я, id (keyset-пагінація).
+     *
+     * @param after    останній викладач попередньої сторінки або {@code null} для першої
+     * @param pageSize розмір сторінки (&gt; 0)
+     * @return сторінка викладачів
+     * @throws IllegalArgumentException якщо {@code pageSize <= 0}
+     * @throws DaoException             у разі помилки доступу до БД
+     */
+    @Override
+    public Page<Teacher> findPage(Teacher after, int pageSize) {
+        Page.checkPageSize(pageSize);
+        List<Teacher> result = new ArrayList<>();
+        try (Connection connection = DataSourceProvider.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     after == null ? SELECT_FIRST_PAGE : SELECT_PAGE_AFTER)) {
+
+            int index = 1;
+            if (after != null) {
+                ps.setString(index++, after.getLastName());
+                ps.setString(index++, after.getFirstName());
+                ps.setLong(index++, after.getId());
+            }
+            ps.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return Page.of(result, pageSize);
+
+        } catch (SQLException e) {
+            throw new DaoException("Error loading teachers page", e);
+        }
+    }
+
     /**
      * Повертає список викладачів із заданим прізвищем.
      *
@@ -0,0 +1,69 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Одна сторінка результату keyset-пагінації.
+ *
+ * <p>Наступна сторінка запитується від останнього елемента поточної
+ * ({@link #getLast()}), а не через {@code OFFSET}, тож глибокі сторінки
+ * читаються так само швидко, як перша.
+ *
+ * @param <T> тип елементів
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class Page<T> {
+
+    private final List<T> items;
+    private final boolean hasNext;
+
+    private Page(List<T> items, boolean hasNext) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Будує сторінку з результату запиту з {@code LIMIT pageSize + 1}:
+     * зайвий рядок лише означає, що є наступна сторінка.
+     *
+     * @param rows     прочитані рядки (не більше {@code pageSize + 1})
+     * @param pageSize розмір сторінки
+     */
+    static <T> Page<T> of(List<T> rows, int pageSize) {
+        if (rows.size() > pageSize) {
+            return new Page<>(rows.subList(0, pageSize), true);
+        }
+        return new Page<>(rows, false);
+    }
+
+    /**
+     * @throws IllegalArgumentException якщо розмір сторінки не додатний
+     */
+    static int checkPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        return pageSize;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * @return останній елемент сторінки (ключ для наступної) або {@code null}, якщо сторінка порожня
+     */
+    public T getLast() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,146 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import ua.knu.pashchenko_maksym.dao.exception.DaoException;
+
+/**
+ * Швидке завантаження згенерованого набору даних
+ * ({@link ua.knu.pashchenko_maksym.datagen.DatasetGenerator}) через {@code COPY FROM STDIN}.
+ *
+ * <p>На відміну від {@link PgCopyImporter}, рядки не перевіряються і копіюються
+ * безпосередньо в цільові таблиці: файли генератора вже узгоджені між собою,
+ * тож мільйони оцінок завантажуються за один прохід. Агрегати {@code grade_stats}
+ * оновлюються тригером одним set-based запитом на весь {@code COPY}.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class PgCopyDatasetLoader {
+
+    private static final String TRUNCATE_SQL =
+            "TRUNCATE grades, students, courses, teachers, groups RESTART IDENTITY CASCADE";
+
+    private static final String COPY_TEMPLATE =
+            "COPY %s (%s) FROM STDIN WITH (FORMAT csv, DELIMITER ';', HEADER true, NULL '')";
+
+    private static final String SYNC_SEQUENCE_SQL =
+            "SELECT setval(pg_get_serial_sequence('%1$s', 'id'), "
+                    + "COALESCE((SELECT MAX(id) FROM %1$s), 0) + 1, false)";
+
+    /**
+     * Таблиці в порядку залежностей зовнішніх ключів: таблиця, колонки, файл.
+     */
+    private static final String[][] TABLES = {
+            {"groups", "id, name, year", "groups.csv"},
+            {"teachers", "id, first_name, last_name, department, email", "teachers.csv"},
+            {"courses", "id, name, semester, year, teacher_id, credits", "courses.csv"},
+            {"students", "id, first_name, last_name, email, group_id, enrollment_year", "students.csv"},
+            {"grades", "id, student_id, course_id, teacher_id, value, grade_date", "grades.csv"}
+    };
+
+    /**
+     * <b>Видаляє всі дані</b> журналу та завантажує набір із каталогу {@code dir}
+     * однією транзакцією; після завантаження оновлює статистику планувальника.
+     *
+     * @param dir каталог із файлами генератора
+     * @return кількість завантажених рядків за таблицями
+     * @throws IOException  у разі помилки читання файлів
+     * @throws DaoException у разі помилки доступу до БД (зміни відкочуються)
+     */
+    public LoadReport replaceAll(Path dir) throws IOException {
+        long start = System.nanoTime();
+        long[] rows = new long[TABLES.length];
+
+        try (Connection connection = DataSourceProvider.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (Statement st = connection.createStatement()) {
+                    st.execute(TRUNCATE_SQL);
+                }
+
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                for (int i = 0; i < TABLES.length; i++) {
+                    String sql = String.format(COPY_TEMPLATE, TABLES[i][0], TABLES[i][1]);
+                    try (InputStream in = Files.newInputStream(dir.resolve(TABLES[i][2]))) {
+                        rows[i] = copyManager.copyIn(sql, in);
+                    }
+                }
+
+                try (Statement st = connection.createStatement()) {
+                    for (String[] table : TABLES) {
+                        st.execute(String.format(SYNC_SEQUENCE_SQL, table[0]));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            try (Statement st = connection.createStatement()) {
+                st.execute("ANALYZE");
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error loading dataset from " + dir, e);
+        }
+
+        return new LoadReport(rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Кількість завантажених рядків за таблицями.
+     */
+    public static final class LoadReport {
+
+        private final long[] rows;
+        private final long millis;
+
+        private LoadReport(long[] rows, long millis) {
+            this.rows = rows;
+            this.millis = millis;
+        }
+
+        public long getGroups() {
+            return rows[0];
+        }
+
+        public long getTeachers() {
+            return rows[1];
+        }
+
+        public long getCourses() {
+            return rows[2];
+        }
+
+        public long getStudents() {
+            return rows[3];
+        }
+
+        public long getGrades() {
+            return rows[4];
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Loaded{groups=%d, teachers=%d, courses=%d, students=%d, grades=%d, %d ms}",
+                    getGroups(), getTeachers(), getCourses(), getStudents(), getGrades(), millis);
+        }
+    }
+}
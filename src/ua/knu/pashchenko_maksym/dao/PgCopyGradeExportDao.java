@@ -0,0 +1,104 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.postgresql.PGConnection;
+import ua.knu.pashchenko_maksym.dao.exception.DaoException;
+
+/**
+ * Реалізація {@link GradeExportDao} через PostgreSQL {@code COPY (SELECT ...) TO STDOUT}.
+ *
+ * <p>Байти CSV формує сервер і вони потоково пишуться у файл без створення
+ * {@link ua.knu.pashchenko_maksym.model.Grade}-об'єктів, тож використання пам'яті
+ * не залежить від розміру вибірки. Заголовок та порядок колонок збігаються з
+ * {@link ua.knu.pashchenko_maksym.util.CsvUtil#writeGradesToCsv}:
+ * {@code id;student_id;course_id;teacher_id;value;grade_date}.
+ *
+ * <p>{@code COPY} не підтримує параметри, тому id підставляються в текст запиту;
+ * це безпечно, оскільки вони мають тип {@code long}.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class PgCopyGradeExportDao implements GradeExportDao {
+
+    private static final String COLUMNS =
+            "g.id, g.student_id, g.course_id, g.teacher_id, g.value, g.grade_date";
+
+    private static final String COPY_TEMPLATE =
+            "COPY (%s) TO STDOUT WITH (FORMAT csv, DELIMITER ';', HEADER true, NULL '')";
+
+    private static final String BY_STUDENT_SQL =
+            "SELECT " + COLUMNS + " FROM grades g WHERE g.student_id = %d "
+                    + "ORDER BY g.grade_date DESC, g.id";
+
+    private static final String BY_TEACHER_SQL =
+            "SELECT " + COLUMNS + " FROM grades g WHERE g.teacher_id = %d "
+                    + "ORDER BY g.grade_date DESC, g.id";
+
+    private static final String BY_GROUP_COURSE_SQL =
+            "SELECT " + COLUMNS + " FROM grades g JOIN students s ON s.id = g.student_id "
+                    + "WHERE s.group_id = %d AND g.course_id = %d "
+                    + "ORDER BY s.last_name, s.first_name, s.id, g.grade_date DESC, g.id";
+
+    /**
+     * Експортує всі оцінки студента.
+     *
+     * @param studentId id студента
+     * @param file      цільовий файл (перезаписується)
+     * @return кількість експортованих рядків
+     * @throws IOException  у разі помилки запису файлу
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public long exportByStudent(Long studentId, Path file) throws IOException {
+        return copyOut(String.format(BY_STUDENT_SQL, studentId), file);
+    }
+
+    /**
+     * Експортує всі оцінки, виставлені викладачем.
+     *
+     * @param teacherId id викладача
+     * @param file      цільовий файл (перезаписується)
+     * @return кількість експортованих рядків
+     * @throws IOException  у разі помилки запису файлу
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public long exportByTeacher(Long teacherId, Path file) throws IOException {
+        return copyOut(String.format(BY_TEACHER_SQL, teacherId), file);
+    }
+
+    /**
+     * Експортує оцінки всіх студентів групи з курсу.
+     *
+     * @param groupId  id групи
+     * @param courseId id курсу
+     * @param file     цільовий файл (перезаписується)
+     * @return кількість експортованих рядків
+     * @throws IOException  у разі помилки запису файлу
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    @Override
+    public long exportByGroupAndCourse(Long groupId, Long courseId, Path file) throws IOException {
+        return copyOut(String.format(BY_GROUP_COURSE_SQL, groupId, courseId), file);
+    }
+
+    private long copyOut(String select, Path file) throws IOException {
+        String sql = String.format(COPY_TEMPLATE, select);
+        try (Connection connection = DataSourceProvider.getConnection();
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+
+        } catch (SQLException e) {
+            throw new DaoException("Error exporting grades to " + file, e);
+        }
+    }
+}
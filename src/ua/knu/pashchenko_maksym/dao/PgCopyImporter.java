@@ -0,0 +1,476 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import ua.knu.pashchenko_maksym.dao.exception.DaoException;
+
+/**
+ * Масовий імпорт оцінок та студентів із CSV-файлів через PostgreSQL {@code COPY FROM STDIN}.
+ *
+ * <p>Очікується формат, який створюють
+ * {@link ua.knu.pashchenko_maksym.util.CsvUtil#writeGradesToCsv} та
+ * {@link ua.knu.pashchenko_maksym.util.CsvUtil#writeStudentsToCsv}:
+ * роздільник {@code ;}, перший рядок — заголовок, порожнє поле — {@code NULL}.
+ *
+ * <p>Порядок роботи (одна транзакція на файл):
+ * <ol>
+ *     <li>файл потоково копіюється у тимчасову staging-таблицю з текстовими колонками,
+ *     тож некоректні значення не обривають {@code COPY};</li>
+ *     <li>SQL-запитом визначаються відхилені рядки: некоректні числа/дати,
+ *     відсутні студенти, курси, викладачі чи групи; окремим проходом — дублікати id
+ *     серед рядків, що пройшли решту перевірок (перший коректний рядок з id приймається).
+ *     Дати перевіряються не лише за форматом, а й справжнім приведенням типу
+ *     (тимчасові функції {@code pg_temp.import_is_date/import_is_timestamp}),
+ *     тож {@code 2024-02-30} відхиляється, а не обриває злиття;</li>
+ *     <li>решта рядків зливається в цільову таблицю: рядки з id оновлюють існуючі
+ *     записи або вставляються з цим id, рядки без id отримують новий id з послідовності.</li>
+ * </ol>
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class PgCopyImporter {
+
+    /**
+     * Максимальна кількість відхилених рядків, що зберігаються у звіті детально.
+     * Загальна кількість відхилених рядків рахується завжди.
+     */
+    private static final int MAX_REPORTED_REJECTS = 10_000;
+
+    private static final String ID_PATTERN = "'^[0-9]{1,18}$'";
+    private static final String SMALLINT_PATTERN = "'^[0-9]{1,4}$'";
+    private static final String VALUE_PATTERN = "'^[0-9]{1,3}([.][0-9]{1,2})?$'";
+    private static final String DATE_PATTERN =
+            "'^[0-9]{4}-(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])$'";
+    private static final String TIMESTAMP_PATTERN =
+            "'^[0-9]{4}-(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])T[0-2][0-9]:[0-5][0-9](:[0-5][0-9]([.][0-9]{1,9})?)?$'";
+
+    /**
+     * Перевірка приведенням типу, що не обриває запит: регулярний вираз пропускає
+     * неіснуючі дати на кшталт {@code 2024-02-30} чи {@code 29:99}.
+     * Функції тимчасові (схема {@code pg_temp}), тож не потребують змін схеми БД;
+     * на PostgreSQL 16+ їх можна замінити на {@code pg_input_is_valid}.
+     */
+    private static final String[] VALIDATION_FUNCTIONS_DDL = {
+            "CREATE OR REPLACE FUNCTION pg_temp.import_is_date(v text) RETURNS boolean AS $$ "
+                    + "BEGIN PERFORM v::date; RETURN true; "
+                    + "EXCEPTION WHEN data_exception THEN RETURN false; END $$ LANGUAGE plpgsql",
+            "CREATE OR REPLACE FUNCTION pg_temp.import_is_timestamp(v text) RETURNS boolean AS $$ "
+                    + "BEGIN PERFORM v::timestamp; RETURN true; "
+                    + "EXCEPTION WHEN data_exception THEN RETURN false; END $$ LANGUAGE plpgsql"
+    };
+
+    /**
+     * Другий прохід відбору: дублікати id ранжуються лише серед рядків, що пройшли
+     * решту перевірок, тож відхилений із іншої причини рядок не «займає» id
+     * і не відкидає наступний коректний рядок із тим самим id.
+     * {@code st.id::bigint} безпечне: WHERE виконується до віконної функції,
+     * а некоректні id вже відхилені першим проходом.
+     */
+    private static final String DUPLICATES_SQL_TEMPLATE =
+            "INSERT INTO import_rejects (line_no, reason) "
+                    + "SELECT line_no, 'duplicate id in file' FROM ("
+                    + "SELECT st.line_no, row_number() OVER "
+                    + "(PARTITION BY st.id::bigint ORDER BY st.line_no) AS rn "
+                    + "FROM %s st "
+                    + "WHERE st.id IS NOT NULL "
+                    + "AND NOT EXISTS (SELECT 1 FROM import_rejects r WHERE r.line_no = st.line_no)"
+                    + ") d WHERE rn > 1";
+
+    // =============================
+    // grades
+    // =============================
+
+    private static final String GRADES_STAGING_DDL =
+            "CREATE TEMP TABLE grades_staging ("
+                    + "line_no BIGSERIAL, id TEXT, student_id TEXT, course_id TEXT, "
+                    + "teacher_id TEXT, value TEXT, grade_date TEXT) ON COMMIT DROP";
+
+    private static final String GRADES_COPY_SQL =
+            "COPY grades_staging (id, student_id, course_id, teacher_id, value, grade_date) "
+                    + "FROM STDIN WITH (FORMAT csv, DELIMITER ';', HEADER true, NULL '')";
+
+    private static final String GRADES_REJECTS_SQL =
+            "INSERT INTO import_rejects (line_no, reason) "
+                    + "SELECT line_no, reason FROM ("
+                    + "SELECT st.line_no, CASE "
+                    + "WHEN st.id IS NOT NULL AND st.id !~ " + ID_PATTERN + " THEN 'invalid id' "
+                    + "WHEN st.student_id IS NULL OR st.student_id !~ " + ID_PATTERN
+                    + " THEN 'invalid student_id' "
+                    + "WHEN st.course_id IS NULL OR st.course_id !~ " + ID_PATTERN
+                    + " THEN 'invalid course_id' "
+                    + "WHEN st.teacher_id IS NOT NULL AND st.teacher_id !~ " + ID_PATTERN
+                    + " THEN 'invalid teacher_id' "
+                    + "WHEN st.value IS NULL OR st.value !~ " + VALUE_PATTERN
+                    + " THEN 'invalid value' "
+                    + "WHEN st.value::numeric > 100 THEN 'value out of range 0..100' "
+                    + "WHEN st.grade_date IS NOT NULL AND (st.grade_date !~ " + DATE_PATTERN
+                    + " OR NOT pg_temp.import_is_date(st.grade_date)) THEN 'invalid grade_date' "
+                    + "WHEN s.id IS NULL THEN 'student not found' "
+                    + "WHEN c.id IS NULL THEN 'course not found' "
+                    + "WHEN st.teacher_id IS NOT NULL AND t.id IS NULL THEN 'teacher not found' "
+                    + "END AS reason "
+                    + "FROM grades_staging st "
+                    + "LEFT JOIN students s ON s.id = CASE WHEN st.student_id ~ " + ID_PATTERN
+                    + " THEN st.student_id::bigint END "
+                    + "LEFT JOIN courses c ON c.id = CASE WHEN st.course_id ~ " + ID_PATTERN
+                    + " THEN st.course_id::bigint END "
+                    + "LEFT JOIN teachers t ON t.id = CASE WHEN st.teacher_id ~ " + ID_PATTERN
+                    + " THEN st.teacher_id::bigint END"
+                    + ") v WHERE reason IS NOT NULL";
+
+    private static final String GRADES_DUPLICATES_SQL =
+            String.format(DUPLICATES_SQL_TEMPLATE, "grades_staging");
+
+    private static final String GRADES_ACCEPTED =
+            "FROM grades_staging st "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM import_rejects r WHERE r.line_no = st.line_no) ";
+
+    private static final String GRADES_MERGE_WITH_ID_SQL =
+            "INSERT INTO grades (id, student_id, course_id, teacher_id, value, grade_date) "
+                    + "SELECT st.id::bigint, st.student_id::bigint, st.course_id::bigint, "
+                    + "st.teacher_id::bigint, st.value::numeric, "
+                    + "COALESCE(st.grade_date::date, CURRENT_DATE) "
+                    + GRADES_ACCEPTED + "AND st.id IS NOT NULL "
+                    + "ON CONFLICT (id) DO UPDATE SET student_id = EXCLUDED.student_id, "
+                    + "course_id = EXCLUDED.course_id, teacher_id = EXCLUDED.teacher_id, "
+                    + "value = EXCLUDED.value, grade_date = EXCLUDED.grade_date";
+
+    private static final String GRADES_MERGE_NEW_SQL =
+            "INSERT INTO grades (student_id, course_id, teacher_id, value, grade_date) "
+                    + "SELECT st.student_id::bigint, st.course_id::bigint, "
+                    + "st.teacher_id::bigint, st.value::numeric, "
+                    + "COALESCE(st.grade_date::date, CURRENT_DATE) "
+                    + GRADES_ACCEPTED + "AND st.id IS NULL ORDER BY st.line_no";
+
+    // =============================
+    // students
+    // =============================
+
+    private static final String STUDENTS_STAGING_DDL =
+            "CREATE TEMP TABLE students_staging ("
+                    + "line_no BIGSERIAL, id TEXT, first_name TEXT, last_name TEXT, email TEXT, "
+                    + "group_id TEXT, enrollment_year TEXT, created_at TEXT) ON COMMIT DROP";
+
+    private static final String STUDENTS_COPY_SQL =
+            "COPY students_staging (id, first_name, last_name, email, group_id, "
+                    + "enrollment_year, created_at) "
+                    + "FROM STDIN WITH (FORMAT csv, DELIMITER ';', HEADER true, NULL '')";
+
+    private static final String STUDENTS_REJECTS_SQL =
+            "INSERT INTO import_rejects (line_no, reason) "
+                    + "SELECT line_no, reason FROM ("
+                    + "SELECT st.line_no, CASE "
+                    + "WHEN st.id IS NOT NULL AND st.id !~ " + ID_PATTERN + " THEN 'invalid id' "
+                    + "WHEN st.first_name IS NULL OR length(st.first_name) > 100 "
+                    + "THEN 'invalid first_name' "
+                    + "WHEN st.last_name IS NULL OR length(st.last_name) > 100 "
+                    + "THEN 'invalid last_name' "
+                    + "WHEN length(st.email) > 150 THEN 'invalid email' "
+                    + "WHEN st.group_id IS NOT NULL AND st.group_id !~ " + ID_PATTERN
+                    + " THEN 'invalid group_id' "
+                    + "WHEN st.enrollment_year IS NOT NULL AND st.enrollment_year !~ "
+                    + SMALLINT_PATTERN + " THEN 'invalid enrollment_year' "
+                    + "WHEN st.created_at IS NOT NULL AND (st.created_at !~ " + TIMESTAMP_PATTERN
+                    + " OR NOT pg_temp.import_is_timestamp(st.created_at)) THEN 'invalid created_at' "
+                    + "WHEN st.group_id IS NOT NULL AND g.id IS NULL THEN 'group not found' "
+                    + "END AS reason "
+                    + "FROM students_staging st "
+                    + "LEFT JOIN groups g ON g.id = CASE WHEN st.group_id ~ " + ID_PATTERN
+                    + " THEN st.group_id::bigint END"
+                    + ") v WHERE reason IS NOT NULL";
+
+    private static final String STUDENTS_DUPLICATES_SQL =
+            String.format(DUPLICATES_SQL_TEMPLATE, "students_staging");
+
+    private static final String STUDENTS_ACCEPTED =
+            "FROM students_staging st "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM import_rejects r WHERE r.line_no = st.line_no) ";
+
+    private static final String STUDENTS_MERGE_WITH_ID_SQL =
+            "INSERT INTO students (id, first_name, last_name, email, group_id, "
+                    + "enrollment_year, created_at) "
+                    + "SELECT st.id::bigint, st.first_name, st.last_name, st.email, "
+                    + "st.group_id::bigint, st.enrollment_year::smallint, "
+                    + "COALESCE(st.created_at::timestamp, CURRENT_TIMESTAMP) "
+                    + STUDENTS_ACCEPTED + "AND st.id IS NOT NULL "
+                    + "ON CONFLICT (id) DO UPDATE SET first_name = EXCLUDED.first_name, "
+                    + "last_name = EXCLUDED.last_name, email = EXCLUDED.email, "
+                    + "group_id = EXCLUDED.group_id, enrollment_year = EXCLUDED.enrollment_year";
+
+    private static final String STUDENTS_MERGE_NEW_SQL =
+            "INSERT INTO students (first_name, last_name, email, group_id, "
+                    + "enrollment_year, created_at) "
+                    + "SELECT st.first_name, st.last_name, st.email, "
+                    + "st.group_id::bigint, st.enrollment_year::smallint, "
+                    + "COALESCE(st.created_at::timestamp, CURRENT_TIMESTAMP) "
+                    + STUDENTS_ACCEPTED + "AND st.id IS NULL ORDER BY st.line_no";
+
+    // =============================
+    // shared
+    // =============================
+
+    private static final String REJECTS_DDL =
+            "CREATE TEMP TABLE import_rejects (line_no BIGINT PRIMARY KEY, reason TEXT NOT NULL) "
+                    + "ON COMMIT DROP";
+
+    private static final String SELECT_REJECTS_SQL =
+            "SELECT r.line_no, r.reason, concat_ws(';', %s) AS raw "
+                    + "FROM import_rejects r JOIN %s st ON st.line_no = r.line_no "
+                    + "ORDER BY r.line_no LIMIT " + MAX_REPORTED_REJECTS;
+
+    private static final String COUNT_REJECTS_SQL =
+            "SELECT COUNT(*) FROM import_rejects";
+
+    /**
+     * Усередині {@link TransactionScope} фіксація імпорту — лише звільнення точки збереження,
+     * тож таблиці {@code ON COMMIT DROP} попереднього імпорту ще існують до фіксації області.
+     * {@code pg_temp} гарантує, що видаляються лише тимчасові таблиці сесії.
+     */
+    private static final String DROP_TEMP_TABLES_SQL =
+            "DROP TABLE IF EXISTS pg_temp.%s_staging, pg_temp.import_rejects";
+
+    /**
+     * Послідовність лише просувається вперед: інші сесії могли вже отримати id, більші
+     * за зафіксований {@code MAX(id)}. Для порожньої таблиці наступний id — 1,
+     * як у {@link PgCopyDatasetLoader}.
+     */
+    private static final String SYNC_SEQUENCE_SQL =
+            "SELECT setval(seq, GREATEST(COALESCE((SELECT MAX(id) FROM %1$s), 0), "
+                    + "COALESCE(pg_sequence_last_value(seq), 0)) + 1, false) "
+                    + "FROM (SELECT pg_get_serial_sequence('%1$s', 'id')::regclass AS seq) s";
+
+    /**
+     * Імпортує оцінки з CSV-файлу у форматі {@code id;student_id;course_id;teacher_id;value;grade_date}.
+     *
+     * @param file шлях до CSV-файлу
+     * @return звіт про імпорт із переліком відхилених рядків
+     * @throws IOException  у разі помилки читання файлу
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    public ImportReport importGrades(Path file) throws IOException {
+        return runImport(file, "grades",
+                GRADES_STAGING_DDL, GRADES_COPY_SQL,
+                GRADES_REJECTS_SQL, GRADES_DUPLICATES_SQL,
+                GRADES_MERGE_WITH_ID_SQL, GRADES_MERGE_NEW_SQL,
+                String.format(SELECT_REJECTS_SQL,
+                        "st.id, st.student_id, st.course_id, st.teacher_id, st.value, st.grade_date",
+                        "grades_staging"));
+    }
+
+    /**
+     * Імпортує студентів із CSV-файлу у форматі
+     * {@code id;first_name;last_name;email;group_id;enrollment_year;created_at}.
+     *
+     * @param file шлях до CSV-файлу
+     * @return звіт про імпорт із переліком відхилених рядків
+     * @throws IOException  у разі помилки читання файлу
+     * @throws DaoException у разі помилки доступу до БД
+     */
+    public ImportReport importStudents(Path file) throws IOException {
+        return runImport(file, "students",
+                STUDENTS_STAGING_DDL, STUDENTS_COPY_SQL,
+                STUDENTS_REJECTS_SQL, STUDENTS_DUPLICATES_SQL,
+                STUDENTS_MERGE_WITH_ID_SQL, STUDENTS_MERGE_NEW_SQL,
+                String.format(SELECT_REJECTS_SQL,
+                        "st.id, st.first_name, st.last_name, st.email, st.group_id, "
+                                + "st.enrollment_year, st.created_at",
+                        "students_staging"));
+    }
+
+    /**
+     * Спільний сценарій імпорту: staging → відбір відхилених рядків → злиття.
+     */
+    private ImportReport runImport(Path file,
+                                   String table,
+                                   String stagingDdl,
+                                   String copySql,
+                                   String rejectsSql,
+                                   String duplicatesSql,
+                                   String mergeWithIdSql,
+                                   String mergeNewSql,
+                                   String selectRejectsSql) throws IOException {
+        try (Connection connection = DataSourceProvider.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (Statement st = connection.createStatement()) {
+                    st.execute(String.format(DROP_TEMP_TABLES_SQL, table));
+                    st.execute(stagingDdl);
+                    st.execute(REJECTS_DDL);
+                    for (String ddl : VALIDATION_FUNCTIONS_DDL) {
+                        st.execute(ddl);
+                    }
+                }
+
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                long read;
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    read = copyManager.copyIn(copySql, reader);
+                }
+
+                long rejected;
+                long imported;
+                try (Statement st = connection.createStatement()) {
+                    st.executeUpdate(rejectsSql);
+                    st.executeUpdate(duplicatesSql);
+                    try (ResultSet rs = st.executeQuery(COUNT_REJECTS_SQL)) {
+                        rs.next();
+                        rejected = rs.getLong(1);
+                    }
+                    imported = st.executeUpdate(mergeWithIdSql);
+                    imported += st.executeUpdate(mergeNewSql);
+                    st.execute(String.format(SYNC_SEQUENCE_SQL, table));
+                }
+
+                List<Rejection> rejections = loadRejections(connection, selectRejectsSql);
+
+                connection.commit();
+                return new ImportReport(table, read, imported, rejected, rejections);
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException e) {
+            throw new DaoException("Error importing " + table + " from " + file, e);
+        }
+    }
+
+    private List<Rejection> loadRejections(Connection connection, String sql) throws SQLException {
+        List<Rejection> result = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                // line_no — номер запису COPY; +1, бо перший запис файлу — заголовок
+                result.add(new Rejection(rs.getLong("line_no") + 1,
+                        rs.getString("reason"),
+                        rs.getString("raw")));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Відхилений запис CSV-файлу.
+     */
+    public static final class Rejection {
+
+        private final long recordNumber;
+        private final String reason;
+        private final String row;
+
+        private Rejection(long recordNumber, String reason, String row) {
+            this.recordNumber = recordNumber;
+            this.reason = reason;
+            this.row = row;
+        }
+
+        /**
+         * Номер CSV-запису, а не фізичного рядка: поле в лапках може містити переноси
+         * рядків, і тоді запис займає кілька рядків файлу. Без таких полів номери збігаються.
+         *
+         * @return номер запису у файлі (починаючи з 1, включно із заголовком)
+         */
+        public long getRecordNumber() {
+            return recordNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public String getRow() {
+            return row;
+        }
+
+        @Override
+        public String toString() {
+            return "record " + recordNumber + ": " + reason + " [" + row + "]";
+        }
+    }
+
+    /**
+     * Результат імпорту одного файлу.
+     */
+    public static final class ImportReport {
+
+        private final String table;
+        private final long read;
+        private final long imported;
+        private final long rejected;
+        private final List<Rejection> rejections;
+
+        private ImportReport(String table, long read, long imported, long rejected,
+                             List<Rejection> rejections) {
+            this.table = table;
+            this.read = read;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.rejections = Collections.unmodifiableList(rejections);
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public long getRead() {
+            return read;
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * @return перші {@value PgCopyImporter#MAX_REPORTED_REJECTS} відхилених рядків
+         */
+        public List<Rejection> getRejections() {
+            return rejections;
+        }
+
+        /**
+         * Записує відхилені рядки у файл у форматі {@code record;reason;row}.
+         *
+         * @param file файл звіту
+         * @throws IOException у разі помилки запису
+         */
+        public void writeRejectionsTo(Path file) throws IOException {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("record;reason;row");
+                writer.newLine();
+                for (Rejection r : rejections) {
+                    writer.write(r.getRecordNumber() + ";" + r.getReason() + ";" + r.getRow());
+                    writer.newLine();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ImportReport{" + table + ": read=" + read + ", imported=" + imported
+                    + ", rejected=" + rejected + '}';
+        }
+    }
+}
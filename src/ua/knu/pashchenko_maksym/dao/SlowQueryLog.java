@@ -0,0 +1,470 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Журнал повільних SQL-запитів на рівні JDBC.
+ *
+ * <p>{@link ConnectionPool} обгортає кожен {@link PreparedStatement} проксі, яке запам'ятовує
+ * параметри ({@code setXxx}) і вимірює час запиту: виконання {@code execute*} плюс час
+ * усіх викликів {@link ResultSet#next()} (тобто отримання рядків з сервера, без часу
+ * обробки рядків у коді DAO). Якщо час перевищує поріг, у файл {@link #LOG_FILE}
+ * записується SQL, параметри, кількість рядків та час.
+ *
+ * <p>За бажання для запиту зберігається план в окремий файл. Лише запити на читання
+ * повторно виконуються як {@code EXPLAIN (ANALYZE, BUFFERS)}; для {@code INSERT/UPDATE/DELETE},
+ * {@code SELECT ... FOR UPDATE} та {@code WITH} зі змінами — лише {@code EXPLAIN} без виконання:
+ * повторний запис в окремому з'єднанні чекав би на блокування транзакції застосунку
+ * (яка може бути ще відкрита), міг би спричинити з нею взаємоблокування та зсував би
+ * послідовності. Транзакція {@code EXPLAIN} обмежена {@code lock_timeout}
+ * і {@code statement_timeout} та завжди відкочується.
+ *
+ * <p>Запис у файли та {@code EXPLAIN} виконуються у фоновому потоці через окреме
+ * з'єднання {@link DriverManager}, тож не затримують викликача і не займають
+ * з'єднання пулу. Якщо черга фонових задач переповнена, запис відкидається
+ * (див. {@link #getDropped()}).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class SlowQueryLog implements AutoCloseable {
+
+    /**
+     * Ім'я файлу журналу в каталозі {@code outputDir}.
+     */
+    public static final String LOG_FILE = "slow_queries.log";
+
+    private static final int QUEUE_CAPACITY = 1_000;
+
+    private static final String NULL_PARAM = "NULL";
+
+    private static final String LOCK_TIMEOUT_SQL = "SET LOCAL lock_timeout = '1s'";
+    private static final String STATEMENT_TIMEOUT_SQL = "SET LOCAL statement_timeout = '30s'";
+
+    /**
+     * Ключові слова змін даних і блокувань рядків ({@code FOR UPDATE/SHARE}), з якими запит
+     * не можна безпечно виконувати повторно. Хибний збіг (наприклад, у рядковому літералі)
+     * лише замінює {@code ANALYZE} на звичайний {@code EXPLAIN}.
+     */
+    private static final Pattern WRITE_KEYWORDS =
+            Pattern.compile("\\b(INSERT|UPDATE|DELETE|MERGE|SHARE)\\b");
+
+    private final long thresholdNanos;
+    private final boolean explain;
+    private final Path outputDir;
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final ThreadPoolExecutor writer;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param thresholdMillis поріг, починаючи з якого запит вважається повільним (&gt;= 0)
+     * @param explain         чи зберігати план ({@code EXPLAIN (ANALYZE, BUFFERS)} для читання,
+     *                        {@code EXPLAIN} для змін)
+     * @param outputDir       каталог для журналу та планів
+     * @param url             JDBC URL для з'єднання, через яке виконується {@code EXPLAIN}
+     * @param user            користувач БД
+     * @param password        пароль користувача
+     * @throws IllegalArgumentException якщо поріг від'ємний
+     */
+    public SlowQueryLog(long thresholdMillis,
+                        boolean explain,
+                        Path outputDir,
+                        String url,
+                        String user,
+                        String password) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("thresholdMillis must not be negative");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.explain = explain;
+        this.outputDir = outputDir;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "gradebook-slow-query-log");
+                    t.setDaemon(true);
+                    return t;
+                },
+                (task, executor) -> dropped.increment());
+    }
+
+    /**
+     * @return кількість записаних повільних запитів
+     */
+    public long getLogged() {
+        return logged.sum();
+    }
+
+    /**
+     * @return кількість повільних запитів, відкинутих через переповнену чергу
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return шлях до файлу журналу
+     */
+    public Path getLogFile() {
+        return outputDir.resolve(LOG_FILE);
+    }
+
+    /**
+     * Дописує чергу фонових задач (не довше кількох секунд) і зупиняє потік.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Обгортає {@link PreparedStatement} проксі, що вимірює його виконання.
+     */
+    PreparedStatement wrap(PreparedStatement statement, String sql) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new StatementHandler(statement, sql));
+    }
+
+    private void submit(Execution execution) {
+        if (execution.elapsedNanos < thresholdNanos) {
+            return;
+        }
+        writer.execute(() -> write(execution));
+    }
+
+    private void write(Execution execution) {
+        try {
+            Files.createDirectories(outputDir);
+            String planFile = null;
+            if (explain && execution.batches == 0 && isExplainable(execution.sql)) {
+                planFile = String.format("plan_%06d.txt", sequence.incrementAndGet());
+                writePlan(execution, outputDir.resolve(planFile));
+            }
+
+            String line = String.format("%s | %.1f ms | rows=%d%s | %s | params=%s%s%n",
+                    LocalDateTime.now(),
+                    execution.elapsedNanos / 1_000_000.0,
+                    execution.rows,
+                    execution.batches > 0 ? " | batches=" + execution.batches : "",
+                    oneLine(execution.sql),
+                    formatParams(execution.params),
+                    planFile == null ? "" : " | plan=" + planFile);
+            try (BufferedWriter out = Files.newBufferedWriter(getLogFile(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(line);
+            }
+            logged.increment();
+        } catch (IOException e) {
+            dropped.increment();
+        }
+    }
+
+    private void writePlan(Execution execution, Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("-- " + oneLine(execution.sql));
+        lines.add("-- params: " + formatParams(execution.params));
+        lines.add(String.format("-- original: %.1f ms, rows=%d",
+                execution.elapsedNanos / 1_000_000.0, execution.rows));
+        lines.add("");
+        String explainSql = (isReadOnly(execution.sql) ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ")
+                + execution.sql;
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (Statement st = connection.createStatement()) {
+                st.execute(LOCK_TIMEOUT_SQL);
+                st.execute(STATEMENT_TIMEOUT_SQL);
+            }
+            try (PreparedStatement ps = connection.prepareStatement(explainSql)) {
+                for (Map.Entry<Integer, Object> param : execution.params.entrySet()) {
+                    Object value = param.getValue();
+                    if (value instanceof SqlNull) {
+                        ps.setNull(param.getKey(), ((SqlNull) value).sqlType);
+                    } else {
+                        ps.setObject(param.getKey(), value);
+                    }
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            lines.add("EXPLAIN failed: " + e.getMessage());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toUpperCase();
+        return head.startsWith("SELECT") || head.startsWith("WITH")
+                || head.startsWith("INSERT") || head.startsWith("UPDATE") || head.startsWith("DELETE");
+    }
+
+    /**
+     * @return {@code true}, якщо запит лише читає дані без блокування рядків
+     *         і його можна виконати повторно через {@code EXPLAIN ANALYZE}
+     */
+    static boolean isReadOnly(String sql) {
+        String upper = sql.toUpperCase();
+        String head = upper.stripLeading();
+        return (head.startsWith("SELECT") || head.startsWith("WITH"))
+                && !WRITE_KEYWORDS.matcher(upper).find();
+    }
+
+    private static String oneLine(String sql) {
+        return sql.replaceAll("\\s+", " ").trim();
+    }
+
+    private static String formatParams(Map<Integer, Object> params) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Object value : params.values()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            if (value instanceof SqlNull) {
+                sb.append(NULL_PARAM);
+            } else if (value instanceof CharSequence) {
+                sb.append('\'').append(value).append('\'');
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Знімок одного виконання запиту.
+     */
+    private static final class Execution {
+
+        private final String sql;
+        private final Map<Integer, Object> params;
+        private final long elapsedNanos;
+        private final long rows;
+        private final int batches;
+
+        private Execution(String sql, Map<Integer, Object> params, long elapsedNanos, long rows, int batches) {
+            this.sql = sql;
+            this.params = params;
+            this.elapsedNanos = elapsedNanos;
+            this.rows = rows;
+            this.batches = batches;
+        }
+    }
+
+    /**
+     * Параметр, встановлений через {@code setNull}.
+     */
+    private static final class SqlNull {
+
+        private final int sqlType;
+
+        private SqlNull(int sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+
+    /**
+     * Перехоплює встановлення параметрів і виконання запиту.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final PreparedStatement statement;
+        private final String sql;
+        private final Map<Integer, Object> params = new TreeMap<>();
+        private int batches;
+
+        private StatementHandler(PreparedStatement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                params.put((Integer) args[0], "setNull".equals(name)
+                        ? new SqlNull((Integer) args[1])
+                        : args[1] == null ? new SqlNull(Types.NULL) : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                params.clear();
+            } else if ("addBatch".equals(name) && (args == null || args.length == 0)) {
+                batches++;
+            }
+
+            switch (name) {
+                case "executeQuery":
+                    if (args == null || args.length == 0) {
+                        long start = System.nanoTime();
+                        ResultSet rs = (ResultSet) call(method, args);
+                        return wrapResultSet(rs, System.nanoTime() - start);
+                    }
+                    break;
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "execute":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    if (args == null || args.length == 0) {
+                        long start = System.nanoTime();
+                        Object result = call(method, args);
+                        long elapsed = System.nanoTime() - start;
+                        submit(new Execution(sql, new TreeMap<>(params), elapsed, updatedRows(result), batches));
+                        if (name.endsWith("Batch")) {
+                            batches = 0;
+                        }
+                        return result;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Logged[" + statement + "]";
+                default:
+                    break;
+            }
+            return call(method, args);
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private long updatedRows(Object result) throws SQLException {
+            if (result instanceof Integer) {
+                return (Integer) result;
+            }
+            if (result instanceof Long) {
+                return (Long) result;
+            }
+            if (result instanceof int[]) {
+                long sum = 0;
+                for (int count : (int[]) result) {
+                    sum += Math.max(0, count);
+                }
+                return sum;
+            }
+            if (result instanceof long[]) {
+                long sum = 0;
+                for (long count : (long[]) result) {
+                    sum += Math.max(0, count);
+                }
+                return sum;
+            }
+            // execute(): true — є результат, кількість рядків невідома
+            return Boolean.FALSE.equals(result) ? Math.max(0, statement.getUpdateCount()) : 0;
+        }
+
+        private ResultSet wrapResultSet(ResultSet rs, long executeNanos) {
+            return (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler(rs, new Execution(sql, new TreeMap<>(params), executeNanos, 0, 0)));
+        }
+    }
+
+    /**
+     * Рахує рядки та час {@code next()}; результат фіксується при першому закритті.
+     */
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final Execution started;
+        private long fetchNanos;
+        private long rows;
+        private boolean reported;
+
+        private ResultSetHandler(ResultSet resultSet, Execution started) {
+            this.resultSet = resultSet;
+            this.started = started;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    long start = System.nanoTime();
+                    Object result = call(method, args);
+                    fetchNanos += System.nanoTime() - start;
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                    return result;
+                }
+                case "close":
+                    if (!reported) {
+                        reported = true;
+                        submit(new Execution(started.sql, started.params,
+                                started.elapsedNanos + fetchNanos, rows, 0));
+                    }
+                    return call(method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return call(method, args);
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
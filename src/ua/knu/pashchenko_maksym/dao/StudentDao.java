@@ -1,6 +1,8 @@
 package ua.knu.pashchenko_maksym.dao;
 
 import java.util.List;
+import java.util.stream.Stream;
+
 import ua.knu.pashchenko_maksym.model.Student;
 
 public interface StudentDao {
@@ -9,6 +11,8 @@ public interface StudentDao {
 
     List<Student> findAll();
 
+    Page<Student> findPage(Student after, int pageSize);
+
     Student insert(Student student);
 
     boolean update(Student student);
@@ -18,5 +22,9 @@ public interface StudentDao {
     List<Student> findByGroupId(Long groupId);
 
     List<Student> findByCourseId(Long courseId);
+
+    Stream<Student> streamAll();
+
+    Stream<Student> streamByCourseId(Long courseId);
 }
 
@@ -9,6 +9,8 @@ public interface TeacherDao {
 
     List<Teacher> findAll();
 
+    Page<Teacher> findPage(Teacher after, int pageSize);
+
     List<Teacher> findByLastName(String lastName);
 
     Teacher insert(Teacher teacher);
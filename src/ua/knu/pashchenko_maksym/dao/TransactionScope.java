@@ -0,0 +1,383 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import ua.knu.pashchenko_maksym.dao.exception.DaoException;
+
+/**
+ * Транзакція, прив'язана до поточного потоку.
+ *
+ * <p>Поки область відкрита, {@link DataSourceProvider#getConnection()} у цьому потоці
+ * повертає не нове з'єднання з пулу, а "вкладене" представлення одного з'єднання області.
+ * Тому всі виклики DAO між {@link #begin()} і {@link #close()} виконуються в одній
+ * транзакції без змін у коді DAO:
+ * <ul>
+ *     <li>{@code close()} представлення не повертає з'єднання в пул;</li>
+ *     <li>власні транзакції DAO ({@code setAutoCommit(false)} → {@code commit()/rollback()},
+ *     як у {@link JdbcStreams} чи {@code insertAll}) стають точками збереження:
+ *     {@code commit()} звільняє точку, {@code rollback()} відкочує лише зміни DAO;</li>
+ *     <li>фіксацію всієї транзакції виконує лише власник області через {@link #commit()}.</li>
+ * </ul>
+ *
+ * <p>Потоки, отримані з DAO в межах області, треба закрити до {@link #close()}.
+ *
+ * <pre>
+ * try (TransactionScope tx = TransactionScope.begin()) {
+ *     ...виклики DAO...
+ *     tx.commit();
+ * }
+ * </pre>
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class TransactionScope implements AutoCloseable {
+
+    private static final ThreadLocal<TransactionScope> CURRENT = new ThreadLocal<>();
+
+    private static final String READ_ONLY_SNAPSHOT_SQL =
+            "SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY";
+
+    private final Connection connection;
+    private final Thread owner;
+    private boolean closed;
+
+    /**
+     * Чи виконується зараз транзакція-знімок ({@code REPEATABLE READ, READ ONLY}).
+     */
+    private boolean snapshot;
+
+    /**
+     * Дії після завершення поточної транзакції (за ключем, без повторів).
+     */
+    private final Map<Object, Runnable> completionActions = new IdentityHashMap<>();
+
+    private TransactionScope(Connection connection, boolean snapshot) {
+        this.connection = connection;
+        this.owner = Thread.currentThread();
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Відкриває транзакцію й прив'язує її з'єднання до поточного потоку.
+     *
+     * @return відкрита область
+     * @throws IllegalStateException якщо в потоці вже є відкрита транзакція
+     * @throws DaoException          якщо не вдалося отримати з'єднання
+     */
+    public static TransactionScope begin() {
+        return begin(false);
+    }
+
+    /**
+     * Відкриває транзакцію; {@code readOnly} — перша транзакція області виконується як
+     * {@code REPEATABLE READ, READ ONLY}, тобто всі запити бачать один знімок даних.
+     * Після {@link #commit()}/{@link #rollback()} наступні транзакції області звичайні.
+     *
+     * @throws IllegalStateException якщо в потоці вже є відкрита транзакція
+     * @throws DaoException          якщо не вдалося отримати з'єднання
+     */
+    public static TransactionScope begin(boolean readOnly) {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("A transaction is already bound to thread "
+                    + Thread.currentThread().getName());
+        }
+        Connection connection = null;
+        try {
+            connection = DataSourceProvider.getPooledConnection();
+            connection.setAutoCommit(false);
+            if (readOnly) {
+                // діє лише на поточну транзакцію, тож з'єднання повертається в пул без змін
+                try (Statement st = connection.createStatement()) {
+                    st.execute(READ_ONLY_SNAPSHOT_SQL);
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new DaoException("Error starting transaction", e);
+        }
+        TransactionScope scope = new TransactionScope(connection, readOnly);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return відкрита область поточного потоку або {@code null}
+     */
+    public static TransactionScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Фіксує поточну транзакцію; область залишається відкритою для наступної.
+     *
+     * @throws DaoException у разі помилки БД
+     */
+    public void commit() {
+        checkOpen();
+        snapshot = false;
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            throw new DaoException("Error committing transaction", e);
+        } finally {
+            runCompletionActions();
+        }
+    }
+
+    /**
+     * Відкочує поточну транзакцію; область залишається відкритою для наступної.
+     *
+     * @throws DaoException у разі помилки БД
+     */
+    public void rollback() {
+        checkOpen();
+        snapshot = false;
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            throw new DaoException("Error rolling back transaction", e);
+        } finally {
+            runCompletionActions();
+        }
+    }
+
+    /**
+     * @return {@code true}, якщо поточна транзакція — знімок, відкритий через
+     *         {@link #begin(boolean) begin(true)}: вона бачить дані на момент свого початку,
+     *         тож прочитане в ній може бути вже застарілим для інших потоків
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Реєструє дію, що виконається один раз після фіксації або відкату поточної транзакції
+     * (наприклад, скидання кешу, в який могли потрапити незафіксовані дані).
+     * Повторна реєстрація з тим самим ключем ігнорується.
+     *
+     * @param key    ключ дії (порівнюється за посиланням)
+     * @param action дія
+     */
+    public void afterCompletion(Object key, Runnable action) {
+        checkOpen();
+        completionActions.putIfAbsent(key, action);
+    }
+
+    /**
+     * @return {@code true}, якщо для ключа вже зареєстровано дію в поточній транзакції
+     */
+    public boolean hasCompletionAction(Object key) {
+        return completionActions.containsKey(key);
+    }
+
+    /**
+     * Створює точку збереження, щоб помилка однієї операції не скасовувала всю транзакцію.
+     *
+     * @return точка збереження
+     * @throws DaoException у разі помилки БД
+     */
+    public Savepoint savepoint() {
+        checkOpen();
+        try {
+            return connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new DaoException("Error creating savepoint", e);
+        }
+    }
+
+    /**
+     * Звільняє точку збереження, зберігаючи зроблені після неї зміни.
+     *
+     * @throws DaoException у разі помилки БД
+     */
+    public void release(Savepoint savepoint) {
+        checkOpen();
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new DaoException("Error releasing savepoint", e);
+        }
+    }
+
+    /**
+     * Відкочує зміни, зроблені після точки збереження, і звільняє її.
+     *
+     * @throws DaoException у разі помилки БД
+     */
+    public void rollbackTo(Savepoint savepoint) {
+        checkOpen();
+        try {
+            connection.rollback(savepoint);
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new DaoException("Error rolling back to savepoint", e);
+        }
+    }
+
+    /**
+     * Відкочує незафіксовані зміни, відв'язує область від потоку
+     * та повертає з'єднання в пул.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {
+            // пул усе одно відкотить транзакцію при поверненні з'єднання
+        }
+        closeQuietly(connection);
+        runCompletionActions();
+    }
+
+    /**
+     * Повертає вкладене представлення з'єднання області для одного виклику DAO.
+     */
+    Connection nestedConnection() {
+        checkOpen();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new NestedHandler());
+    }
+
+    private void runCompletionActions() {
+        if (completionActions.isEmpty()) {
+            return;
+        }
+        Runnable[] actions = completionActions.values().toArray(new Runnable[0]);
+        completionActions.clear();
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Transaction scope is closed");
+        }
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Transaction scope is bound to thread " + owner.getName());
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // з'єднання буде відкинуто пулом
+        }
+    }
+
+    /**
+     * Представлення з'єднання для DAO: {@code close()} лише позначає його закритим,
+     * а власна транзакція DAO відображається на точку збереження.
+     */
+    private final class NestedHandler implements InvocationHandler {
+
+        private boolean autoCommit = true;
+        private Savepoint savepoint;
+        private boolean released;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        if (savepoint != null) {
+                            // DAO не завершив свою транзакцію — як і пул, відкочуємо її
+                            rollbackNested();
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return released || closed;
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setAutoCommit":
+                    checkUsable();
+                    boolean enable = (Boolean) args[0];
+                    if (!enable && autoCommit) {
+                        savepoint = connection.setSavepoint();
+                    } else if (enable && !autoCommit) {
+                        releaseNested();
+                    }
+                    autoCommit = enable;
+                    return null;
+                case "commit":
+                    checkUsable();
+                    if (autoCommit) {
+                        throw new SQLException("Cannot commit when autoCommit is enabled");
+                    }
+                    releaseNested();
+                    return null;
+                case "rollback":
+                    checkUsable();
+                    if (args == null || args.length == 0) {
+                        if (autoCommit) {
+                            throw new SQLException("Cannot rollback when autoCommit is enabled");
+                        }
+                        rollbackNested();
+                        return null;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Nested[" + connection + "]";
+                default:
+                    break;
+            }
+
+            checkUsable();
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void checkUsable() throws SQLException {
+            if (released || closed) {
+                throw new SQLException("Connection has already been closed");
+            }
+        }
+
+        private void releaseNested() throws SQLException {
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+                savepoint = null;
+            }
+        }
+
+        private void rollbackNested() throws SQLException {
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+                connection.releaseSavepoint(savepoint);
+                savepoint = null;
+            }
+        }
+    }
+}
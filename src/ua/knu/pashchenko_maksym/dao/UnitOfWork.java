@@ -0,0 +1,62 @@
+package ua.knu.pashchenko_maksym.dao;
+
+import java.util.function.Supplier;
+
+/**
+ * Одиниця роботи: виконує кілька викликів DAO в одній транзакції на одному з'єднанні.
+ *
+ * <p>Якщо в потоці вже відкрита {@link TransactionScope} (наприклад, транзакція
+ * сценарію), робота просто приєднується до неї, а фіксацію виконує власник області.
+ * Інакше відкривається нова область: фіксація при успіху, відкат при винятку.
+ *
+ * <p>Потоки ({@link java.util.stream.Stream}) з DAO треба закривати всередині роботи —
+ * після її завершення з'єднання повертається в пул.
+ *
+ * <pre>
+ * Group group = UnitOfWork.inTransaction(() -> {
+ *     Group existing = groupDao.findByName(name);
+ *     return existing != null ? existing : groupDao.insert(newGroup);
+ * });
+ * </pre>
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class UnitOfWork {
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Виконує роботу в транзакції читання/запису.
+     *
+     * @param work виклики DAO
+     * @return результат роботи
+     * @throws RuntimeException виняток роботи (транзакцію відкочено)
+     */
+    public static <T> T inTransaction(Supplier<T> work) {
+        return execute(false, work);
+    }
+
+    /**
+     * Виконує роботу в транзакції лише на читання з одним знімком даних
+     * ({@code REPEATABLE READ}): усі запити бачать узгоджений стан БД.
+     *
+     * @param work виклики DAO
+     * @return результат роботи
+     */
+    public static <T> T readOnly(Supplier<T> work) {
+        return execute(true, work);
+    }
+
+    private static <T> T execute(boolean readOnly, Supplier<T> work) {
+        if (TransactionScope.current() != null) {
+            return work.get();
+        }
+        try (TransactionScope tx = TransactionScope.begin(readOnly)) {
+            T result = work.get();
+            tx.commit();
+            return result;
+        }
+    }
+}
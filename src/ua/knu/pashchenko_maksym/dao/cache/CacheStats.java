@@ -0,0 +1,69 @@
+package ua.knu.pashchenko_maksym.dao.cache;
+
+/**
+ * Незмінний знімок статистики {@link LruCache}.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class CacheStats {
+
+    private final String name;
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+
+    CacheStats(String name, int size, int maxSize,
+               long hits, long misses, long evictions, long invalidations) {
+        this.name = name;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{%s: size=%d/%d, hits=%d, misses=%d, hitRatio=%.2f, "
+                        + "evictions=%d, invalidations=%d}",
+                name, size, maxSize, hits, misses, getHitRatio(), evictions, invalidations);
+    }
+}
@@ -0,0 +1,138 @@
+package ua.knu.pashchenko_maksym.dao.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import ua.knu.pashchenko_maksym.dao.CourseDao;
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.model.Course;
+
+/**
+ * Кешуючий декоратор над {@link CourseDao}.
+ *
+ * <p>Результати читання кешуються в {@link LruCache}; будь-яка зміна
+ * ({@code insert}/{@code update}/{@code delete}) повністю очищає кеш.
+ * Назовні віддаються копії об'єктів, тож зміна повернутого {@link Course}
+ * не псує закешоване значення.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class CachingCourseDao implements CourseDao {
+
+    private final CourseDao delegate;
+    private final LruCache<String, Object> cache;
+
+    /**
+     * @param delegate   DAO, до якого йдуть промахи кешу та всі зміни
+     * @param maxEntries максимальна кількість закешованих результатів
+     * @param ttl        час життя запису кешу
+     */
+    public CachingCourseDao(CourseDao delegate, int maxEntries, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new LruCache<>("courses", maxEntries, ttl);
+    }
+
+    @Override
+    public Course findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        return copy((Course) cache.get("id:" + id, () -> delegate.findById(id)));
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return copyAll(cachedList("all", delegate::findAll));
+    }
+
+    /**
+     * Сторінки не кешуються: вони читаються послідовно один раз,
+     * а ключ залежить від попередньої сторінки.
+     */
+    @Override
+    public Page<Course> findPage(Course after, int pageSize) {
+        return delegate.findPage(after, pageSize);
+    }
+
+    @Override
+    public Course findByName(String name) {
+        if (name == null) {
+            return delegate.findByName(null);
+        }
+        return copy((Course) cache.get("name:" + name, () -> delegate.findByName(name)));
+    }
+
+    @Override
+    public List<Course> findByTeacherId(Long teacherId) {
+        if (teacherId == null) {
+            return delegate.findByTeacherId(null);
+        }
+        return copyAll(cachedList("teacher:" + teacherId, () -> delegate.findByTeacherId(teacherId)));
+    }
+
+    @Override
+    public Course insert(Course course) {
+        try {
+            return delegate.insert(course);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    @Override
+    public boolean update(Course course) {
+        try {
+            return delegate.update(course);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        try {
+            return delegate.delete(id);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    /**
+     * Очищає кеш після зміни курсів в обхід цього DAO, наприклад коли
+     * видалення викладача обнуляє {@code courses.teacher_id} ({@code ON DELETE SET NULL}).
+     */
+    public void invalidateAfterWrite() {
+        cache.invalidateAfterWrite();
+    }
+
+    /**
+     * @return статистика звернень до кешу
+     */
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Course> cachedList(String key, Supplier<List<Course>> loader) {
+        return (List<Course>) cache.get(key, () -> copyAll(loader.get()));
+    }
+
+    private static List<Course> copyAll(List<Course> courses) {
+        List<Course> result = new ArrayList<>(courses.size());
+        for (Course c : courses) {
+            result.add(copy(c));
+        }
+        return result;
+    }
+
+    private static Course copy(Course c) {
+        if (c == null) {
+            return null;
+        }
+        return new Course(c.getId(), c.getName(), c.getSemester(), c.getYear(),
+                c.getTeacherId(), c.getCredits());
+    }
+}
@@ -0,0 +1,125 @@
+package ua.knu.pashchenko_maksym.dao.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import ua.knu.pashchenko_maksym.dao.GroupDao;
+import ua.knu.pashchenko_maksym.model.Group;
+
+/**
+ * Кешуючий декоратор над {@link GroupDao}.
+ *
+ * <p>Працює так само, як {@link CachingCourseDao}: читання кешуються,
+ * будь-яка зміна очищає кеш, назовні віддаються копії об'єктів.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class CachingGroupDao implements GroupDao {
+
+    private final GroupDao delegate;
+    private final LruCache<String, Object> cache;
+
+    /**
+     * @param delegate   DAO, до якого йдуть промахи кешу та всі зміни
+     * @param maxEntries максимальна кількість закешованих результатів
+     * @param ttl        час життя запису кешу
+     */
+    public CachingGroupDao(GroupDao delegate, int maxEntries, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new LruCache<>("groups", maxEntries, ttl);
+    }
+
+    @Override
+    public Group findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        return findById(id.longValue()).orElse(null);
+    }
+
+    @Override
+    public Optional<Group> findById(long id) {
+        Group group = (Group) cache.get("id:" + id, () -> delegate.findById(id).orElse(null));
+        return Optional.ofNullable(copy(group));
+    }
+
+    @Override
+    public List<Group> findAll() {
+        return copyAll(cachedList("all", delegate::findAll));
+    }
+
+    @Override
+    public Group findByName(String name) {
+        if (name == null) {
+            return delegate.findByName(null);
+        }
+        return copy((Group) cache.get("name:" + name, () -> delegate.findByName(name)));
+    }
+
+    @Override
+    public Group insert(Group group) {
+        try {
+            return delegate.insert(group);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    @Override
+    public boolean update(Group group) {
+        try {
+            return delegate.update(group);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        try {
+            return delegate.delete(id);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    @Override
+    public boolean delete(long id) {
+        try {
+            return delegate.delete(id);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    /**
+     * @return статистика звернень до кешу
+     */
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Group> cachedList(String key, Supplier<List<Group>> loader) {
+        return (List<Group>) cache.get(key, () -> copyAll(loader.get()));
+    }
+
+    private static List<Group> copyAll(List<Group> groups) {
+        List<Group> result = new ArrayList<>(groups.size());
+        for (Group g : groups) {
+            result.add(copy(g));
+        }
+        return result;
+    }
+
+    private static Group copy(Group g) {
+        if (g == null) {
+            return null;
+        }
+        return new Group(g.getId(), g.getName(), g.getYear());
+    }
+}
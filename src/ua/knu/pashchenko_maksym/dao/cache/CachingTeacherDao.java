@@ -0,0 +1,139 @@
+package ua.knu.pashchenko_maksym.dao.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.model.Teacher;
+
+/**
+ * Кешуючий декоратор над {@link TeacherDao}.
+ *
+ * <p>Працює так само, як {@link CachingCourseDao}: читання кешуються,
+ * будь-яка зміна очищає кеш, назовні віддаються копії об'єктів.
+ *
+ * <p>Видалення викладача обнуляє {@code teacher_id} його курсів ({@code ON DELETE SET NULL}),
+ * тому воно очищає й кеш курсів, якщо його передано в конструктор.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class CachingTeacherDao implements TeacherDao {
+
+    private final TeacherDao delegate;
+    private final LruCache<String, Object> cache;
+    private final CachingCourseDao courses;
+
+    /**
+     * @param delegate   DAO, до якого йдуть промахи кешу та всі зміни
+     * @param maxEntries максимальна кількість закешованих результатів
+     * @param ttl        час життя запису кешу
+     */
+    public CachingTeacherDao(TeacherDao delegate, int maxEntries, Duration ttl) {
+        this(delegate, maxEntries, ttl, null);
+    }
+
+    /**
+     * @param delegate   DAO, до якого йдуть промахи кешу та всі зміни
+     * @param maxEntries максимальна кількість закешованих результатів
+     * @param ttl        час життя запису кешу
+     * @param courses    кешований DAO курсів, кеш якого очищається при видаленні викладача,
+     *                   або {@code null}
+     */
+    public CachingTeacherDao(TeacherDao delegate, int maxEntries, Duration ttl, CachingCourseDao courses) {
+        this.delegate = delegate;
+        this.cache = new LruCache<>("teachers", maxEntries, ttl);
+        this.courses = courses;
+    }
+
+    @Override
+    public Teacher findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        return copy((Teacher) cache.get("id:" + id, () -> delegate.findById(id)));
+    }
+
+    @Override
+    public List<Teacher> findAll() {
+        return copyAll(cachedList("all", delegate::findAll));
+    }
+
+    /**
+     * Сторінки не кешуються: вони читаються послідовно один раз,
+     * а ключ залежить від попередньої сторінки.
+     */
+    @Override
+    public Page<Teacher> findPage(Teacher after, int pageSize) {
+        return delegate.findPage(after, pageSize);
+    }
+
+    @Override
+    public List<Teacher> findByLastName(String lastName) {
+        if (lastName == null) {
+            return delegate.findByLastName(null);
+        }
+        return copyAll(cachedList("lastName:" + lastName, () -> delegate.findByLastName(lastName)));
+    }
+
+    @Override
+    public Teacher insert(Teacher teacher) {
+        try {
+            return delegate.insert(teacher);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    @Override
+    public boolean update(Teacher teacher) {
+        try {
+            return delegate.update(teacher);
+        } finally {
+            cache.invalidateAfterWrite();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        try {
+            return delegate.delete(id);
+        } finally {
+            cache.invalidateAfterWrite();
+            if (courses != null) {
+                courses.invalidateAfterWrite();
+            }
+        }
+    }
+
+    /**
+     * @return статистика звернень до кешу
+     */
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Teacher> cachedList(String key, Supplier<List<Teacher>> loader) {
+        return (List<Teacher>) cache.get(key, () -> copyAll(loader.get()));
+    }
+
+    private static List<Teacher> copyAll(List<Teacher> teachers) {
+        List<Teacher> result = new ArrayList<>(teachers.size());
+        for (Teacher t : teachers) {
+            result.add(copy(t));
+        }
+        return result;
+    }
+
+    private static Teacher copy(Teacher t) {
+        if (t == null) {
+            return null;
+        }
+        return new Teacher(t.getId(), t.getFirstName(), t.getLastName(),
+                t.getDepartment(), t.getEmail());
+    }
+}
@@ -0,0 +1,192 @@
+package ua.knu.pashchenko_maksym.dao.cache;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import ua.knu.pashchenko_maksym.dao.TransactionScope;
+
+/**
+ * Потокобезпечний кеш з обмеженням розміру (LRU-витіснення) та часом життя записів (TTL).
+ *
+ * <p>Кешуються також {@code null}-результати (наприклад, "запис не знайдено"),
+ * тому повторні пошуки неіснуючого id теж не йдуть у БД до інвалідації.
+ *
+ * <p>Щоб значення, завантажене до {@link #invalidateAll()}, не потрапило в кеш
+ * після неї, кожне завантаження запам'ятовує "покоління" кешу і зберігає результат
+ * лише якщо покоління не змінилося.
+ *
+ * <p>Зміни всередині {@link TransactionScope} слід позначати через {@link #invalidateAfterWrite()}:
+ * до завершення транзакції цей потік читає повз кеш (бачить власні незафіксовані зміни,
+ * але не кладе їх у кеш), а після фіксації чи відкату кеш очищається ще раз.
+ *
+ * <p>У транзакції-знімку ({@link TransactionScope#isSnapshot()}) наявні записи віддаються
+ * як звичайно, але завантажене значення в кеш не кладеться: знімок міг бути взятий до
+ * чужої фіксації та {@link #invalidateAll()}, тож покоління не захистило б кеш від
+ * застарілого рядка, який жив би в ньому до кінця TTL.
+ *
+ * <p>Кожен кеш реєструється в загальному списку (повторна реєстрація з тією самою назвою
+ * замінює попередню, зібрані GC кеші випадають зі списку), тож статистику всіх кешів
+ * можна вивести через {@link #allStats()}.
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значення
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class LruCache<K, V> {
+
+    /**
+     * Слабкі посилання, щоб реєстр не утримував кеші, які більше ніде не використовуються.
+     */
+    private static final List<WeakReference<LruCache<?, ?>>> REGISTRY =
+            new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    /**
+     * Записи у порядку доступу; доступ лише під монітором {@code this}.
+     */
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param name       назва кешу (для статистики)
+     * @param maxEntries максимальна кількість записів (&gt; 0)
+     * @param ttl        час життя запису
+     * @throws IllegalArgumentException якщо {@code maxEntries <= 0} або ttl не додатний
+     */
+    public LruCache(String name, int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                boolean evict = size() > LruCache.this.maxEntries;
+                if (evict) {
+                    evictions++;
+                }
+                return evict;
+            }
+        };
+        REGISTRY.removeIf(ref -> {
+            LruCache<?, ?> cache = ref.get();
+            return cache == null || cache.name.equals(name);
+        });
+        REGISTRY.add(new WeakReference<>(this));
+    }
+
+    /**
+     * @return знімки статистики всіх створених кешів
+     */
+    public static List<CacheStats> allStats() {
+        List<CacheStats> result = new ArrayList<>();
+        for (WeakReference<LruCache<?, ?>> ref : REGISTRY) {
+            LruCache<?, ?> cache = ref.get();
+            if (cache != null) {
+                result.add(cache.getStats());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Повертає значення з кешу або завантажує його через {@code loader}.
+     *
+     * <p>Завантаження виконується поза блокуванням, тож повільний запит до БД
+     * не блокує інші потоки.
+     *
+     * @param key    ключ
+     * @param loader джерело значення при промаху
+     * @return закешоване або щойно завантажене значення (може бути {@code null})
+     */
+    public V get(K key, Supplier<V> loader) {
+        TransactionScope tx = TransactionScope.current();
+        if (tx != null && tx.hasCompletionAction(this)) {
+            return loader.get();
+        }
+        boolean store = tx == null || !tx.isSnapshot();
+
+        long loadGeneration;
+        synchronized (this) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V value = loader.get();
+
+        synchronized (this) {
+            if (store && loadGeneration == generation) {
+                entries.put(key, new CacheEntry<>(value, System.nanoTime()));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Видаляє всі записи кешу.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+        invalidations++;
+    }
+
+    /**
+     * Очищає кеш після зміни даних. Якщо зміна виконана у відкритій {@link TransactionScope},
+     * кеш очищається повторно після її завершення, а до того поточний потік читає повз кеш.
+     */
+    public void invalidateAfterWrite() {
+        invalidateAll();
+        TransactionScope tx = TransactionScope.current();
+        if (tx != null) {
+            tx.afterCompletion(this, this::invalidateAll);
+        }
+    }
+
+    /**
+     * @return знімок статистики кешу
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, entries.size(), maxEntries, hits, misses, evictions, invalidations);
+    }
+
+    private static final class CacheEntry<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        private CacheEntry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Статистика викликів усіх методів одного DAO.
+ *
+ * <p>Лічильники методів створюються один раз у конструкторі декоратора
+ * ({@link #method(String)}), тож на гарячому шляху немає пошуку в мапі.
+ * Кожен екземпляр реєструється як MXBean у платформному {@link MBeanServer}
+ * (повторна реєстрація з тим самим ім'ям замінює попередню) і в
+ * загальному списку {@link #all()} для виводу з консолі.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class DaoMetrics implements DaoMetricsMXBean {
+
+    /**
+     * Домен JMX-імен статистики DAO.
+     */
+    public static final String JMX_DOMAIN = "ua.knu.pashchenko_maksym";
+
+    private static final List<DaoMetrics> REGISTRY = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    DaoMetrics(String name) {
+        this.name = name;
+        REGISTRY.removeIf(m -> m.name.equals(name));
+        REGISTRY.add(this);
+        registerMBean();
+    }
+
+    /**
+     * @return статистика всіх створених інструментованих DAO
+     */
+    public static List<DaoMetrics> all() {
+        return List.copyOf(REGISTRY);
+    }
+
+    /**
+     * Створює лічильники методу; викликається лише з конструктора декоратора.
+     */
+    MethodMetrics method(String methodName) {
+        return methods.computeIfAbsent(methodName, MethodMetrics::new);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getTotalCalls() {
+        long total = 0;
+        for (MethodMetrics m : methods.values()) {
+            total += m.calls();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalErrors() {
+        long total = 0;
+        for (MethodMetrics m : methods.values()) {
+            total += m.errors();
+        }
+        return total;
+    }
+
+    /**
+     * Методи відсортовано за сумарним часом, найдорожчі першими.
+     */
+    @Override
+    public List<MethodStats> getMethods() {
+        List<MethodStats> result = new ArrayList<>();
+        for (MethodMetrics m : methods.values()) {
+            MethodStats stats = m.snapshot();
+            if (stats.getCalls() > 0) {
+                result.add(stats);
+            }
+        }
+        result.sort(Comparator.comparingDouble(MethodStats::getTotalMillis).reversed());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DaoMetrics{%s: calls=%d, errors=%d}", name, getTotalCalls(), getTotalErrors());
+    }
+
+    private void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=DaoMetrics,name=" + name);
+            try {
+                server.registerMBean(this, objectName);
+            } catch (InstanceAlreadyExistsException e) {
+                try {
+                    server.unregisterMBean(objectName);
+                } catch (InstanceNotFoundException ignored) {
+                    // вже видалено іншим потоком
+                }
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException ignored) {
+            // JMX лише для спостереження — статистика залишається доступною через all()
+        }
+    }
+}
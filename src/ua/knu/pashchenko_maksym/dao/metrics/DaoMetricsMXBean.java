@@ -0,0 +1,24 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.util.List;
+
+/**
+ * JMX-інтерфейс статистики одного DAO
+ * ({@code ua.knu.pashchenko_maksym:type=DaoMetrics,name=<dao>}).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public interface DaoMetricsMXBean {
+
+    String getName();
+
+    long getTotalCalls();
+
+    long getTotalErrors();
+
+    /**
+     * @return статистика методів, які викликалися хоча б раз
+     */
+    List<MethodStats> getMethods();
+}
@@ -0,0 +1,123 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.util.List;
+
+import ua.knu.pashchenko_maksym.dao.CourseDao;
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.model.Course;
+
+/**
+ * Декоратор над {@link CourseDao}, що рахує виклики, помилки, рядки та затримки
+ * кожного методу (див. {@link DaoMetrics}, JMX-ім'я {@code name=CourseDao}).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class InstrumentedCourseDao implements CourseDao {
+
+    private final CourseDao delegate;
+    private final DaoMetrics metrics = new DaoMetrics("CourseDao");
+
+    private final MethodMetrics findById = metrics.method("findById");
+    private final MethodMetrics findAll = metrics.method("findAll");
+    private final MethodMetrics findPage = metrics.method("findPage");
+    private final MethodMetrics findByName = metrics.method("findByName");
+    private final MethodMetrics findByTeacherId = metrics.method("findByTeacherId");
+    private final MethodMetrics insert = metrics.method("insert");
+    private final MethodMetrics update = metrics.method("update");
+    private final MethodMetrics delete = metrics.method("delete");
+
+    /**
+     * @param delegate DAO, виклики якого вимірюються
+     */
+    public InstrumentedCourseDao(CourseDao delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Course findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return findById.one(delegate.findById(id), start);
+        } catch (RuntimeException e) {
+            throw findById.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Course> findAll() {
+        long start = System.nanoTime();
+        try {
+            return findAll.many(delegate.findAll(), start);
+        } catch (RuntimeException e) {
+            throw findAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public Page<Course> findPage(Course after, int pageSize) {
+        long start = System.nanoTime();
+        try {
+            return findPage.page(delegate.findPage(after, pageSize), start);
+        } catch (RuntimeException e) {
+            throw findPage.failed(e, start);
+        }
+    }
+
+    @Override
+    public Course findByName(String name) {
+        long start = System.nanoTime();
+        try {
+            return findByName.one(delegate.findByName(name), start);
+        } catch (RuntimeException e) {
+            throw findByName.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Course> findByTeacherId(Long teacherId) {
+        long start = System.nanoTime();
+        try {
+            return findByTeacherId.many(delegate.findByTeacherId(teacherId), start);
+        } catch (RuntimeException e) {
+            throw findByTeacherId.failed(e, start);
+        }
+    }
+
+    @Override
+    public Course insert(Course course) {
+        long start = System.nanoTime();
+        try {
+            return insert.one(delegate.insert(course), start);
+        } catch (RuntimeException e) {
+            throw insert.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean update(Course course) {
+        long start = System.nanoTime();
+        try {
+            return update.flag(delegate.update(course), start);
+        } catch (RuntimeException e) {
+            throw update.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delete.flag(delegate.delete(id), start);
+        } catch (RuntimeException e) {
+            throw delete.failed(e, start);
+        }
+    }
+
+    /**
+     * @return статистика викликів цього DAO
+     */
+    public DaoMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,303 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import ua.knu.pashchenko_maksym.dao.GradeDao;
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.model.GradeDetails;
+import ua.knu.pashchenko_maksym.model.GradeSummary;
+import ua.knu.pashchenko_maksym.model.StudentRank;
+
+/**
+ * Декоратор над {@link GradeDao}, що рахує виклики, помилки, рядки та затримки
+ * кожного методу (див. {@link DaoMetrics}, JMX-ім'я {@code name=GradeDao}).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class InstrumentedGradeDao implements GradeDao {
+
+    private final GradeDao delegate;
+    private final DaoMetrics metrics = new DaoMetrics("GradeDao");
+
+    private final MethodMetrics findById = metrics.method("findById");
+    private final MethodMetrics findAll = metrics.method("findAll");
+    private final MethodMetrics findPage = metrics.method("findPage");
+    private final MethodMetrics insert = metrics.method("insert");
+    private final MethodMetrics insertAll = metrics.method("insertAll");
+    private final MethodMetrics update = metrics.method("update");
+    private final MethodMetrics delete = metrics.method("delete");
+    private final MethodMetrics findByStudentId = metrics.method("findByStudentId");
+    private final MethodMetrics findByCourseId = metrics.method("findByCourseId");
+    private final MethodMetrics findByTeacherId = metrics.method("findByTeacherId");
+    private final MethodMetrics findByStudentAndCourse = metrics.method("findByStudentAndCourse");
+    private final MethodMetrics findByGroupAndCourse = metrics.method("findByGroupAndCourse");
+    private final MethodMetrics findDetailsByStudentId = metrics.method("findDetailsByStudentId");
+    private final MethodMetrics findDetailsByTeacherId = metrics.method("findDetailsByTeacherId");
+    private final MethodMetrics streamAll = metrics.method("streamAll");
+    private final MethodMetrics streamByStudentId = metrics.method("streamByStudentId");
+    private final MethodMetrics streamByCourseId = metrics.method("streamByCourseId");
+    private final MethodMetrics streamByTeacherId = metrics.method("streamByTeacherId");
+    private final MethodMetrics summarizeByStudent = metrics.method("summarizeByStudent");
+    private final MethodMetrics summarizeByCourse = metrics.method("summarizeByCourse");
+    private final MethodMetrics summarizeByTeacher = metrics.method("summarizeByTeacher");
+    private final MethodMetrics summarizeByGroupAndCourse = metrics.method("summarizeByGroupAndCourse");
+    private final MethodMetrics rankStudentsByCourse = metrics.method("rankStudentsByCourse");
+    private final MethodMetrics rankStudentsByGroup = metrics.method("rankStudentsByGroup");
+
+    /**
+     * @param delegate DAO, виклики якого вимірюються
+     */
+    public InstrumentedGradeDao(GradeDao delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Grade findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return findById.one(delegate.findById(id), start);
+        } catch (RuntimeException e) {
+            throw findById.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Grade> findAll() {
+        long start = System.nanoTime();
+        try {
+            return findAll.many(delegate.findAll(), start);
+        } catch (RuntimeException e) {
+            throw findAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public Page<Grade> findPage(Grade after, int pageSize) {
+        long start = System.nanoTime();
+        try {
+            return findPage.page(delegate.findPage(after, pageSize), start);
+        } catch (RuntimeException e) {
+            throw findPage.failed(e, start);
+        }
+    }
+
+    @Override
+    public Grade insert(Grade grade) {
+        long start = System.nanoTime();
+        try {
+            return insert.one(delegate.insert(grade), start);
+        } catch (RuntimeException e) {
+            throw insert.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Long> insertAll(List<Grade> grades) {
+        long start = System.nanoTime();
+        try {
+            return insertAll.many(delegate.insertAll(grades), start);
+        } catch (RuntimeException e) {
+            throw insertAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean update(Grade grade) {
+        long start = System.nanoTime();
+        try {
+            return update.flag(delegate.update(grade), start);
+        } catch (RuntimeException e) {
+            throw update.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delete.flag(delegate.delete(id), start);
+        } catch (RuntimeException e) {
+            throw delete.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Grade> findByStudentId(Long studentId) {
+        long start = System.nanoTime();
+        try {
+            return findByStudentId.many(delegate.findByStudentId(studentId), start);
+        } catch (RuntimeException e) {
+            throw findByStudentId.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Grade> findByCourseId(Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return findByCourseId.many(delegate.findByCourseId(courseId), start);
+        } catch (RuntimeException e) {
+            throw findByCourseId.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Grade> findByTeacherId(Long teacherId) {
+        long start = System.nanoTime();
+        try {
+            return findByTeacherId.many(delegate.findByTeacherId(teacherId), start);
+        } catch (RuntimeException e) {
+            throw findByTeacherId.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Grade> findByStudentAndCourse(Long studentId, Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return findByStudentAndCourse.many(delegate.findByStudentAndCourse(studentId, courseId), start);
+        } catch (RuntimeException e) {
+            throw findByStudentAndCourse.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Grade> findByGroupAndCourse(Long groupId, Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return findByGroupAndCourse.many(delegate.findByGroupAndCourse(groupId, courseId), start);
+        } catch (RuntimeException e) {
+            throw findByGroupAndCourse.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<GradeDetails> findDetailsByStudentId(Long studentId) {
+        long start = System.nanoTime();
+        try {
+            return findDetailsByStudentId.many(delegate.findDetailsByStudentId(studentId), start);
+        } catch (RuntimeException e) {
+            throw findDetailsByStudentId.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<GradeDetails> findDetailsByTeacherId(Long teacherId) {
+        long start = System.nanoTime();
+        try {
+            return findDetailsByTeacherId.many(delegate.findDetailsByTeacherId(teacherId), start);
+        } catch (RuntimeException e) {
+            throw findDetailsByTeacherId.failed(e, start);
+        }
+    }
+
+    @Override
+    public Stream<Grade> streamAll() {
+        long start = System.nanoTime();
+        try {
+            return streamAll.stream(delegate.streamAll(), start);
+        } catch (RuntimeException e) {
+            throw streamAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public Stream<Grade> streamByStudentId(Long studentId) {
+        long start = System.nanoTime();
+        try {
+            return streamByStudentId.stream(delegate.streamByStudentId(studentId), start);
+        } catch (RuntimeException e) {
+            throw streamByStudentId.failed(e, start);
+        }
+    }
+
+    @Override
+    public Stream<Grade> streamByCourseId(Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return streamByCourseId.stream(delegate.streamByCourseId(courseId), start);
+        } catch (RuntimeException e) {
+            throw streamByCourseId.failed(e, start);
+        }
+    }
+
+    @Override
+    public Stream<Grade> streamByTeacherId(Long teacherId) {
+        long start = System.nanoTime();
+        try {
+            return streamByTeacherId.stream(delegate.streamByTeacherId(teacherId), start);
+        } catch (RuntimeException e) {
+            throw streamByTeacherId.failed(e, start);
+        }
+    }
+
+    @Override
+    public GradeSummary summarizeByStudent(Long studentId) {
+        long start = System.nanoTime();
+        try {
+            return summarizeByStudent.one(delegate.summarizeByStudent(studentId), start);
+        } catch (RuntimeException e) {
+            throw summarizeByStudent.failed(e, start);
+        }
+    }
+
+    @Override
+    public GradeSummary summarizeByCourse(Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return summarizeByCourse.one(delegate.summarizeByCourse(courseId), start);
+        } catch (RuntimeException e) {
+            throw summarizeByCourse.failed(e, start);
+        }
+    }
+
+    @Override
+    public GradeSummary summarizeByTeacher(Long teacherId) {
+        long start = System.nanoTime();
+        try {
+            return summarizeByTeacher.one(delegate.summarizeByTeacher(teacherId), start);
+        } catch (RuntimeException e) {
+            throw summarizeByTeacher.failed(e, start);
+        }
+    }
+
+    @Override
+    public GradeSummary summarizeByGroupAndCourse(Long groupId, Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return summarizeByGroupAndCourse.one(delegate.summarizeByGroupAndCourse(groupId, courseId), start);
+        } catch (RuntimeException e) {
+            throw summarizeByGroupAndCourse.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<StudentRank> rankStudentsByCourse(Long courseId, int limit, boolean best) {
+        long start = System.nanoTime();
+        try {
+            return rankStudentsByCourse.many(delegate.rankStudentsByCourse(courseId, limit, best), start);
+        } catch (RuntimeException e) {
+            throw rankStudentsByCourse.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<StudentRank> rankStudentsByGroup(Long groupId, int limit, boolean best) {
+        long start = System.nanoTime();
+        try {
+            return rankStudentsByGroup.many(delegate.rankStudentsByGroup(groupId, limit, best), start);
+        } catch (RuntimeException e) {
+            throw rankStudentsByGroup.failed(e, start);
+        }
+    }
+
+    /**
+     * @return статистика викликів цього DAO
+     */
+    public DaoMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,123 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.util.List;
+import java.util.Optional;
+
+import ua.knu.pashchenko_maksym.dao.GroupDao;
+import ua.knu.pashchenko_maksym.model.Group;
+
+/**
+ * Декоратор над {@link GroupDao}, що рахує виклики, помилки, рядки та затримки
+ * кожного методу (див. {@link DaoMetrics}, JMX-ім'я {@code name=GroupDao}).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class InstrumentedGroupDao implements GroupDao {
+
+    private final GroupDao delegate;
+    private final DaoMetrics metrics = new DaoMetrics("GroupDao");
+
+    private final MethodMetrics findById = metrics.method("findById");
+    private final MethodMetrics findAll = metrics.method("findAll");
+    private final MethodMetrics findByIdLong = metrics.method("findById(long)");
+    private final MethodMetrics findByName = metrics.method("findByName");
+    private final MethodMetrics insert = metrics.method("insert");
+    private final MethodMetrics update = metrics.method("update");
+    private final MethodMetrics delete = metrics.method("delete");
+    private final MethodMetrics deleteLong = metrics.method("delete(long)");
+
+    /**
+     * @param delegate DAO, виклики якого вимірюються
+     */
+    public InstrumentedGroupDao(GroupDao delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Group findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return findById.one(delegate.findById(id), start);
+        } catch (RuntimeException e) {
+            throw findById.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Group> findAll() {
+        long start = System.nanoTime();
+        try {
+            return findAll.many(delegate.findAll(), start);
+        } catch (RuntimeException e) {
+            throw findAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public Optional<Group> findById(long id) {
+        long start = System.nanoTime();
+        try {
+            return findByIdLong.optional(delegate.findById(id), start);
+        } catch (RuntimeException e) {
+            throw findByIdLong.failed(e, start);
+        }
+    }
+
+    @Override
+    public Group findByName(String name) {
+        long start = System.nanoTime();
+        try {
+            return findByName.one(delegate.findByName(name), start);
+        } catch (RuntimeException e) {
+            throw findByName.failed(e, start);
+        }
+    }
+
+    @Override
+    public Group insert(Group group) {
+        long start = System.nanoTime();
+        try {
+            return insert.one(delegate.insert(group), start);
+        } catch (RuntimeException e) {
+            throw insert.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean update(Group group) {
+        long start = System.nanoTime();
+        try {
+            return update.flag(delegate.update(group), start);
+        } catch (RuntimeException e) {
+            throw update.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delete.flag(delegate.delete(id), start);
+        } catch (RuntimeException e) {
+            throw delete.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean delete(long id) {
+        long start = System.nanoTime();
+        try {
+            return deleteLong.flag(delegate.delete(id), start);
+        } catch (RuntimeException e) {
+            throw deleteLong.failed(e, start);
+        }
+    }
+
+    /**
+     * @return статистика викликів цього DAO
+     */
+    public DaoMetrics getMetrics() {
+        return metrics;
+    }
+}
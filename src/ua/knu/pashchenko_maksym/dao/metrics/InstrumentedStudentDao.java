@@ -0,0 +1,146 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.dao.StudentDao;
+import ua.knu.pashchenko_maksym.model.Student;
+
+/**
+ * Декоратор над {@link StudentDao}, що рахує виклики, помилки, рядки та затримки
+ * кожного методу (див. {@link DaoMetrics}, JMX-ім'я {@code name=StudentDao}).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class InstrumentedStudentDao implements StudentDao {
+
+    private final StudentDao delegate;
+    private final DaoMetrics metrics = new DaoMetrics("StudentDao");
+
+    private final MethodMetrics findById = metrics.method("findById");
+    private final MethodMetrics findAll = metrics.method("findAll");
+    private final MethodMetrics findPage = metrics.method("findPage");
+    private final MethodMetrics insert = metrics.method("insert");
+    private final MethodMetrics update = metrics.method("update");
+    private final MethodMetrics delete = metrics.method("delete");
+    private final MethodMetrics findByGroupId = metrics.method("findByGroupId");
+    private final MethodMetrics findByCourseId = metrics.method("findByCourseId");
+    private final MethodMetrics streamAll = metrics.method("streamAll");
+    private final MethodMetrics streamByCourseId = metrics.method("streamByCourseId");
+
+    /**
+     * @param delegate DAO, виклики якого вимірюються
+     */
+    public InstrumentedStudentDao(StudentDao delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Student findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return findById.one(delegate.findById(id), start);
+        } catch (RuntimeException e) {
+            throw findById.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Student> findAll() {
+        long start = System.nanoTime();
+        try {
+            return findAll.many(delegate.findAll(), start);
+        } catch (RuntimeException e) {
+            throw findAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public Page<Student> findPage(Student after, int pageSize) {
+        long start = System.nanoTime();
+        try {
+            return findPage.page(delegate.findPage(after, pageSize), start);
+        } catch (RuntimeException e) {
+            throw findPage.failed(e, start);
+        }
+    }
+
+    @Override
+    public Student insert(Student student) {
+        long start = System.nanoTime();
+        try {
+            return insert.one(delegate.insert(student), start);
+        } catch (RuntimeException e) {
+            throw insert.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean update(Student student) {
+        long start = System.nanoTime();
+        try {
+            return update.flag(delegate.update(student), start);
+        } catch (RuntimeException e) {
+            throw update.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delete.flag(delegate.delete(id), start);
+        } catch (RuntimeException e) {
+            throw delete.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Student> findByGroupId(Long groupId) {
+        long start = System.nanoTime();
+        try {
+            return findByGroupId.many(delegate.findByGroupId(groupId), start);
+        } catch (RuntimeException e) {
+            throw findByGroupId.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Student> findByCourseId(Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return findByCourseId.many(delegate.findByCourseId(courseId), start);
+        } catch (RuntimeException e) {
+            throw findByCourseId.failed(e, start);
+        }
+    }
+
+    @Override
+    public Stream<Student> streamAll() {
+        long start = System.nanoTime();
+        try {
+            return streamAll.stream(delegate.streamAll(), start);
+        } catch (RuntimeException e) {
+            throw streamAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public Stream<Student> streamByCourseId(Long courseId) {
+        long start = System.nanoTime();
+        try {
+            return streamByCourseId.stream(delegate.streamByCourseId(courseId), start);
+        } catch (RuntimeException e) {
+            throw streamByCourseId.failed(e, start);
+        }
+    }
+
+    /**
+     * @return статистика викликів цього DAO
+     */
+    public DaoMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,112 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.util.List;
+
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.model.Teacher;
+
+/**
+ * Декоратор над {@link TeacherDao}, що рахує виклики, помилки, рядки та затримки
+ * кожного методу (див. {@link DaoMetrics}, JMX-ім'я {@code name=TeacherDao}).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class InstrumentedTeacherDao implements TeacherDao {
+
+    private final TeacherDao delegate;
+    private final DaoMetrics metrics = new DaoMetrics("TeacherDao");
+
+    private final MethodMetrics findById = metrics.method("findById");
+    private final MethodMetrics findAll = metrics.method("findAll");
+    private final MethodMetrics findPage = metrics.method("findPage");
+    private final MethodMetrics findByLastName = metrics.method("findByLastName");
+    private final MethodMetrics insert = metrics.method("insert");
+    private final MethodMetrics update = metrics.method("update");
+    private final MethodMetrics delete = metrics.method("delete");
+
+    /**
+     * @param delegate DAO, виклики якого вимірюються
+     */
+    public InstrumentedTeacherDao(TeacherDao delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Teacher findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return findById.one(delegate.findById(id), start);
+        } catch (RuntimeException e) {
+            throw findById.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Teacher> findAll() {
+        long start = System.nanoTime();
+        try {
+            return findAll.many(delegate.findAll(), start);
+        } catch (RuntimeException e) {
+            throw findAll.failed(e, start);
+        }
+    }
+
+    @Override
+    public Page<Teacher> findPage(Teacher after, int pageSize) {
+        long start = System.nanoTime();
+        try {
+            return findPage.page(delegate.findPage(after, pageSize), start);
+        } catch (RuntimeException e) {
+            throw findPage.failed(e, start);
+        }
+    }
+
+    @Override
+    public List<Teacher> findByLastName(String lastName) {
+        long start = System.nanoTime();
+        try {
+            return findByLastName.many(delegate.findByLastName(lastName), start);
+        } catch (RuntimeException e) {
+            throw findByLastName.failed(e, start);
+        }
+    }
+
+    @Override
+    public Teacher insert(Teacher teacher) {
+        long start = System.nanoTime();
+        try {
+            return insert.one(delegate.insert(teacher), start);
+        } catch (RuntimeException e) {
+            throw insert.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean update(Teacher teacher) {
+        long start = System.nanoTime();
+        try {
+            return update.flag(delegate.update(teacher), start);
+        } catch (RuntimeException e) {
+            throw update.failed(e, start);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        long start = System.nanoTime();
+        try {
+            return delete.flag(delegate.delete(id), start);
+        } catch (RuntimeException e) {
+            throw delete.failed(e, start);
+        }
+    }
+
+    /**
+     * @return статистика викликів цього DAO
+     */
+    public DaoMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,120 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.util.LatencyHistogram;
+
+/**
+ * Лічильники одного методу DAO: кількість викликів, помилок, повернутих рядків
+ * та гістограма затримок.
+ *
+ * <p>Запис не блокує і не створює об'єктів: лічильники — {@link LongAdder},
+ * гістограма — {@link LatencyHistogram}. Методи {@code one/many/page/flag}
+ * повертають переданий результат, тож декоратор обгортає виклик без лямбд:
+ * <pre>
+ * long start = System.nanoTime();
+ * try {
+ *     return findById.one(delegate.findById(id), start);
+ * } catch (RuntimeException e) {
+ *     throw findById.failed(e, start);
+ * }
+ * </pre>
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+final class MethodMetrics {
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    MethodMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Результат з одного рядка ({@code null} — рядок не знайдено).
+     */
+    <T> T one(T result, long startNanos) {
+        record(startNanos, result == null ? 0 : 1);
+        return result;
+    }
+
+    <T> Optional<T> optional(Optional<T> result, long startNanos) {
+        record(startNanos, result.isPresent() ? 1 : 0);
+        return result;
+    }
+
+    <C extends Collection<?>> C many(C result, long startNanos) {
+        record(startNanos, result.size());
+        return result;
+    }
+
+    <T> Page<T> page(Page<T> result, long startNanos) {
+        record(startNanos, result.getItems().size());
+        return result;
+    }
+
+    /**
+     * Результат {@code update}/{@code delete}: {@code true} — змінено один рядок.
+     */
+    boolean flag(boolean result, long startNanos) {
+        record(startNanos, result ? 1 : 0);
+        return result;
+    }
+
+    /**
+     * Затримкою потоку вважається час відкриття курсора (виконання запиту);
+     * рядки рахуються по мірі читання.
+     */
+    <T> Stream<T> stream(Stream<T> result, long startNanos) {
+        record(startNanos, 0);
+        return result.peek(row -> rows.increment());
+    }
+
+    /**
+     * Враховує невдалий виклик.
+     *
+     * @return переданий виняток (для {@code throw})
+     */
+    RuntimeException failed(RuntimeException e, long startNanos) {
+        errors.increment();
+        record(startNanos, 0);
+        return e;
+    }
+
+    long calls() {
+        return calls.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    MethodStats snapshot() {
+        return new MethodStats(name,
+                calls.sum(),
+                errors.sum(),
+                rows.sum(),
+                latency.getMeanMicros(),
+                latency.getCount() == 0 ? 0 : latency.percentileMicros(50),
+                latency.getCount() == 0 ? 0 : latency.percentileMicros(99),
+                latency.getMaxMicros());
+    }
+
+    private void record(long startNanos, long rowCount) {
+        latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        calls.increment();
+        if (rowCount != 0) {
+            rows.add(rowCount);
+        }
+    }
+}
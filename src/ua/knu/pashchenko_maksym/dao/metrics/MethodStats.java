@@ -0,0 +1,77 @@
+package ua.knu.pashchenko_maksym.dao.metrics;
+
+/**
+ * Незмінний знімок статистики одного методу DAO.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public final class MethodStats {
+
+    private final String method;
+    private final long calls;
+    private final long errors;
+    private final long rows;
+    private final double meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    MethodStats(String method, long calls, long errors, long rows,
+                double meanMicros, long p50Micros, long p99Micros, long maxMicros) {
+        this.method = method;
+        this.calls = calls;
+        this.errors = errors;
+        this.rows = rows;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    /**
+     * @return сумарний час у методі, мс (оцінка через середнє)
+     */
+    public double getTotalMillis() {
+        return calls * meanMicros / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{calls=%d, errors=%d, rows=%d, total=%.1f ms, mean=%.0f us, "
+                        + "p50=%d us, p99=%d us, max=%d us}",
+                method, calls, errors, rows, getTotalMillis(), meanMicros, p50Micros, p99Micros, maxMicros);
+    }
+}
@@ -0,0 +1,530 @@
+package ua.knu.pashchenko_maksym.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import ua.knu.pashchenko_maksym.dao.DataSourceProvider;
+import ua.knu.pashchenko_maksym.dao.PgCopyDatasetLoader;
+
+/**
+ * Генератор синтетичного журналу оцінок для тестування на реалістичних обсягах.
+ *
+ * <p>Модель даних:
+ * <ul>
+ *     <li>розмір груп — нормальний розподіл навколо середнього з обмеженням min/max;</li>
+ *     <li>кожен студент слухає всі курси свого року навчання в обох семестрах;</li>
+ *     <li>оцінка = базовий рівень + "здібності" студента − "складність" курсу + шум,
+ *     з обмеженням зверху 100 (тому розподіл скошений вліво) і невеликою часткою
+ *     незадовільних оцінок; крок — 0.5 бала;</li>
+ *     <li>дати — протягом семестру (вересень–грудень, лютий–червень) з ущільненням
+ *     у сесію наприкінці семестру.</li>
+ * </ul>
+ * Однаковий {@link DatasetSpec#getSeed()} дає побайтово однакові файли.
+ *
+ * <p>Оцінки пишуться у файл потоково, тож пам'ять залежить лише від кількості
+ * студентів, а не оцінок; мільйони рядків генеруються за секунди.
+ *
+ * <p>Запуск: {@code DatasetGenerator generate <dir> [gradeRows]},
+ * {@code DatasetGenerator load <dir>}, {@code DatasetGenerator script <file> <commands>}.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class DatasetGenerator {
+
+    public static final String GROUPS_FILE = "groups.csv";
+    public static final String TEACHERS_FILE = "teachers.csv";
+    public static final String COURSES_FILE = "courses.csv";
+    public static final String STUDENTS_FILE = "students.csv";
+    public static final String GRADES_FILE = "grades.csv";
+
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private static final String[] FIRST_NAMES = {
+            "Maksym", "Andrii", "Iryna", "Olha", "Dmytro", "Oleksandr", "Kateryna", "Anna",
+            "Bohdan", "Yulia", "Taras", "Sofiia", "Mykola", "Daryna", "Serhii", "Viktoriia",
+            "Yaroslav", "Nataliia", "Vladyslav", "Mariia", "Artem", "Oksana", "Denys", "Alina"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Shevchenko", "Koval", "Melnyk", "Bondarenko", "Tkachenko", "Kravchenko", "Oliinyk",
+            "Pashchenko", "Ivanenko", "Petrenko", "Moroz", "Lysenko", "Rudenko", "Savchenko",
+            "Marchenko", "Kovalenko", "Boiko", "Tkachuk", "Polishchuk", "Honchar", "Kuzmenko",
+            "Zinchenko", "Levchenko", "Havrylenko", "Ponomarenko", "Sydorenko"
+    };
+
+    private static final String[] SUBJECTS = {
+            "Programming", "Linear Algebra", "Discrete Math", "Calculus", "Algorithms",
+            "Databases", "Operating Systems", "Computer Networks", "Probability", "Statistics",
+            "Physics", "Software Engineering", "Machine Learning", "Compilers", "Cryptography",
+            "Computer Graphics", "Distributed Systems", "Numerical Methods", "Logic", "English"
+    };
+
+    private static final String[] DEPARTMENTS = {
+            "Computer Science", "Mathematics", "Applied Mathematics", "Cybernetics",
+            "Physics", "Foreign Languages"
+    };
+
+    private static final String[] GROUP_PREFIXES = {"IP", "KN", "PM", "SA", "KB", "FI"};
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        spec.validate();
+        this.spec = spec;
+    }
+
+    /**
+     * Створює CSV-файли {@link #GROUPS_FILE}, {@link #TEACHERS_FILE}, {@link #COURSES_FILE},
+     * {@link #STUDENTS_FILE}, {@link #GRADES_FILE} у каталозі {@code dir}.
+     *
+     * <p>Формат: роздільник {@code ;}, заголовок, явні id починаючи з 1 (для завантаження
+     * в порожню базу через {@link PgCopyDatasetLoader}); {@link #GRADES_FILE} можна також
+     * імпортувати в наявну базу через {@link ua.knu.pashchenko_maksym.dao.PgCopyImporter}.
+     *
+     * @return кількість згенерованих записів
+     * @throws IOException у разі помилки запису
+     */
+    public Summary generate(Path dir) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(dir);
+        Plan plan = new Plan(spec);
+
+        try (Writer out = writer(dir.resolve(GROUPS_FILE))) {
+            out.write("id;name;year\n");
+            for (int g = 0; g < plan.groupCount(); g++) {
+                out.write((g + 1) + ";" + plan.groupName[g] + ";" + plan.groupYear[g] + "\n");
+            }
+        }
+
+        try (Writer out = writer(dir.resolve(TEACHERS_FILE))) {
+            out.write("id;first_name;last_name;department;email\n");
+            for (int t = 0; t < plan.teacherCount(); t++) {
+                out.write((t + 1) + ";" + plan.teacherFirstName[t] + ";" + plan.teacherLastName[t]
+                        + ";" + plan.teacherDepartment[t] + ";" + plan.teacherEmail(t) + "\n");
+            }
+        }
+
+        try (Writer out = writer(dir.resolve(COURSES_FILE))) {
+            out.write("id;name;semester;year;teacher_id;credits\n");
+            for (int c = 0; c < plan.courseCount(); c++) {
+                out.write((c + 1) + ";" + plan.courseName[c] + ";" + plan.courseSemester[c]
+                        + ";" + plan.courseYear[c] + ";" + (plan.courseTeacher[c] + 1)
+                        + ";" + plan.courseCredits[c] + "\n");
+            }
+        }
+
+        try (Writer out = writer(dir.resolve(STUDENTS_FILE))) {
+            out.write("id;first_name;last_name;email;group_id;enrollment_year\n");
+            for (int s = 0; s < plan.studentCount(); s++) {
+                out.write((s + 1) + ";" + plan.studentFirstName[s] + ";" + plan.studentLastName[s]
+                        + ";" + plan.studentEmail(s) + ";" + (plan.studentGroup[s] + 1)
+                        + ";" + plan.enrollmentYear(s) + "\n");
+            }
+        }
+
+        long grades = 0;
+        Random random = new Random(spec.getSeed() + 1);
+        try (Writer out = writer(dir.resolve(GRADES_FILE))) {
+            out.write("id;student_id;course_id;teacher_id;value;grade_date\n");
+            StringBuilder line = new StringBuilder(64);
+            for (int s = 0; s < plan.studentCount(); s++) {
+                int year = plan.groupYear[plan.studentGroup[s]];
+                int first = plan.firstCourseOfYear(year);
+                int last = first + 2 * spec.getCoursesPerSemester();
+                for (int c = first; c < last; c++) {
+                    int count = plan.gradeCount(random);
+                    for (int i = 0; i < count; i++) {
+                        grades++;
+                        line.setLength(0);
+                        line.append(grades).append(';')
+                                .append(s + 1).append(';')
+                                .append(c + 1).append(';')
+                                .append(plan.courseTeacher[c] + 1).append(';');
+                        appendValue(line, plan.gradeHalfPoints(s, c, random));
+                        line.append(';').append(plan.gradeDate(c, random)).append('\n');
+                        out.append(line);
+                    }
+                }
+            }
+        }
+
+        return new Summary(plan.groupCount(), plan.teacherCount(), plan.courseCount(),
+                plan.studentCount(), grades, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Пише сценарій у форматі {@code NZ_test.txt}: спершу створення груп, викладачів,
+     * курсів і студентів, далі {@code SET_GRADE} упереміш зі звітами
+     * (~85% оцінок, решта — {@code REPORT_*}).
+     *
+     * <p>Id у сценарії розраховані на порожню базу (нумерація з 1 у порядку створення).
+     * Кількість сутностей масштабується від {@code commands} (приблизно 1 студент
+     * на 20 команд), тож загальна довжина сценарію дорівнює {@code commands},
+     * якщо їх не менше, ніж потрібно для створення сутностей.
+     *
+     * @param file     цільовий файл (перезаписується)
+     * @param commands бажана кількість команд (&gt; 0)
+     * @return фактична кількість команд у файлі
+     * @throws IOException у разі помилки запису
+     */
+    public int writeScript(Path file, int commands) throws IOException {
+        if (commands <= 0) {
+            throw new IllegalArgumentException("commands must be positive");
+        }
+        DatasetSpec scriptSpec = scaledForScript(commands);
+        Plan plan = new Plan(scriptSpec);
+        Random random = new Random(spec.getSeed() + 2);
+
+        int written = 0;
+        try (Writer out = writer(file)) {
+            out.write("# Згенерований сценарій для GradeBook: " + commands + " команд, seed="
+                    + spec.getSeed() + "\n");
+            out.write("# Id розраховані на порожню базу.\n\n");
+
+            for (int g = 0; g < plan.groupCount(); g++, written++) {
+                out.write("ADD_GROUP;" + plan.groupName[g] + ";" + plan.groupYear[g] + "\n");
+            }
+            for (int t = 0; t < plan.teacherCount(); t++, written++) {
+                out.write("ADD_TEACHER;" + plan.teacherFirstName[t] + ";" + plan.teacherLastName[t]
+                        + ";" + plan.teacherDepartment[t] + ";" + plan.teacherEmail(t) + "\n");
+            }
+            for (int c = 0; c < plan.courseCount(); c++, written++) {
+                out.write("ADD_COURSE;" + plan.courseName[c] + ";" + plan.courseSemester[c]
+                        + ";" + scriptSpec.getAcademicYear() + ";" + (plan.courseTeacher[c] + 1)
+                        + ";" + plan.courseCredits[c] + "\n");
+            }
+            for (int s = 0; s < plan.studentCount(); s++, written++) {
+                out.write("ADD_STUDENT;" + plan.studentFirstName[s] + ";" + plan.studentLastName[s]
+                        + ";" + plan.studentEmail(s) + ";" + (plan.studentGroup[s] + 1)
+                        + ";" + plan.enrollmentYear(s) + "\n");
+            }
+            out.write("\n");
+
+            StringBuilder line = new StringBuilder(64);
+            for (; written < commands; written++) {
+                int s = random.nextInt(plan.studentCount());
+                int group = plan.studentGroup[s];
+                int c = plan.firstCourseOfYear(plan.groupYear[group])
+                        + random.nextInt(2 * scriptSpec.getCoursesPerSemester());
+                int kind = random.nextInt(100);
+
+                line.setLength(0);
+                if (kind < 85) {
+                    line.append("SET_GRADE;").append(s + 1).append(';').append(c + 1).append(';')
+                            .append(plan.courseTeacher[c] + 1).append(';');
+                    appendValue(line, plan.gradeHalfPoints(s, c, random));
+                    line.append(';').append(plan.gradeDate(c, random));
+                } else if (kind < 92) {
+                    line.append("REPORT_STUDENT;").append(s + 1);
+                } else if (kind < 96) {
+                    line.append("REPORT_GROUP_COURSE;").append(group + 1).append(';').append(c + 1);
+                } else {
+                    line.append("REPORT_TEACHER;").append(plan.courseTeacher[c] + 1);
+                }
+                out.append(line).append('\n');
+            }
+        }
+        return written;
+    }
+
+    private DatasetSpec scaledForScript(int commands) {
+        DatasetSpec scaled = new DatasetSpec();
+        scaled.setSeed(spec.getSeed());
+        scaled.setStudyYears(spec.getStudyYears());
+        scaled.setCoursesPerSemester(spec.getCoursesPerSemester());
+        scaled.setGradesPerCourse(spec.getGradesPerCourse());
+        scaled.setAcademicYear(spec.getAcademicYear());
+
+        int students = Math.max(1, commands / 20);
+        int groupSize = Math.min(spec.getMeanGroupSize(), students);
+        scaled.setMeanGroupSize(groupSize);
+        scaled.setMinGroupSize(Math.min(spec.getMinGroupSize(), groupSize));
+        scaled.setMaxGroupSize(Math.max(groupSize, spec.getMaxGroupSize()));
+        scaled.setGroups(Math.max(1, students / groupSize));
+        scaled.setTeachers(Math.max(1, Math.min(spec.getTeachers(), students / 10)));
+        return scaled;
+    }
+
+    /**
+     * Оцінка зберігається як кількість півбалів: 171 → {@code 85.5}.
+     */
+    private static void appendValue(StringBuilder line, int halfPoints) {
+        line.append(halfPoints / 2).append(halfPoints % 2 == 0 ? ".0" : ".5");
+    }
+
+    private static Writer writer(Path file) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), WRITE_BUFFER);
+    }
+
+    /**
+     * Сутності набору даних у вигляді паралельних масивів (індекс = id − 1).
+     */
+    private static final class Plan {
+
+        private final DatasetSpec spec;
+
+        private final String[] groupName;
+        private final int[] groupYear;
+
+        private final String[] teacherFirstName;
+        private final String[] teacherLastName;
+        private final String[] teacherDepartment;
+
+        private final String[] courseName;
+        private final int[] courseYear;
+        private final int[] courseSemester;
+        private final int[] courseTeacher;
+        private final int[] courseCredits;
+        private final double[] courseDifficulty;
+
+        private final String[] studentFirstName;
+        private final String[] studentLastName;
+        private final int[] studentGroup;
+        private final double[] studentAbility;
+
+        private Plan(DatasetSpec spec) {
+            this.spec = spec;
+            Random random = new Random(spec.getSeed());
+
+            int groups = spec.getGroups();
+            groupName = new String[groups];
+            groupYear = new int[groups];
+            int[] groupSize = new int[groups];
+            int students = 0;
+            for (int g = 0; g < groups; g++) {
+                groupYear[g] = 1 + g % spec.getStudyYears();
+                groupName[g] = GROUP_PREFIXES[g % GROUP_PREFIXES.length] + "-" + groupYear[g]
+                        + String.format("%03d", g + 1);
+                double size = spec.getMeanGroupSize() + random.nextGaussian() * spec.getMeanGroupSize() / 4.0;
+                groupSize[g] = (int) Math.max(spec.getMinGroupSize(),
+                        Math.min(spec.getMaxGroupSize(), Math.round(size)));
+                students += groupSize[g];
+            }
+
+            int teachers = spec.getTeachers();
+            teacherFirstName = new String[teachers];
+            teacherLastName = new String[teachers];
+            teacherDepartment = new String[teachers];
+            for (int t = 0; t < teachers; t++) {
+                teacherFirstName[t] = pick(FIRST_NAMES, random);
+                teacherLastName[t] = pick(LAST_NAMES, random);
+                teacherDepartment[t] = pick(DEPARTMENTS, random);
+            }
+
+            int courses = spec.getStudyYears() * 2 * spec.getCoursesPerSemester();
+            courseName = new String[courses];
+            courseYear = new int[courses];
+            courseSemester = new int[courses];
+            courseTeacher = new int[courses];
+            courseCredits = new int[courses];
+            courseDifficulty = new double[courses];
+            int c = 0;
+            for (int year = 1; year <= spec.getStudyYears(); year++) {
+                for (int semester = 1; semester <= 2; semester++) {
+                    for (int k = 0; k < spec.getCoursesPerSemester(); k++, c++) {
+                        courseName[c] = SUBJECTS[k % SUBJECTS.length] + " " + year + "." + semester
+                                + (k >= SUBJECTS.length ? " " + (k / SUBJECTS.length + 1) : "");
+                        courseYear[c] = year;
+                        courseSemester[c] = semester;
+                        courseTeacher[c] = random.nextInt(teachers);
+                        courseCredits[c] = 3 + random.nextInt(4);
+                        courseDifficulty[c] = random.nextGaussian() * 6.0;
+                    }
+                }
+            }
+
+            studentFirstName = new String[students];
+            studentLastName = new String[students];
+            studentGroup = new int[students];
+            studentAbility = new double[students];
+            int s = 0;
+            for (int g = 0; g < groups; g++) {
+                for (int i = 0; i < groupSize[g]; i++, s++) {
+                    studentFirstName[s] = pick(FIRST_NAMES, random);
+                    studentLastName[s] = pick(LAST_NAMES, random);
+                    studentGroup[s] = g;
+                    studentAbility[s] = random.nextGaussian();
+                }
+            }
+        }
+
+        private int groupCount() {
+            return groupName.length;
+        }
+
+        private int teacherCount() {
+            return teacherFirstName.length;
+        }
+
+        private int courseCount() {
+            return courseName.length;
+        }
+
+        private int studentCount() {
+            return studentGroup.length;
+        }
+
+        private int firstCourseOfYear(int year) {
+            return (year - 1) * 2 * spec.getCoursesPerSemester();
+        }
+
+        private int enrollmentYear(int student) {
+            return spec.getAcademicYear() - groupYear[studentGroup[student]] + 1;
+        }
+
+        private String teacherEmail(int teacher) {
+            return (teacherFirstName[teacher] + "." + teacherLastName[teacher]).toLowerCase()
+                    + ".t" + (teacher + 1) + "@example.com";
+        }
+
+        private String studentEmail(int student) {
+            return (studentFirstName[student] + "." + studentLastName[student]).toLowerCase()
+                    + "." + (student + 1) + "@example.com";
+        }
+
+        /**
+         * Кількість оцінок студента з курсу: 1 + біноміальний розподіл із заданим середнім.
+         */
+        private int gradeCount(Random random) {
+            double extra = spec.getGradesPerCourse() - 1;
+            int trials = (int) Math.ceil(extra * 2);
+            int count = 1;
+            for (int i = 0; i < trials; i++) {
+                if (random.nextDouble() * trials < extra) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private int gradeHalfPoints(int student, int course, Random random) {
+            double value;
+            if (random.nextInt(100) < 5) {
+                value = 20 + random.nextDouble() * 40;
+            } else {
+                value = 76 + studentAbility[student] * 11 - courseDifficulty[course]
+                        + random.nextGaussian() * 7;
+            }
+            value = Math.max(0, Math.min(100, value));
+            return (int) Math.round(value * 2);
+        }
+
+        /**
+         * Дата в межах семестру курсу; третина оцінок — у сесію (останні три тижні).
+         */
+        private LocalDate gradeDate(int course, Random random) {
+            LocalDate start;
+            LocalDate end;
+            if (courseSemester[course] == 1) {
+                start = LocalDate.of(spec.getAcademicYear(), 9, 1);
+                end = LocalDate.of(spec.getAcademicYear(), 12, 24);
+            } else {
+                start = LocalDate.of(spec.getAcademicYear() + 1, 2, 1);
+                end = LocalDate.of(spec.getAcademicYear() + 1, 6, 15);
+            }
+            int days = (int) (end.toEpochDay() - start.toEpochDay());
+            int offset = random.nextInt(3) == 0
+                    ? days - random.nextInt(21)
+                    : random.nextInt(days + 1);
+            return start.plusDays(offset);
+        }
+
+        private static String pick(String[] values, Random random) {
+            return values[random.nextInt(values.length)];
+        }
+    }
+
+    /**
+     * Кількість записів, згенерованих {@link #generate(Path)}.
+     */
+    public static final class Summary {
+
+        private final int groups;
+        private final int teachers;
+        private final int courses;
+        private final int students;
+        private final long grades;
+        private final long millis;
+
+        private Summary(int groups, int teachers, int courses, int students, long grades, long millis) {
+            this.groups = groups;
+            this.teachers = teachers;
+            this.courses = courses;
+            this.students = students;
+            this.grades = grades;
+            this.millis = millis;
+        }
+
+        public int getGroups() {
+            return groups;
+        }
+
+        public int getTeachers() {
+            return teachers;
+        }
+
+        public int getCourses() {
+            return courses;
+        }
+
+        public int getStudents() {
+            return students;
+        }
+
+        public long getGrades() {
+            return grades;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Generated{groups=%d, teachers=%d, courses=%d, students=%d, grades=%d, %d ms}",
+                    groups, teachers, courses, students, grades, millis);
+        }
+    }
+
+    /**
+     * Точка входу для генерації з командного рядка.
+     *
+     * @param args {@code generate <dir> [gradeRows]}, {@code load <dir>}
+     *             або {@code script <file> <commands>}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: generate <dir> [gradeRows] | load <dir> | script <file> <commands>");
+            return;
+        }
+        Path path = Path.of(args[1]);
+        switch (args[0]) {
+            case "generate" -> {
+                DatasetSpec spec = args.length > 2
+                        ? DatasetSpec.forGradeRows(Long.parseLong(args[2]))
+                        : new DatasetSpec();
+                System.out.println(spec);
+                System.out.println(new DatasetGenerator(spec).generate(path));
+            }
+            case "load" -> {
+                try {
+                    System.out.println(new PgCopyDatasetLoader().replaceAll(path));
+                } finally {
+                    DataSourceProvider.shutdown();
+                }
+            }
+            case "script" -> {
+                int commands = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+                int written = new DatasetGenerator(new DatasetSpec()).writeScript(path, commands);
+                System.out.println("Written " + written + " commands to " + path);
+            }
+            default -> System.out.println("Unknown command: " + args[0]);
+        }
+    }
+}
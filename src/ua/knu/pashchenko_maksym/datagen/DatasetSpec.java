@@ -0,0 +1,168 @@
+package ua.knu.pashchenko_maksym.datagen;
+
+/**
+ * Параметри синтетичного набору даних для {@link DatasetGenerator}.
+ *
+ * <p>Значення за замовчуванням дають невеликий факультет (~1 000 студентів,
+ * ~40 000 оцінок); для навантажувального тестування зручно почати з
+ * {@link #forGradeRows(long)}.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class DatasetSpec {
+
+    private long seed = 42L;
+    private int groups = 40;
+    private int meanGroupSize = 25;
+    private int minGroupSize = 8;
+    private int maxGroupSize = 40;
+    private int studyYears = 4;
+    private int coursesPerSemester = 5;
+    private int teachers = 30;
+    private double gradesPerCourse = 4.0;
+    private int academicYear = 2024;
+
+    /**
+     * Підбирає кількість груп так, щоб набір мав приблизно {@code rows} оцінок
+     * при інших параметрах за замовчуванням.
+     *
+     * @param rows бажана кількість оцінок (&gt; 0)
+     */
+    public static DatasetSpec forGradeRows(long rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("rows must be positive");
+        }
+        DatasetSpec spec = new DatasetSpec();
+        double perGroup = spec.estimatedGradeRows() / (double) spec.groups;
+        spec.groups = (int) Math.max(1, Math.round(rows / perGroup));
+        spec.teachers = Math.max(spec.teachers, spec.groups / 10);
+        return spec;
+    }
+
+    /**
+     * @return очікувана кількість оцінок (кожен студент слухає курси свого року навчання в обох семестрах)
+     */
+    public long estimatedGradeRows() {
+        return Math.round((double) groups * meanGroupSize * coursesPerSemester * 2 * gradesPerCourse);
+    }
+
+    /**
+     * @throws IllegalArgumentException якщо параметри неузгоджені
+     */
+    void validate() {
+        if (groups <= 0 || teachers <= 0 || coursesPerSemester <= 0) {
+            throw new IllegalArgumentException("groups, teachers and coursesPerSemester must be positive");
+        }
+        if (minGroupSize <= 0 || minGroupSize > meanGroupSize || meanGroupSize > maxGroupSize) {
+            throw new IllegalArgumentException("Group sizes must satisfy 0 < min <= mean <= max");
+        }
+        if (studyYears < 1 || studyYears > 6) {
+            throw new IllegalArgumentException("studyYears must be in 1..6");
+        }
+        if (gradesPerCourse <= 0) {
+            throw new IllegalArgumentException("gradesPerCourse must be positive");
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getGroups() {
+        return groups;
+    }
+
+    public void setGroups(int groups) {
+        this.groups = groups;
+    }
+
+    public int getMeanGroupSize() {
+        return meanGroupSize;
+    }
+
+    public void setMeanGroupSize(int meanGroupSize) {
+        this.meanGroupSize = meanGroupSize;
+    }
+
+    public int getMinGroupSize() {
+        return minGroupSize;
+    }
+
+    public void setMinGroupSize(int minGroupSize) {
+        this.minGroupSize = minGroupSize;
+    }
+
+    public int getMaxGroupSize() {
+        return maxGroupSize;
+    }
+
+    public void setMaxGroupSize(int maxGroupSize) {
+        this.maxGroupSize = maxGroupSize;
+    }
+
+    public int getStudyYears() {
+        return studyYears;
+    }
+
+    public void setStudyYears(int studyYears) {
+        this.studyYears = studyYears;
+    }
+
+    public int getCoursesPerSemester() {
+        return coursesPerSemester;
+    }
+
+    public void setCoursesPerSemester(int coursesPerSemester) {
+        this.coursesPerSemester = coursesPerSemester;
+    }
+
+    public int getTeachers() {
+        return teachers;
+    }
+
+    public void setTeachers(int teachers) {
+        this.teachers = teachers;
+    }
+
+    /**
+     * Середня кількість оцінок одного студента з одного курсу.
+     */
+    public double getGradesPerCourse() {
+        return gradesPerCourse;
+    }
+
+    public void setGradesPerCourse(double gradesPerCourse) {
+        this.gradesPerCourse = gradesPerCourse;
+    }
+
+    /**
+     * Навчальний рік, у якому виставлено оцінки (вересень {@code academicYear} — червень наступного).
+     */
+    public int getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(int academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetSpec{" +
+                "seed=" + seed +
+                ", groups=" + groups +
+                ", groupSize=" + minGroupSize + ".." + meanGroupSize + ".." + maxGroupSize +
+                ", studyYears=" + studyYears +
+                ", coursesPerSemester=" + coursesPerSemester +
+                ", teachers=" + teachers +
+                ", gradesPerCourse=" + gradesPerCourse +
+                ", academicYear=" + academicYear +
+                ", estimatedGradeRows=" + estimatedGradeRows() +
+                '}';
+    }
+}
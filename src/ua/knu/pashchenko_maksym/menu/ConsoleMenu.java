@@ -3,13 +3,30 @@ package ua.knu.pashchenko_maksym.menu;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import ua.knu.pashchenko_maksym.analytics.GradeAggregate;
+import ua.knu.pashchenko_maksym.analytics.GradeColumnStore;
+import ua.knu.pashchenko_maksym.analytics.GradeDistribution;
+import ua.knu.pashchenko_maksym.analytics.GradeSketch;
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.dao.PgCopyImporter;
+import ua.knu.pashchenko_maksym.dao.cache.CacheStats;
+import ua.knu.pashchenko_maksym.dao.cache.LruCache;
+import ua.knu.pashchenko_maksym.dao.metrics.DaoMetrics;
+import ua.knu.pashchenko_maksym.dao.metrics.MethodStats;
 import ua.knu.pashchenko_maksym.model.Course;
 import ua.knu.pashchenko_maksym.model.Grade;
 import ua.knu.pashchenko_maksym.model.Group;
 import ua.knu.pashchenko_maksym.model.Student;
+import ua.knu.pashchenko_maksym.model.StudentRank;
 import ua.knu.pashchenko_maksym.model.Teacher;
+import ua.knu.pashchenko_maksym.service.AsyncGradeBookService;
+import ua.knu.pashchenko_maksym.service.BulkReportRunner;
 import ua.knu.pashchenko_maksym.service.GradeBookService;
 import ua.knu.pashchenko_maksym.service.ReportService;
 import ua.knu.pashchenko_maksym.util.IoUtil;
@@ -22,7 +39,7 @@ import ua.knu.pashchenko_maksym.util.IoUtil;
  *     <li>створювати, редагувати та видаляти студентів, групи, курси, викладачів;</li>
  *     <li>додавати оцінки;</li>
  *     <li>переглядати звіти по студенту, групі/курсу, викладачу;</li>
- *     <li>експортувати оцінки у CSV-файли.</li>
+ *     <li>експортувати оцінки у CSV-файли та імпортувати оцінки/студентів з CSV.</li>
  * </ul>
  *
  * Меню працює поверх сервісного шару {@link GradeBookService} і
@@ -43,21 +60,39 @@ public class ConsoleMenu {
      */
     private final ReportService reportService;
 
+    /**
+     * Асинхронний фасад для незалежних запитів, що виконуються одночасно.
+     */
+    private final AsyncGradeBookService asyncService;
+
     /**
      * Базовий каталог для вивантаження CSV-файлів.
      */
     private static final Path OUTPUT_DIR = Path.of("resources/output");
 
+    /**
+     * Імпорт CSV через {@code COPY}; не має стану, тож один екземпляр на меню.
+     */
+    private final PgCopyImporter importer = new PgCopyImporter();
+
+    /**
+     * Кількість рядків на одній сторінці списків.
+     */
+    private static final int PAGE_SIZE = 20;
+
     /**
      * Створює консольне меню з переданими сервісами.
      *
      * @param gradeBookService сервіс роботи з журналом оцінок
      * @param reportService    сервіс формування звітів
+     * @param asyncService     асинхронний фасад над {@code gradeBookService}
      */
     public ConsoleMenu(GradeBookService gradeBookService,
-                       ReportService reportService) {
+                       ReportService reportService,
+                       AsyncGradeBookService asyncService) {
         this.gradeBookService = gradeBookService;
         this.reportService = reportService;
+        this.asyncService = asyncService;
     }
 
     /**
@@ -71,7 +106,7 @@ public class ConsoleMenu {
         boolean running = true;
         while (running) {
             printMenu();
-            int choice = IoUtil.readIntInRange("Ваш вибір: ", 0, 23);
+            int choice = IoUtil.readIntInRange("Ваш вибір: ", 0, 29);
             System.out.println();
 
             switch (choice) {
@@ -105,6 +140,13 @@ public class ConsoleMenu {
                 case 22 -> listCourses();
                 case 23 -> listTeachers();
 
+                case 24 -> showCourseDistribution();
+                case 25 -> showCourseRanking();
+                case 26 -> generateAllGroupCourseReports();
+                case 27 -> showDaoMetrics();
+                case 28 -> importFromCsv();
+                case 29 -> showColumnStoreAnalytics();
+
                 case 0 -> {
                     running = false;
                     System.out.println("До побачення!");
@@ -146,6 +188,12 @@ public class ConsoleMenu {
         System.out.println("21 - Показати всі групи");
         System.out.println("22 - Показати всі курси");
         System.out.println("23 - Показати всіх викладачів");
+        System.out.println("24 - Розподіл оцінок по курсу");
+        System.out.println("25 - Рейтинг студентів курсу");
+        System.out.println("26 - Звіти по всіх групах і курсах у файли");
+        System.out.println("27 - Статистика звернень до БД (DAO) та кешів");
+        System.out.println("28 - Імпорт оцінок або студентів з CSV");
+        System.out.println("29 - Аналітика всіх оцінок у пам'яті");
         System.out.println("0 - Вихід");
     }
 
@@ -154,23 +202,29 @@ public class ConsoleMenu {
     // ============================
 
     /**
-     * Виводить на екран усіх студентів із бази.
+     * Виводить на екран студентів із бази посторінково.
      *
      * <p>Якщо студентів немає, показує відповідне повідомлення.
      */
     private void listStudents() {
-        List<Student> students = gradeBookService.getAllStudents();
-        if (students.isEmpty()) {
+        Page<Student> page = gradeBookService.getStudentsPage(null, PAGE_SIZE);
+        if (page.isEmpty()) {
             System.out.println("Студентів поки немає.");
             return;
         }
         System.out.println("=== Список студентів ===");
-        for (Student s : students) {
-            System.out.printf("%d: %s %s (groupId=%s)%n",
-                    s.getId(),
-                    s.getFirstName(),
-                    s.getLastName(),
-                    s.getGroupId());
+        while (true) {
+            for (Student s : page.getItems()) {
+                System.out.printf("%d: %s %s (groupId=%s)%n",
+                        s.getId(),
+                        s.getFirstName(),
+                        s.getLastName(),
+                        s.getGroupId());
+            }
+            if (!page.hasNext() || !askNextPage()) {
+                return;
+            }
+            page = gradeBookService.getStudentsPage(page.getLast(), PAGE_SIZE);
         }
     }
 
@@ -190,35 +244,55 @@ public class ConsoleMenu {
     }
 
     /**
-     * Виводить список усіх курсів.
+     * Виводить список курсів посторінково.
      */
     private void listCourses() {
-        List<Course> courses = gradeBookService.getAllCourses();
-        if (courses.isEmpty()) {
+        Page<Course> page = gradeBookService.getCoursesPage(null, PAGE_SIZE);
+        if (page.isEmpty()) {
             System.out.println("Курсів поки немає.");
             return;
         }
         System.out.println("=== Список курсів ===");
-        for (Course c : courses) {
-            System.out.println(c);
+        while (true) {
+            for (Course c : page.getItems()) {
+                System.out.println(c);
+            }
+            if (!page.hasNext() || !askNextPage()) {
+                return;
+            }
+            page = gradeBookService.getCoursesPage(page.getLast(), PAGE_SIZE);
         }
     }
 
     /**
-     * Виводить список усіх викладачів.
+     * Виводить список викладачів посторінково.
      */
     private void listTeachers() {
-        List<Teacher> teachers = gradeBookService.getAllTeachers();
-        if (teachers.isEmpty()) {
+        Page<Teacher> page = gradeBookService.getTeachersPage(null, PAGE_SIZE);
+        if (page.isEmpty()) {
             System.out.println("Викладачів поки немає.");
             return;
         }
         System.out.println("=== Список викладачів ===");
-        for (Teacher t : teachers) {
-            System.out.println(t);
+        while (true) {
+            for (Teacher t : page.getItems()) {
+                System.out.println(t);
+            }
+            if (!page.hasNext() || !askNextPage()) {
+                return;
+            }
+            page = gradeBookService.getTeachersPage(page.getLast(), PAGE_SIZE);
         }
     }
 
+    /**
+     * @return {@code true}, якщо користувач хоче побачити наступну сторінку
+     */
+    private boolean askNextPage() {
+        String answer = IoUtil.readLine("Enter — наступна сторінка, q — завершити: ");
+        return !answer.trim().equalsIgnoreCase("q");
+    }
+
     // ============================
     // CREATE
     // ============================
@@ -539,6 +613,144 @@ public class ConsoleMenu {
         reportService.printTeacherReport(teacherId);
     }
 
+    /**
+     * Виводить розподіл оцінок по курсу (медіана, перцентилі, гістограма)
+     * для всього курсу та для кожної групи окремо.
+     * Курс і оцінки завантажуються одночасно.
+     */
+    private void showCourseDistribution() {
+        System.out.println("=== Розподіл оцінок по курсу ===");
+        long courseId = IoUtil.readLong("ID курсу: ");
+
+        CompletableFuture<Map<Long, GradeSketch>> sketches = asyncService.getCourseSketchesByGroup(courseId);
+        Course course = asyncService.getCourseById(courseId).join();
+        if (course == null) {
+            System.out.println("Курс не знайдено.");
+            return;
+        }
+
+        Map<Long, GradeSketch> byGroup = sketches.join();
+        GradeSketch total = new GradeSketch();
+        byGroup.values().forEach(total::merge);
+
+        System.out.println("Курс: " + course.getName());
+        printDistribution("Усі групи", total.toDistribution());
+        byGroup.forEach((groupId, sketch) -> {
+            Group group = groupId == 0 ? null : gradeBookService.getGroupById(groupId);
+            String label = group != null ? "Група " + group.getName() : "Без групи";
+            printDistribution(label, sketch.toDistribution());
+        });
+    }
+
+    /**
+     * Виводить N найкращих студентів курсу за середнім балом.
+     */
+    private void showCourseRanking() {
+        System.out.println("=== Рейтинг студентів курсу ===");
+        long courseId = IoUtil.readLong("ID курсу: ");
+        int n = IoUtil.readIntInRange("Кількість місць (1-100): ", 1, 100);
+
+        List<StudentRank> ranking = gradeBookService.getTopStudentsByCourse(courseId, n);
+        if (ranking.isEmpty()) {
+            System.out.println("Оцінок з цього курсу немає.");
+            return;
+        }
+        for (StudentRank rank : ranking) {
+            System.out.printf("%3d. %s %s (ID=%d) — %.2f (%d оцінок)%n",
+                    rank.getDenseRank(),
+                    rank.getLastName(),
+                    rank.getFirstName(),
+                    rank.getStudentId(),
+                    rank.getAverage(),
+                    rank.getGradeCount());
+        }
+    }
+
+    private void printDistribution(String label, GradeDistribution distribution) {
+        if (distribution.getCount() == 0) {
+            System.out.println(label + ": оцінок немає.");
+            return;
+        }
+        System.out.printf("%s: n=%d, середнє=%.2f, σ=%.2f, медіана=%.2f, p10=%.2f, p90=%.2f%n",
+                label,
+                distribution.getCount(),
+                distribution.getMean(),
+                distribution.getStdDev(),
+                distribution.getMedian(),
+                distribution.getP10(),
+                distribution.getP90());
+        System.out.println("  Гістограма (по 10 балів): " + Arrays.toString(distribution.getHistogram()));
+    }
+
+    /**
+     * Паралельно генерує звіти по всіх парах (група, курс) у {@code OUTPUT_DIR/reports}
+     * і виводить підсумок з часом виконання та помилками.
+     */
+    private void generateAllGroupCourseReports() {
+        System.out.println("=== Звіти по всіх групах і курсах ===");
+        Path dir = OUTPUT_DIR.resolve("reports");
+        try {
+            BulkReportRunner.Summary summary =
+                    new BulkReportRunner(gradeBookService, reportService).run(dir);
+            System.out.println(summary);
+            System.out.println("Звіти збережено в: " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Помилка під час генерації звітів: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Виводить статистику викликів методів DAO (ті самі дані, що й у JMX-бінах
+     * {@code ua.knu.pashchenko_maksym:type=DaoMetrics}), а також влучання й промахи
+     * кешів довідників ({@link LruCache#allStats()}).
+     */
+    private void showDaoMetrics() {
+        System.out.println("=== Статистика DAO ===");
+        List<DaoMetrics> all = DaoMetrics.all();
+        if (all.isEmpty()) {
+            System.out.println("Вимірювання DAO не увімкнено.");
+        }
+        for (DaoMetrics metrics : all) {
+            System.out.println(metrics);
+            for (MethodStats stats : metrics.getMethods()) {
+                System.out.println("  " + stats);
+            }
+        }
+
+        System.out.println("=== Статистика кешів ===");
+        List<CacheStats> caches = LruCache.allStats();
+        if (caches.isEmpty()) {
+            System.out.println("Кешування DAO не увімкнено.");
+        }
+        for (CacheStats stats : caches) {
+            System.out.println(stats);
+        }
+    }
+
+    /**
+     * Завантажує всі оцінки в {@link GradeColumnStore} і виводить N студентів, курсів,
+     * викладачів або груп з найвищим середнім балом.
+     */
+    private void showColumnStoreAnalytics() {
+        System.out.println("=== Аналітика всіх оцінок у пам'яті ===");
+        int dimension = IoUtil.readIntInRange(
+                "Групувати за (1 - студентом, 2 - курсом, 3 - викладачем, 4 - групою): ", 1, 4);
+        int n = IoUtil.readIntInRange("Кількість рядків (1-100): ", 1, 100);
+
+        long start = System.nanoTime();
+        GradeColumnStore store = gradeBookService.loadGradeColumnStore();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Завантажено %d оцінок за %d мс (≈%d КБ у пам'яті)%n",
+                store.size(), millis, store.estimatedMemoryBytes() / 1024);
+        System.out.println("Усі оцінки: " + store.aggregateAll());
+
+        store.aggregateBy(GradeColumnStore.Dimension.values()[dimension - 1]).entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(
+                        Comparator.comparingDouble(GradeAggregate::getAverage).reversed()))
+                .limit(n)
+                .forEach(e -> System.out.printf("  ID=%d: %s%n", e.getKey(), e.getValue()));
+    }
+
     // ============================
     // CSV export helpers
     // ============================
@@ -601,4 +813,33 @@ public class ConsoleMenu {
             System.out.println("Помилка запису у файл: " + e.getMessage());
         }
     }
+
+    // ============================
+    // CSV import
+    // ============================
+
+    /**
+     * Імпортує оцінки або студентів із CSV-файлу у форматі експорту ({@link PgCopyImporter}).
+     *
+     * <p>Відхилені рядки записуються у {@code <ім'я файлу>.rejects.csv} в {@link #OUTPUT_DIR}.
+     */
+    private void importFromCsv() {
+        System.out.println("=== Імпорт з CSV ===");
+        int kind = IoUtil.readIntInRange("Що імпортувати? (1 - оцінки, 2 - студентів): ", 1, 2);
+        Path file = Path.of(IoUtil.readNonEmptyLine("Шлях до CSV-файлу: ").trim());
+        try {
+            PgCopyImporter.ImportReport report = kind == 1
+                    ? importer.importGrades(file)
+                    : importer.importStudents(file);
+            System.out.println(report);
+            if (report.getRejected() > 0) {
+                Files.createDirectories(OUTPUT_DIR);
+                Path rejects = OUTPUT_DIR.resolve(file.getFileName() + ".rejects.csv");
+                report.writeRejectionsTo(rejects);
+                System.out.println("Відхилені рядки записано у: " + rejects.toAbsolutePath());
+            }
+        } catch (IOException e) {
+            System.out.println("Помилка читання/запису файлу: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package ua.knu.pashchenko_maksym.model;
+
+import java.util.Objects;
+
+public class GradeDetails {
+
+    private Grade grade;
+    private String courseName;
+    private String studentFirstName;
+    private String studentLastName;
+
+    public GradeDetails() {
+    }
+
+    public GradeDetails(Grade grade,
+                        String courseName,
+                        String studentFirstName,
+                        String studentLastName) {
+        this.grade = grade;
+        this.courseName = courseName;
+        this.studentFirstName = studentFirstName;
+        this.studentLastName = studentLastName;
+    }
+
+    public Grade getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Grade grade) {
+        this.grade = grade;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+
+    public String getStudentFirstName() {
+        return studentFirstName;
+    }
+
+    public void setStudentFirstName(String studentFirstName) {
+        this.studentFirstName = studentFirstName;
+    }
+
+    public String getStudentLastName() {
+        return studentLastName;
+    }
+
+    public void setStudentLastName(String studentLastName) {
+        this.studentLastName = studentLastName;
+    }
+
+    @Override
+    public String toString() {
+        return "GradeDetails{" + grade + ", course='" + courseName + "', student='"
+                + studentFirstName + " " + studentLastName + "'}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GradeDetails)) {
+            return false;
+        }
+        GradeDetails that = (GradeDetails) o;
+        return Objects.equals(grade, that.grade);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(grade);
+    }
+}
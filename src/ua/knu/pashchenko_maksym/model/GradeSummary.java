@@ -0,0 +1,54 @@
+package ua.knu.pashchenko_maksym.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+public class GradeSummary {
+
+    public static final GradeSummary EMPTY = new GradeSummary(0, BigDecimal.ZERO);
+
+    private final long count;
+    private final BigDecimal sum;
+
+    public GradeSummary(long count, BigDecimal sum) {
+        this.count = count;
+        this.sum = sum != null ? sum : BigDecimal.ZERO;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getSum() {
+        return sum;
+    }
+
+    public double getAverage() {
+        if (count == 0) {
+            return 0.0;
+        }
+        return sum.doubleValue() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "GradeSummary{count=" + count + ", sum=" + sum + ", avg=" + getAverage() + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GradeSummary)) {
+            return false;
+        }
+        GradeSummary that = (GradeSummary) o;
+        return count == that.count && sum.compareTo(that.sum) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, sum.stripTrailingZeros());
+    }
+}
@@ -0,0 +1,104 @@
+package ua.knu.pashchenko_maksym.model;
+
+import java.util.Objects;
+
+public class StudentRank {
+
+    private final int position;
+    private final int denseRank;
+    private final Long studentId;
+    private final String firstName;
+    private final String lastName;
+    private final Long groupId;
+    private final long gradeCount;
+    private final double average;
+
+    public StudentRank(int position,
+                       int denseRank,
+                       Long studentId,
+                       String firstName,
+                       String lastName,
+                       Long groupId,
+                       long gradeCount,
+                       double average) {
+        this.position = position;
+        this.denseRank = denseRank;
+        this.studentId = studentId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.groupId = groupId;
+        this.gradeCount = gradeCount;
+        this.average = average;
+    }
+
+    /**
+     * Місце з пропусками після рівних результатів (1, 2, 2, 4).
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Місце без пропусків (1, 2, 2, 3).
+     */
+    public int getDenseRank() {
+        return denseRank;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public long getGradeCount() {
+        return gradeCount;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentRank{" +
+                "denseRank=" + denseRank +
+                ", position=" + position +
+                ", studentId=" + studentId +
+                ", name='" + lastName + ' ' + firstName + '\'' +
+                ", gradeCount=" + gradeCount +
+                ", average=" + average +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StudentRank)) {
+            return false;
+        }
+        StudentRank that = (StudentRank) o;
+        return position == that.position
+                && denseRank == that.denseRank
+                && gradeCount == that.gradeCount
+                && Double.compare(that.average, average) == 0
+                && Objects.equals(studentId, that.studentId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(position, denseRank, studentId, gradeCount, average);
+    }
+}
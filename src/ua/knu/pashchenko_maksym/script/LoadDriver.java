@@ -0,0 +1,375 @@
+package ua.knu.pashchenko_maksym.script;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import ua.knu.pashchenko_maksym.service.GradeBookService;
+import ua.knu.pashchenko_maksym.service.ReportService;
+import ua.knu.pashchenko_maksym.util.LatencyHistogram;
+
+/**
+ * Навантажувальний драйвер, що відтворює сценарії у форматі {@code NZ_test.txt}
+ * з кількох паралельних потоків.
+ *
+ * <p>Виконання складається з двох фаз:
+ * <ol>
+ *     <li>підготовка — команди {@code ADD_*} усіх сценаріїв виконуються один раз
+ *     послідовно (повторне створення сутностей лише порушило б унікальні ключі);</li>
+ *     <li>навантаження — команди {@code SET_GRADE} та {@code REPORT_*} повторюються
+ *     {@code loops} разів з {@code workers} потоків.</li>
+ * </ol>
+ *
+ * <p>Режими навантаження:
+ * <ul>
+ *     <li>закритий цикл ({@code ratePerSecond = 0}) — кожен потік бере наступну команду
+ *     одразу після завершення попередньої; затримка — час виконання команди;</li>
+ *     <li>відкритий цикл ({@code ratePerSecond > 0}) — команда {@code i} запланована
+ *     на момент {@code start + i / rate}; затримка рахується від запланованого моменту,
+ *     тому включає очікування в черзі, коли система не встигає за заданим темпом.</li>
+ * </ul>
+ *
+ * <p>Для кожного типу команди збирається {@link LatencyHistogram} та кількість помилок;
+ * підсумок записується у файл поруч із {@code result.txt}.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class LoadDriver {
+
+    /**
+     * Ім'я файлу підсумку навантажувального прогону.
+     */
+    public static final String SUMMARY_FILE = "load_summary.txt";
+
+    private static final String SETUP_PREFIX = "ADD_";
+
+    private final ScriptCommandExecutor executor;
+    private final int workers;
+    private final int ratePerSecond;
+    private final int loops;
+    private final boolean runSetup;
+
+    /**
+     * @param service       сервіс журналу оцінок
+     * @param reportService сервіс звітів (тексти звітів відкидаються)
+     * @param workers       кількість паралельних потоків (&gt; 0)
+     * @param ratePerSecond цільовий темп команд за секунду; {@code 0} — закритий цикл
+     * @param loops         скільки разів повторити команди навантаження (&gt; 0)
+     * @param runSetup      чи виконувати команди {@code ADD_*} перед навантаженням
+     * @throws IllegalArgumentException якщо параметри некоректні
+     */
+    public LoadDriver(GradeBookService service,
+                      ReportService reportService,
+                      int workers,
+                      int ratePerSecond,
+                      int loops,
+                      boolean runSetup) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be positive");
+        }
+        if (ratePerSecond < 0) {
+            throw new IllegalArgumentException("ratePerSecond must not be negative");
+        }
+        if (loops <= 0) {
+            throw new IllegalArgumentException("loops must be positive");
+        }
+        this.executor = new ScriptCommandExecutor(service, reportService,
+                new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8));
+        this.workers = workers;
+        this.ratePerSecond = ratePerSecond;
+        this.loops = loops;
+        this.runSetup = runSetup;
+    }
+
+    /**
+     * Виконує навантажувальний прогін і записує {@link #SUMMARY_FILE} у {@code outputDir}.
+     *
+     * @param scripts   файли сценаріїв
+     * @param outputDir каталог для підсумку
+     * @return підсумок прогону
+     * @throws IOException якщо сценарій не вдалося прочитати або підсумок — записати
+     */
+    public Summary run(List<Path> scripts, Path outputDir) throws IOException {
+        List<String> setup = new ArrayList<>();
+        List<String> workload = new ArrayList<>();
+        for (Path script : scripts) {
+            for (String rawLine : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+                String cmd = ScriptCommandExecutor.commandOf(rawLine);
+                if (cmd == null) {
+                    continue;
+                }
+                (cmd.startsWith(SETUP_PREFIX) ? setup : workload).add(rawLine.trim());
+            }
+        }
+
+        int setupErrors = runSetup ? runSetup(setup) : 0;
+
+        Map<String, CommandStats> stats = new ConcurrentHashMap<>();
+        long total = (long) workload.size() * loops;
+        long start = System.nanoTime();
+        if (total > 0) {
+            runWorkload(workload, total, start, stats);
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        Summary summary = new Summary(scripts, workers, ratePerSecond, loops,
+                runSetup ? setup.size() : 0, setupErrors, wallNanos, new TreeMap<>(stats));
+        Files.createDirectories(outputDir);
+        summary.writeTo(outputDir.resolve(SUMMARY_FILE));
+        return summary;
+    }
+
+    private int runSetup(List<String> setup) {
+        int errors = 0;
+        for (String line : setup) {
+            try {
+                if (!executor.execute(line, new StringBuilder())) {
+                    errors++;
+                }
+            } catch (RuntimeException e) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+
+    private void runWorkload(List<String> workload,
+                             long total,
+                             long startNanos,
+                             Map<String, CommandStats> stats) throws IOException {
+        AtomicLong next = new AtomicLong();
+        long intervalNanos = ratePerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new WorkerThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                futures.add(pool.submit(() -> {
+                    long i;
+                    while ((i = next.getAndIncrement()) < total) {
+                        String line = workload.get((int) (i % workload.size()));
+                        long scheduled = intervalNanos == 0 ? System.nanoTime() : startNanos + i * intervalNanos;
+                        waitUntil(scheduled);
+                        execute(line, scheduled, stats);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Load run interrupted", e);
+        } catch (ExecutionException e) {
+            // execute() catches its own failures; this is a bug, not a command error
+            throw new IllegalStateException("Unexpected worker failure", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void execute(String line, long scheduledNanos, Map<String, CommandStats> stats) {
+        CommandStats commandStats =
+                stats.computeIfAbsent(ScriptCommandExecutor.commandOf(line), k -> new CommandStats());
+        String error = null;
+        try {
+            if (!executor.execute(line, new StringBuilder())) {
+                error = "rejected: " + line;
+            }
+        } catch (RuntimeException e) {
+            error = e.toString();
+        }
+        commandStats.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledNanos), error);
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Статистика одного типу команд.
+     */
+    public static final class CommandStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private volatile String lastError;
+
+        private void record(long micros, String error) {
+            latency.record(micros);
+            if (error != null) {
+                errors.increment();
+                lastError = error;
+            }
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getCount() {
+            return latency.getCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public double getErrorRate() {
+            long count = getCount();
+            return count == 0 ? 0.0 : (double) getErrors() / count;
+        }
+
+        /**
+         * @return остання помилка або {@code null}
+         */
+        public String getLastError() {
+            return lastError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, errors=%d (%.2f%%), mean=%.2f ms, p50=%.2f ms, p90=%.2f ms, "
+                            + "p99=%.2f ms, p99.9=%.2f ms, max=%.2f ms",
+                    getCount(), getErrors(), getErrorRate() * 100, latency.getMeanMicros() / 1000.0,
+                    millis(50), millis(90), millis(99), millis(99.9), latency.getMaxMicros() / 1000.0);
+        }
+
+        private double millis(double percentile) {
+            return latency.getCount() == 0 ? 0.0 : latency.percentileMicros(percentile) / 1000.0;
+        }
+    }
+
+    /**
+     * Підсумок навантажувального прогону.
+     */
+    public static final class Summary {
+
+        private final List<Path> scripts;
+        private final int workers;
+        private final int ratePerSecond;
+        private final int loops;
+        private final int setupCommands;
+        private final int setupErrors;
+        private final long wallNanos;
+        private final Map<String, CommandStats> commands;
+
+        private Summary(List<Path> scripts, int workers, int ratePerSecond, int loops,
+                        int setupCommands, int setupErrors, long wallNanos,
+                        Map<String, CommandStats> commands) {
+            this.scripts = List.copyOf(scripts);
+            this.workers = workers;
+            this.ratePerSecond = ratePerSecond;
+            this.loops = loops;
+            this.setupCommands = setupCommands;
+            this.setupErrors = setupErrors;
+            this.wallNanos = wallNanos;
+            this.commands = commands;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * @return цільовий темп або {@code 0} для закритого циклу
+         */
+        public int getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public long getWallMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(wallNanos);
+        }
+
+        public long getTotalCommands() {
+            return commands.values().stream().mapToLong(CommandStats::getCount).sum();
+        }
+
+        public long getTotalErrors() {
+            return commands.values().stream().mapToLong(CommandStats::getErrors).sum();
+        }
+
+        /**
+         * @return фактична пропускна здатність, команд за секунду
+         */
+        public double getThroughput() {
+            return wallNanos == 0 ? 0.0 : getTotalCommands() * 1e9 / wallNanos;
+        }
+
+        /**
+         * @return статистика за назвою команди (у алфавітному порядку)
+         */
+        public Map<String, CommandStats> getCommands() {
+            return commands;
+        }
+
+        private void writeTo(Path file) throws IOException {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("=== Load run summary ===");
+                writer.newLine();
+                writer.write("Scripts: " + scripts);
+                writer.newLine();
+                writer.write(String.format("Mode: %s, workers=%d, loops=%d",
+                        ratePerSecond == 0 ? "closed loop" : "open loop @ " + ratePerSecond + " cmd/s",
+                        workers, loops));
+                writer.newLine();
+                writer.write(String.format("Setup: %d commands, %d errors", setupCommands, setupErrors));
+                writer.newLine();
+                writer.write(toString());
+                writer.newLine();
+                writer.newLine();
+                for (Map.Entry<String, CommandStats> entry : commands.entrySet()) {
+                    writer.write(String.format("%-20s %s", entry.getKey(), entry.getValue()));
+                    writer.newLine();
+                    String lastError = entry.getValue().getLastError();
+                    if (lastError != null) {
+                        writer.write(String.format("%-20s last error: %s", "", lastError));
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LoadSummary{commands=%d, errors=%d, workers=%d, wall=%d ms, "
+                            + "throughput=%.1f cmd/s}",
+                    getTotalCommands(), getTotalErrors(), workers, getWallMillis(), getThroughput());
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "load-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
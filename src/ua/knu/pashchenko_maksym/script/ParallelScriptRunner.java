@@ -0,0 +1,444 @@
+package ua.knu.pashchenko_maksym.script;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import ua.knu.pashchenko_maksym.service.GradeBookService;
+import ua.knu.pashchenko_maksym.service.ReportService;
+
+/**
+ * Паралельний виконавець сценаріїв {@code NZ_test.txt} з урахуванням залежностей.
+ *
+ * <p>Для кожної команди визначається набір ключів, яких вона торкається, і режим доступу:
+ * <ul>
+ *     <li>{@code ADD_*} створює сутність ({@code new:<тип>}, запис): id видає послідовність БД,
+ *     тому створення одного типу виконуються строго в порядку файлу, інакше числові
+ *     посилання в наступних командах вказували б на інші записи;</li>
+ *     <li>команди, що посилаються на id, читають відповідний {@code new:<тип>} —
+ *     чекають на попередні створення цього типу;</li>
+ *     <li>{@code SET_GRADE} дописує оцінки студента/курсу/викладача — такі дописування
+ *     комутують між собою і виконуються паралельно;</li>
+ *     <li>{@code REPORT_*} читає студента/групу/курс/викладача — чекає на попередні
+ *     дописування тих самих сутностей, а наступні дописування чекають на звіт.</li>
+ * </ul>
+ * Несумісні доступи до ключа впорядковуються через службовий вузол-бар'єр,
+ * тож кількість ребер графа лінійна щодо кількості команд.
+ *
+ * <p>Файл обробляється вікнами по {@link #WINDOW_SIZE} команд (межа вікна — повний бар'єр),
+ * тож пам'ять обмежена незалежно від довжини сценарію. Лог і тексти звітів кожної
+ * команди буферизуються й виводяться строго в порядку рядків файлу, тож лог детермінований.
+ * Він збігається з логом послідовного виконання з одним винятком: оцінки виводяться без id,
+ * бо паралельні {@code SET_GRADE} отримують id з послідовності в порядку завершення вставок.
+ * Кожна команда виконується у власній транзакції (auto-commit), щоб залежні команди
+ * в інших потоках бачили її зміни.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class ParallelScriptRunner {
+
+    /**
+     * Кількість команд в одному вікні графа залежностей.
+     */
+    public static final int WINDOW_SIZE = 10_000;
+
+    /**
+     * Режим доступу команди до ключа.
+     */
+    private enum Access {
+        READ, APPEND, WRITE
+    }
+
+    private final GradeBookService service;
+    private final ReportService reportService;
+    private final PrintStream reportOut;
+    private final int workers;
+
+    /**
+     * @param reportOut потік, у який по порядку виводяться тексти звітів
+     * @param workers   кількість потоків (&gt; 0)
+     * @throws IllegalArgumentException якщо {@code workers <= 0}
+     */
+    public ParallelScriptRunner(GradeBookService service,
+                                ReportService reportService,
+                                PrintStream reportOut,
+                                int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be positive");
+        }
+        this.service = service;
+        this.reportService = reportService;
+        this.reportOut = reportOut;
+        this.workers = workers;
+    }
+
+    /**
+     * Виконує сценарій і записує лог у {@code logFile} у форматі послідовного режиму
+     * (оцінки — без id).
+     *
+     * @return підсумок виконання
+     * @throws IOException якщо не вдалося прочитати сценарій або записати лог
+     */
+    public Summary run(Path script, Path logFile) throws IOException {
+        long start = System.nanoTime();
+        long commands = 0;
+        long errors = 0;
+        int windows = 0;
+        int longestChain = 0;
+
+        if (logFile.getParent() != null) {
+            Files.createDirectories(logFile.getParent());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new WorkerThreadFactory());
+        try (BufferedReader in = Files.newBufferedReader(script, StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8)) {
+
+            out.write("=== Test run log ===\n");
+
+            List<String> window = new ArrayList<>();
+            boolean eof = false;
+            while (!eof) {
+                String rawLine = in.readLine();
+                eof = rawLine == null;
+                if (!eof && ScriptCommandExecutor.commandOf(rawLine) != null) {
+                    window.add(rawLine.trim());
+                }
+                if (window.size() == WINDOW_SIZE || (eof && !window.isEmpty())) {
+                    Graph graph = new Graph(window);
+                    longestChain = Math.max(longestChain, graph.longestChain);
+                    errors += execute(graph, pool, out);
+                    commands += window.size();
+                    windows++;
+                    window.clear();
+                    out.flush();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return new Summary(commands, errors, workers, windows, longestChain,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Виконує граф одного вікна й пише результати в порядку рядків.
+     *
+     * @return кількість невдалих команд
+     */
+    private long execute(Graph graph, ExecutorService pool, BufferedWriter out) throws IOException {
+        for (Node root : graph.roots) {
+            pool.execute(() -> run(root, pool));
+        }
+
+        long errors = 0;
+        for (Node node : graph.commands) {
+            node.result.join();
+            out.write("Command: ");
+            out.write(node.line);
+            out.write('\n');
+            out.write(node.log);
+            out.write('\n');
+            if (node.report != null) {
+                reportOut.print(node.report);
+            }
+            if (!node.ok) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+
+    private void run(Node node, ExecutorService pool) {
+        StringBuilder log = new StringBuilder();
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        try (PrintStream reportStream = new PrintStream(report, false, StandardCharsets.UTF_8)) {
+            ScriptCommandExecutor executor = new ScriptCommandExecutor(service, reportService, reportStream, false);
+            node.ok = executor.execute(node.line, log);
+        } catch (RuntimeException e) {
+            log.append("  ERROR: ").append(e.getMessage()).append('\n');
+        } finally {
+            // вузол завершується навіть після Error, інакше запис логу чекав би вічно
+            node.log = log.toString();
+            node.report = report.size() == 0 ? null : report.toString(StandardCharsets.UTF_8);
+            complete(node, pool);
+        }
+    }
+
+    /**
+     * Позначає вузол виконаним і запускає залежні вузли, що стали готовими.
+     * Бар'єри виконуються одразу в цьому ж потоці (ітеративно, без рекурсії).
+     */
+    private void complete(Node node, ExecutorService pool) {
+        Deque<Node> done = new ArrayDeque<>();
+        done.push(node);
+        while (!done.isEmpty()) {
+            Node current = done.pop();
+            current.result.complete(null);
+            for (Node dependent : current.dependents) {
+                if (dependent.pending.decrementAndGet() == 0) {
+                    if (dependent.line == null) {
+                        done.push(dependent);
+                    } else {
+                        pool.execute(() -> run(dependent, pool));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Вузол графа: команда сценарію або бар'єр ({@code line == null}).
+     */
+    private static final class Node {
+
+        private final String line;
+        private final List<Node> dependents = new ArrayList<>(2);
+        /**
+         * Вузли, від яких залежить цей; лише для відсіювання повторних ребер під час побудови.
+         */
+        private final Set<Node> dependencies = new HashSet<>(4);
+        private final AtomicInteger pending = new AtomicInteger();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        /**
+         * Кількість команд у найдовшому ланцюжку попередників.
+         */
+        private int depth;
+
+        private volatile String log;
+        private volatile String report;
+        private volatile boolean ok;
+
+        private Node(String line) {
+            this.line = line;
+        }
+
+        private void dependsOn(Node dependency) {
+            // між двома ребрами до однієї залежності може з'явитися бар'єр іншого ключа,
+            // тож повтор відсіюється за множиною, а не за останнім елементом списку
+            if (dependency == null || !dependencies.add(dependency)) {
+                return;
+            }
+            dependency.dependents.add(this);
+            pending.incrementAndGet();
+            // бар'єр не додає довжини ланцюжку: його глибина — глибина найглибшої команди групи
+            depth = Math.max(depth, dependency.depth + (line == null ? 0 : 1));
+        }
+    }
+
+    /**
+     * Стан ключа: поточна група сумісних доступів і бар'єр перед нею.
+     */
+    private static final class KeyState {
+
+        private Access access;
+        private List<Node> group = new ArrayList<>();
+        private Node gate;
+    }
+
+    /**
+     * Граф залежностей одного вікна.
+     */
+    private static final class Graph {
+
+        private final List<Node> commands;
+        private final List<Node> roots = new ArrayList<>();
+        private final Map<String, KeyState> keys = new HashMap<>();
+        private int longestChain;
+
+        private Graph(List<String> lines) {
+            commands = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                Node node = new Node(line);
+                commands.add(node);
+                link(node);
+                longestChain = Math.max(longestChain, node.depth + 1);
+            }
+            for (Node node : commands) {
+                if (node.pending.get() == 0) {
+                    roots.add(node);
+                }
+            }
+        }
+
+        /**
+         * Визначає ключі команди; некоректні рядки не мають залежностей
+         * (виконавець усе одно запише для них помилку).
+         */
+        private void link(Node node) {
+            String[] p = node.line.split(";");
+            String cmd = p[0].trim().toUpperCase();
+            try {
+                switch (cmd) {
+                    case "ADD_GROUP":
+                        access(node, "new:group", Access.WRITE);
+                        break;
+                    case "ADD_TEACHER":
+                        access(node, "new:teacher", Access.WRITE);
+                        break;
+                    case "ADD_STUDENT":
+                        access(node, "new:student", Access.WRITE);
+                        access(node, "new:group", Access.READ);
+                        access(node, "group:" + id(p, 4), Access.APPEND);
+                        break;
+                    case "ADD_COURSE":
+                        access(node, "new:course", Access.WRITE);
+                        access(node, "new:teacher", Access.READ);
+                        access(node, "teacher:" + id(p, 4), Access.APPEND);
+                        break;
+                    case "SET_GRADE": {
+                        access(node, "new:student", Access.READ);
+                        access(node, "new:course", Access.READ);
+                        access(node, "student:" + id(p, 1), Access.APPEND);
+                        access(node, "course:" + id(p, 2), Access.APPEND);
+                        long teacherId = id(p, 3);
+                        if (teacherId != 0) {
+                            access(node, "new:teacher", Access.READ);
+                            access(node, "teacher:" + teacherId, Access.APPEND);
+                        }
+                        break;
+                    }
+                    case "REPORT_STUDENT":
+                        access(node, "new:student", Access.READ);
+                        access(node, "student:" + id(p, 1), Access.READ);
+                        break;
+                    case "REPORT_GROUP_COURSE":
+                        access(node, "new:group", Access.READ);
+                        access(node, "new:student", Access.READ);
+                        access(node, "new:course", Access.READ);
+                        access(node, "group:" + id(p, 1), Access.READ);
+                        access(node, "course:" + id(p, 2), Access.READ);
+                        break;
+                    case "REPORT_TEACHER":
+                        access(node, "new:teacher", Access.READ);
+                        access(node, "teacher:" + id(p, 1), Access.READ);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (RuntimeException ignored) {
+                // некоректні поля: команда завершиться помилкою, ключі, додані до збою, лишаються
+            }
+        }
+
+        private static long id(String[] parts, int index) {
+            return Long.parseLong(parts[index].trim());
+        }
+
+        /**
+         * Додає доступ до ключа: сумісний доступ (READ/READ, APPEND/APPEND) приєднується
+         * до поточної групи, несумісний чекає на всю поточну групу через бар'єр.
+         */
+        private void access(Node node, String key, Access access) {
+            KeyState state = keys.get(key);
+            if (state == null) {
+                state = new KeyState();
+                state.access = access;
+                state.group.add(node);
+                keys.put(key, state);
+                return;
+            }
+
+            if (state.access == access && access != Access.WRITE) {
+                node.dependsOn(state.gate);
+                state.group.add(node);
+                return;
+            }
+
+            Node gate;
+            if (state.group.size() == 1) {
+                gate = state.group.get(0);
+            } else {
+                gate = new Node(null);
+                for (Node member : state.group) {
+                    gate.dependsOn(member);
+                }
+            }
+            node.dependsOn(gate);
+            state.access = access;
+            state.gate = gate;
+            state.group = new ArrayList<>();
+            state.group.add(node);
+        }
+    }
+
+    /**
+     * Підсумок паралельного виконання сценарію.
+     */
+    public static final class Summary {
+
+        private final long commands;
+        private final long errors;
+        private final int workers;
+        private final int windows;
+        private final int longestChain;
+        private final long elapsedMillis;
+
+        private Summary(long commands, long errors, int workers, int windows, int longestChain,
+                        long elapsedMillis) {
+            this.commands = commands;
+            this.errors = errors;
+            this.workers = workers;
+            this.windows = windows;
+            this.longestChain = longestChain;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return найдовший ланцюжок залежних команд у межах вікна (нижня межа часу виконання)
+         */
+        public int getLongestChain() {
+            return longestChain;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ParallelScriptSummary{commands=%d, errors=%d, workers=%d, windows=%d, "
+                            + "longestChain=%d, elapsed=%d ms}",
+                    commands, errors, workers, windows, longestChain, elapsedMillis);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "script-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
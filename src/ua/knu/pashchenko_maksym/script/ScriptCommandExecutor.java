@@ -0,0 +1,289 @@
+package ua.knu.pashchenko_maksym.script;
+
+import java.io.PrintStream;
+import java.time.LocalDate;
+import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.service.GradeBookService;
+import ua.knu.pashchenko_maksym.service.ReportService;
+
+/**
+ * Виконує команди тестового сценарію у форматі {@code NZ_test.txt}.
+ *
+ * <p>Підтримувані команди:
+ * <pre>
+ * ADD_GROUP;name;year
+ * ADD_STUDENT;firstName;lastName;email;groupId;enrollmentYear
+ * ADD_TEACHER;firstName;lastName;department;email
+ * ADD_COURSE;name;semester;year;teacherId;credits
+ * SET_GRADE;studentId;courseId;teacherIdOr0;value;date
+ * REPORT_STUDENT;studentId
+ * REPORT_GROUP_COURSE;groupId;courseId
+ * REPORT_TEACHER;teacherId
+ * </pre>
+ *
+ * <p>Результат кожної команди дописується в текстовий лог; звіти виводяться
+ * у переданий потік (консоль для тестового режиму, "порожній" потік для навантаження).
+ * Екземпляр не має змінного стану і може використовуватися з кількох потоків.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class ScriptCommandExecutor {
+
+    private final GradeBookService service;
+    private final ReportService reportService;
+    private final PrintStream reportOut;
+    private final boolean logGradeIds;
+
+    /**
+     * @param reportOut потік, у який пишуться тексти звітів {@code REPORT_*}
+     */
+    public ScriptCommandExecutor(GradeBookService service,
+                                 ReportService reportService,
+                                 PrintStream reportOut) {
+        this(service, reportService, reportOut, true);
+    }
+
+    /**
+     * @param logGradeIds чи виводити в лог id доданих оцінок; {@code false} — для паралельного
+     *                    виконання, де послідовність видає id у порядку завершення вставок
+     */
+    ScriptCommandExecutor(GradeBookService service,
+                          ReportService reportService,
+                          PrintStream reportOut,
+                          boolean logGradeIds) {
+        this.service = service;
+        this.reportService = reportService;
+        this.reportOut = reportOut;
+        this.logGradeIds = logGradeIds;
+    }
+
+    /**
+     * Повертає назву команди рядка сценарію.
+     *
+     * @param line рядок файлу
+     * @return назва команди у верхньому регістрі або {@code null} для порожніх рядків і коментарів
+     */
+    public static String commandOf(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        int end = trimmed.indexOf(';');
+        return (end < 0 ? trimmed : trimmed.substring(0, end)).trim().toUpperCase();
+    }
+
+    /**
+     * Виконує один рядок сценарію.
+     *
+     * @param line рядок команди (не коментар)
+     * @param log  буфер для запису текстового логу
+     * @return {@code false}, якщо команда невідома, некоректна або відхилена сервісом
+     *         (повідомлення {@code ERROR} вже записано в лог)
+     * @throws RuntimeException помилки доступу до БД та розбору чисел/дат передаються викликачу
+     */
+    public boolean execute(String line, StringBuilder log) {
+        String[] parts = line.trim().split(";");
+        String cmd = parts[0].trim().toUpperCase();
+
+        switch (cmd) {
+            case "ADD_GROUP":
+                return handleAddGroup(parts, log);
+            case "ADD_STUDENT":
+                return handleAddStudent(parts, log);
+            case "ADD_TEACHER":
+                return handleAddTeacher(parts, log);
+            case "ADD_COURSE":
+                return handleAddCourse(parts, log);
+            case "SET_GRADE":
+                return handleSetGrade(parts, log);
+            case "REPORT_STUDENT":
+                return handleReportStudent(parts, log);
+            case "REPORT_GROUP_COURSE":
+                return handleReportGroupCourse(parts, log);
+            case "REPORT_TEACHER":
+                return handleReportTeacher(parts, log);
+            default:
+                log.append("  Unknown command: ").append(cmd).append('\n');
+                return false;
+        }
+    }
+
+    /**
+     * Обробляє команду {@code ADD_GROUP}.
+     *
+     * <p>Очікуваний формат:
+     * {@code ADD_GROUP;name;year}
+     */
+    private boolean handleAddGroup(String[] parts, StringBuilder log) {
+        if (parts.length < 3) {
+            log.append("  ERROR: ADD_GROUP requires name;year\n");
+            return false;
+        }
+        String name = parts[1].trim();
+        int year = Integer.parseInt(parts[2].trim());
+        var g = service.createGroup(name, (short) year);
+        log.append("  OK: created group ").append(g).append('\n');
+        return true;
+    }
+
+    /**
+     * Обробляє команду {@code ADD_STUDENT}.
+     *
+     * <p>Очікуваний формат:
+     * {@code ADD_STUDENT;firstName;lastName;email;groupId;enrollmentYear}
+     */
+    private boolean handleAddStudent(String[] parts, StringBuilder log) {
+        if (parts.length < 6) {
+            log.append("  ERROR: ADD_STUDENT requires firstName;lastName;email;groupId;enrollmentYear\n");
+            return false;
+        }
+        String firstName = parts[1].trim();
+        String lastName = parts[2].trim();
+        String email = parts[3].trim();
+        long groupId = Long.parseLong(parts[4].trim());
+        int year = Integer.parseInt(parts[5].trim());
+
+        var s = service.createStudent(firstName, lastName, email, groupId, year);
+        log.append("  OK: created student ").append(s).append('\n');
+        return true;
+    }
+
+    /**
+     * Обробляє команду {@code ADD_TEACHER}.
+     *
+     * <p>Очікуваний формат:
+     * {@code ADD_TEACHER;firstName;lastName;department;email}
+     */
+    private boolean handleAddTeacher(String[] parts, StringBuilder log) {
+        if (parts.length < 5) {
+            log.append("  ERROR: ADD_TEACHER requires firstName;lastName;department;email\n");
+            return false;
+        }
+        String firstName = parts[1].trim();
+        String lastName = parts[2].trim();
+        String department = parts[3].trim();
+        String email = parts[4].trim();
+
+        var t = service.createTeacher(firstName, lastName, department, email);
+        log.append("  OK: created teacher ").append(t).append('\n');
+        return true;
+    }
+
+    /**
+     * Обробляє команду {@code ADD_COURSE}.
+     *
+     * <p>Очікуваний формат:
+     * {@code ADD_COURSE;name;semester;year;teacherId;credits}
+     */
+    private boolean handleAddCourse(String[] parts, StringBuilder log) {
+        if (parts.length < 6) {
+            log.append("  ERROR: ADD_COURSE requires name;semester;year;teacherId;credits\n");
+            return false;
+        }
+        String name = parts[1].trim();
+        Integer semester = Integer.parseInt(parts[2].trim());
+        Integer year = Integer.parseInt(parts[3].trim());
+        Long teacherId = Long.parseLong(parts[4].trim());
+        Integer credits = Integer.parseInt(parts[5].trim());
+
+        var c = service.createCourse(name, semester, year, teacherId, credits);
+        log.append("  OK: created course ").append(c).append('\n');
+        return true;
+    }
+
+    /**
+     * Обробляє команду {@code SET_GRADE}.
+     *
+     * <p>Очікуваний формат:
+     * {@code SET_GRADE;studentId;courseId;teacherIdOr0;value;date}
+     * (якщо {@code teacherIdOr0 = 0}, оцінка не прив'язується до викладача).
+     */
+    private boolean handleSetGrade(String[] parts, StringBuilder log) {
+        if (parts.length < 6) {
+            log.append("  ERROR: SET_GRADE requires studentId;courseId;teacherIdOr0;value;date\n");
+            return false;
+        }
+        long studentId = Long.parseLong(parts[1].trim());
+        long courseId = Long.parseLong(parts[2].trim());
+        long teacherIdRaw = Long.parseLong(parts[3].trim());
+        Long teacherId = teacherIdRaw == 0 ? null : teacherIdRaw;
+        double value = Double.parseDouble(parts[4].trim());
+        String dateStr = parts[5].trim();
+
+        LocalDate date = dateStr.isEmpty() ? LocalDate.now() : LocalDate.parse(dateStr);
+
+        try {
+            var g = service.addGrade(studentId, courseId, teacherId, value, date);
+            log.append("  OK: added grade ").append(logGradeIds ? g.toString() : withoutId(g)).append('\n');
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.append("  ERROR: ").append(e.getMessage()).append('\n');
+            return false;
+        }
+    }
+
+    /**
+     * Те саме, що {@link Grade#toString()}, але без id.
+     */
+    private static String withoutId(Grade g) {
+        return "Grade{student=" + g.getStudentId()
+                + ", course=" + g.getCourseId()
+                + ", value=" + g.getValue()
+                + ", date=" + g.getGradeDate() + "}";
+    }
+
+    /**
+     * Обробляє команду {@code REPORT_STUDENT}:
+     * рахує середній бал студента і формує звіт.
+     */
+    private boolean handleReportStudent(String[] parts, StringBuilder log) {
+        if (parts.length < 2) {
+            log.append("  ERROR: REPORT_STUDENT requires studentId\n");
+            return false;
+        }
+        long studentId = Long.parseLong(parts[1].trim());
+        log.append("  Student average: ")
+                .append(String.format("%.2f", service.getStudentAverageGrade(studentId)))
+                .append('\n');
+        reportService.writeStudentReport(studentId, reportOut);
+        return true;
+    }
+
+    /**
+     * Обробляє команду {@code REPORT_GROUP_COURSE}:
+     * рахує середній бал групи по курсу і формує звіт.
+     */
+    private boolean handleReportGroupCourse(String[] parts, StringBuilder log) {
+        if (parts.length < 3) {
+            log.append("  ERROR: REPORT_GROUP_COURSE requires groupId;courseId\n");
+            return false;
+        }
+        long groupId = Long.parseLong(parts[1].trim());
+        long courseId = Long.parseLong(parts[2].trim());
+        double avg = service.getGroupAverageForCourse(groupId, courseId);
+        log.append("  Group-course average: ")
+                .append(String.format("%.2f", avg))
+                .append('\n');
+        reportService.writeGroupCourseReport(groupId, courseId, reportOut);
+        return true;
+    }
+
+    /**
+     * Обробляє команду {@code REPORT_TEACHER}:
+     * рахує середній бал оцінок, виставлених викладачем, і формує звіт.
+     */
+    private boolean handleReportTeacher(String[] parts, StringBuilder log) {
+        if (parts.length < 2) {
+            log.append("  ERROR: REPORT_TEACHER requires teacherId\n");
+            return false;
+        }
+        long teacherId = Long.parseLong(parts[1].trim());
+        double avg = service.getTeacherAverageGrade(teacherId);
+        log.append("  Teacher average: ")
+                .append(String.format("%.2f", avg))
+                .append('\n');
+        reportService.writeTeacherReport(teacherId, reportOut);
+        return true;
+    }
+}
@@ -0,0 +1,180 @@
+package ua.knu.pashchenko_maksym.script;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Savepoint;
+import ua.knu.pashchenko_maksym.dao.TransactionScope;
+
+/**
+ * Потоковий виконавець сценаріїв {@code NZ_test.txt}.
+ *
+ * <p>Файл читається по рядку, а лог пишеться пакетами, тож пам'ять не залежить від довжини
+ * сценарію. Послідовні команди групуються в транзакції по {@code transactionSize} на одному
+ * з'єднанні ({@link TransactionScope}): замість фіксації кожної команди окремо — одна
+ * фіксація на пакет. Лог пакета дописується у файл лише після успішної фіксації, тож
+ * {@code OK} у лозі ніколи не описує відкочені зміни.
+ *
+ * <p>Перед кожною командою створюється точка збереження, тож невдала команда
+ * відкочує лише власні зміни, а решта пакета фіксується. Після успішної команди точка
+ * звільняється, щоб у транзакції не накопичувались відкриті підтранзакції
+ * (понад 64 на транзакцію PostgreSQL сповільнює знімки для всіх сесій).
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class ScriptRunner {
+
+    /**
+     * Кількість команд в одній транзакції за замовчуванням.
+     */
+    public static final int DEFAULT_TRANSACTION_SIZE = 50;
+
+    private final ScriptCommandExecutor executor;
+    private final int transactionSize;
+
+    /**
+     * @param executor        виконавець окремих команд
+     * @param transactionSize кількість команд в одній транзакції (&gt; 0)
+     * @throws IllegalArgumentException якщо {@code transactionSize <= 0}
+     */
+    public ScriptRunner(ScriptCommandExecutor executor, int transactionSize) {
+        if (transactionSize <= 0) {
+            throw new IllegalArgumentException("transactionSize must be positive");
+        }
+        this.executor = executor;
+        this.transactionSize = transactionSize;
+    }
+
+    /**
+     * Виконує сценарій і записує лог у {@code logFile}.
+     *
+     * @param script  файл сценарію
+     * @param logFile файл логу (перезаписується)
+     * @return підсумок виконання
+     * @throws IOException якщо не вдалося прочитати сценарій або записати лог
+     */
+    public Summary run(Path script, Path logFile) throws IOException {
+        long start = System.nanoTime();
+        long commands = 0;
+        long errors = 0;
+        long transactions = 0;
+
+        if (logFile.getParent() != null) {
+            Files.createDirectories(logFile.getParent());
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(script, StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
+             TransactionScope tx = TransactionScope.begin()) {
+
+            out.write("=== Test run log ===\n");
+
+            StringBuilder log = new StringBuilder(256);
+            StringBuilder batchLog = new StringBuilder(256 * Math.min(transactionSize, 1_000));
+            int pending = 0;
+            String rawLine;
+            while ((rawLine = in.readLine()) != null) {
+                if (ScriptCommandExecutor.commandOf(rawLine) == null) {
+                    continue;
+                }
+                String line = rawLine.trim();
+
+                log.append("Command: ").append(line).append('\n');
+                if (!execute(tx, line, log)) {
+                    errors++;
+                }
+                log.append('\n');
+                batchLog.append(log);
+                log.setLength(0);
+
+                commands++;
+                if (++pending == transactionSize) {
+                    tx.commit();
+                    out.append(batchLog);
+                    out.flush();
+                    batchLog.setLength(0);
+                    transactions++;
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                tx.commit();
+                out.append(batchLog);
+                transactions++;
+            }
+        }
+
+        return new Summary(commands, errors, transactions, transactionSize,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Виконує команду всередині точки збереження.
+     *
+     * @return {@code false}, якщо команду відхилено або вона завершилась помилкою
+     */
+    private boolean execute(TransactionScope tx, String line, StringBuilder log) {
+        Savepoint savepoint = tx.savepoint();
+        boolean ok;
+        try {
+            ok = executor.execute(line, log);
+        } catch (RuntimeException e) {
+            log.append("  ERROR: ").append(e.getMessage()).append('\n');
+            ok = false;
+        }
+        if (ok) {
+            tx.release(savepoint);
+        } else {
+            // після помилки SQL транзакція "зламана" до відкату точки збереження
+            tx.rollbackTo(savepoint);
+        }
+        return ok;
+    }
+
+    /**
+     * Підсумок виконання сценарію.
+     */
+    public static final class Summary {
+
+        private final long commands;
+        private final long errors;
+        private final long transactions;
+        private final int transactionSize;
+        private final long elapsedMillis;
+
+        private Summary(long commands, long errors, long transactions, int transactionSize, long elapsedMillis) {
+            this.commands = commands;
+            this.errors = errors;
+            this.transactions = transactions;
+            this.transactionSize = transactionSize;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getTransactions() {
+            return transactions;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ScriptSummary{commands=%d, errors=%d, transactions=%d (size %d), "
+                            + "elapsed=%d ms}",
+                    commands, errors, transactions, transactionSize, elapsedMillis);
+        }
+    }
+}
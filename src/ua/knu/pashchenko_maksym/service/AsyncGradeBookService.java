@@ -0,0 +1,181 @@
+package ua.knu.pashchenko_maksym.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import ua.knu.pashchenko_maksym.analytics.GradeSketch;
+import ua.knu.pashchenko_maksym.dao.TransactionScope;
+import ua.knu.pashchenko_maksym.model.Course;
+import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.model.Group;
+import ua.knu.pashchenko_maksym.model.Student;
+import ua.knu.pashchenko_maksym.model.StudentRank;
+import ua.knu.pashchenko_maksym.model.Teacher;
+
+/**
+ * Асинхронний фасад над {@link GradeBookService}: кожен метод повертає
+ * {@link CompletableFuture}, а блокуючий JDBC-виклик виконується у переданому {@link Executor}.
+ *
+ * <p>Незалежні запити в складених операціях (наприклад, завантаження групи та курсу
+ * в {@link #withGroupAndCourse}) запускаються одночасно, тож операція триває
+ * як найповільніший запит, а не як їхня сума. Кількість одночасних запитів до БД
+ * все одно обмежена пулом з'єднань.
+ *
+ * <p>Помилки (у тому числі {@link IllegalArgumentException} для неіснуючих записів)
+ * завершують future виключно, як у відповідному синхронному методі.
+ *
+ * <p>Виклики виконуються в інших потоках, тож не бачать {@link TransactionScope}
+ * викликача: виклик усередині відкритої області відхиляється з {@link IllegalStateException},
+ * щоб запит не виконався непомітно поза транзакцією.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class AsyncGradeBookService implements AutoCloseable {
+
+    private final GradeBookService service;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Створює фасад із власним виконавцем на віртуальних потоках (потік на виклик);
+     * виконавець закривається в {@link #close()}.
+     */
+    public AsyncGradeBookService(GradeBookService service) {
+        this(service, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    /**
+     * @param executor виконавець блокуючих викликів; його життєвим циклом керує викликач
+     */
+    public AsyncGradeBookService(GradeBookService service, Executor executor) {
+        this(service, executor, false);
+    }
+
+    private AsyncGradeBookService(GradeBookService service, Executor executor, boolean owned) {
+        if (service == null || executor == null) {
+            throw new IllegalArgumentException("service and executor must not be null");
+        }
+        this.service = service;
+        this.executor = executor;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    // =========================
+    // LOOKUPS
+    // =========================
+
+    public CompletableFuture<Student> getStudentById(Long id) {
+        return async(() -> service.getStudentById(id));
+    }
+
+    public CompletableFuture<Group> getGroupById(Long id) {
+        return async(() -> service.getGroupById(id));
+    }
+
+    public CompletableFuture<Course> getCourseById(Long id) {
+        return async(() -> service.getCourseById(id));
+    }
+
+    public CompletableFuture<Teacher> getTeacherById(Long id) {
+        return async(() -> service.getTeacherById(id));
+    }
+
+    public CompletableFuture<List<Student>> getStudentsByGroup(Long groupId) {
+        return async(() -> service.getStudentsByGroup(groupId));
+    }
+
+    public CompletableFuture<List<Grade>> getGradesForStudent(Long studentId) {
+        return async(() -> service.getGradesForStudent(studentId));
+    }
+
+    public CompletableFuture<List<Grade>> getGradesForStudentAndCourse(Long studentId, Long courseId) {
+        return async(() -> service.getGradesForStudentAndCourse(studentId, courseId));
+    }
+
+    public CompletableFuture<Double> getStudentAverageGrade(Long studentId) {
+        return async(() -> service.getStudentAverageGrade(studentId));
+    }
+
+    public CompletableFuture<Double> getGroupAverageForCourse(Long groupId, Long courseId) {
+        return async(() -> service.getGroupAverageForCourse(groupId, courseId));
+    }
+
+    public CompletableFuture<Double> getCourseAverageGrade(Long courseId) {
+        return async(() -> service.getCourseAverageGrade(courseId));
+    }
+
+    public CompletableFuture<Double> getTeacherAverageGrade(Long teacherId) {
+        return async(() -> service.getTeacherAverageGrade(teacherId));
+    }
+
+    public CompletableFuture<List<StudentRank>> getTopStudentsByCourse(Long courseId, int n) {
+        return async(() -> service.getTopStudentsByCourse(courseId, n));
+    }
+
+    public CompletableFuture<Map<Long, GradeSketch>> getCourseSketchesByGroup(Long courseId) {
+        return async(() -> service.getCourseSketchesByGroup(courseId));
+    }
+
+    /**
+     * Завантажує групу та курс одночасно і передає обидва (можливо {@code null})
+     * у {@code combiner}.
+     */
+    public <R> CompletableFuture<R> withGroupAndCourse(Long groupId,
+                                                       Long courseId,
+                                                       BiFunction<Group, Course, R> combiner) {
+        return getGroupById(groupId).thenCombine(getCourseById(courseId), combiner);
+    }
+
+    // =========================
+    // GRADES
+    // =========================
+
+    /**
+     * Асинхронний аналог {@link GradeBookService#addGrade} (одне звернення до БД).
+     * З чергою відкладеного запису потік виконавця лише ставить оцінку в чергу
+     * ({@link GradeBookService#submitGrade}) і не чекає фіксації пакета.
+     *
+     * @return future зі збереженою оцінкою; завершується з {@link IllegalArgumentException},
+     *         якщо студента, курсу або викладача не знайдено
+     */
+    public CompletableFuture<Grade> addGrade(Long studentId,
+                                             Long courseId,
+                                             Long teacherId,
+                                             double value,
+                                             LocalDate date) {
+        return async(() -> service.submitGrade(studentId, courseId, teacherId, value, date))
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Асинхронний аналог {@link GradeBookService#addGrades}.
+     */
+    public CompletableFuture<List<Long>> addGrades(List<Grade> grades) {
+        return async(() -> service.addGrades(grades));
+    }
+
+    /**
+     * Закриває власний пул потоків (якщо виконавця не передано ззовні).
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> call) {
+        if (TransactionScope.current() != null) {
+            throw new IllegalStateException("Async calls would run outside the caller's transaction");
+        }
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+}
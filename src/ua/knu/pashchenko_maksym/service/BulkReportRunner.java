@@ -0,0 +1,248 @@
+package ua.knu.pashchenko_maksym.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import ua.knu.pashchenko_maksym.dao.DataSourceProvider;
+import ua.knu.pashchenko_maksym.model.Course;
+import ua.knu.pashchenko_maksym.model.Group;
+
+/**
+ * Generates the group-course report for every (group, course) pair in parallel,
+ * one text file per pair.
+ *
+ * <p>Every report runs on its own virtual thread; a {@link Semaphore} with
+ * {@code parallelism} permits bounds how many of them do DB work at the same time.
+ * Each report holds at most one connection, and by default the limit equals the
+ * connection pool size, so reports never queue on {@link DataSourceProvider#getConnection()}.
+ *
+ * <p>A failing report does not stop the run: the error is recorded in the
+ * {@link Summary} and the remaining reports are still generated.
+ */
+public class BulkReportRunner {
+
+    /**
+     * Name of the summary file written next to the reports.
+     */
+    public static final String SUMMARY_FILE = "bulk_report_summary.txt";
+
+    private final GradeBookService gradeBookService;
+    private final ReportService reportService;
+    private final int parallelism;
+
+    public BulkReportRunner(GradeBookService gradeBookService, ReportService reportService) {
+        this(gradeBookService, reportService, DataSourceProvider.getPoolStats().getMaxSize());
+    }
+
+    /**
+     * @param parallelism maximum number of reports generated at the same time (&gt; 0)
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public BulkReportRunner(GradeBookService gradeBookService,
+                            ReportService reportService,
+                            int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.gradeBookService = gradeBookService;
+        this.reportService = reportService;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Generates all group-course reports into {@code outputDir}
+     * ({@code group_<id>_course_<id>_report.txt}) and writes {@link #SUMMARY_FILE} there.
+     *
+     * @return timings and failures of the run
+     * @throws IOException if the output directory or the summary cannot be written
+     */
+    public Summary run(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+
+        List<Group> groups = gradeBookService.getAllGroups();
+        List<Course> courses = gradeBookService.getAllCourses();
+
+        Semaphore dbPermits = new Semaphore(parallelism);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        List<ReportResult> results = new ArrayList<>();
+        try {
+            List<Future<ReportResult>> futures = new ArrayList<>();
+            for (Group group : groups) {
+                for (Course course : courses) {
+                    futures.add(executor.submit(() -> generate(group.getId(), course.getId(), outputDir, dbPermits)));
+                }
+            }
+            for (Future<ReportResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk report generation interrupted", e);
+        } catch (ExecutionException e) {
+            // generate() catches its own failures; this is a bug, not a report error
+            throw new IllegalStateException("Unexpected report failure", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Summary summary = new Summary(parallelism, (System.nanoTime() - start) / 1_000_000, results);
+        summary.writeTo(outputDir.resolve(SUMMARY_FILE));
+        return summary;
+    }
+
+    /**
+     * Report time is measured after the permit is acquired, so waiting for the limit
+     * does not count towards it.
+     */
+    private ReportResult generate(Long groupId, Long courseId, Path outputDir, Semaphore dbPermits)
+            throws InterruptedException {
+        Path file = outputDir.resolve("group_" + groupId + "_course_" + courseId + "_report.txt");
+        dbPermits.acquire();
+        long start = System.nanoTime();
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            reportService.writeGroupCourseReport(groupId, courseId, out);
+            if (out.checkError()) {
+                throw new IOException("Error writing " + file);
+            }
+            return new ReportResult(groupId, courseId, elapsedMillis(start), null);
+        } catch (IOException | RuntimeException e) {
+            return new ReportResult(groupId, courseId, elapsedMillis(start), e.toString());
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Outcome of a single report; {@code error} is {@code null} on success.
+     */
+    public static final class ReportResult {
+
+        private final Long groupId;
+        private final Long courseId;
+        private final long millis;
+        private final String error;
+
+        private ReportResult(Long groupId, Long courseId, long millis, String error) {
+            this.groupId = groupId;
+            this.courseId = courseId;
+            this.millis = millis;
+            this.error = error;
+        }
+
+        public Long getGroupId() {
+            return groupId;
+        }
+
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+    }
+
+    /**
+     * Timings and failures of a bulk run.
+     */
+    public static final class Summary {
+
+        private final int parallelism;
+        private final long wallMillis;
+        private final List<ReportResult> results;
+
+        private Summary(int parallelism, long wallMillis, List<ReportResult> results) {
+            this.parallelism = parallelism;
+            this.wallMillis = wallMillis;
+            this.results = Collections.unmodifiableList(results);
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        public int getTotal() {
+            return results.size();
+        }
+
+        public int getFailed() {
+            return (int) results.stream().filter(ReportResult::isFailed).count();
+        }
+
+        public int getSucceeded() {
+            return getTotal() - getFailed();
+        }
+
+        /**
+         * Sum of per-report times, i.e. how long a sequential run would roughly take.
+         */
+        public long getTotalReportMillis() {
+            return results.stream().mapToLong(ReportResult::getMillis).sum();
+        }
+
+        public long getMaxReportMillis() {
+            return results.stream().mapToLong(ReportResult::getMillis).max().orElse(0);
+        }
+
+        /**
+         * @return sequential time divided by wall time (ideally close to parallelism)
+         */
+        public double getSpeedup() {
+            return wallMillis == 0 ? 0.0 : (double) getTotalReportMillis() / wallMillis;
+        }
+
+        public List<ReportResult> getResults() {
+            return results;
+        }
+
+        private void writeTo(Path file) throws IOException {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(toString());
+                writer.newLine();
+                for (ReportResult r : results) {
+                    if (r.isFailed()) {
+                        writer.write(String.format("FAILED group=%d course=%d (%d ms): %s",
+                                r.getGroupId(), r.getCourseId(), r.getMillis(), r.getError()));
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("BulkReportSummary{reports=%d, succeeded=%d, failed=%d, parallelism=%d, "
+                            + "wall=%d ms, sumOfReports=%d ms, slowest=%d ms, speedup=%.2f}",
+                    getTotal(), getSucceeded(), getFailed(), parallelism,
+                    wallMillis, getTotalReportMillis(), getMaxReportMillis(), getSpeedup());
+        }
+    }
+}
@@ -2,17 +2,30 @@ package ua.knu.pashchenko_maksym.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import ua.knu.pashchenko_maksym.analytics.GradeColumnStore;
+import ua.knu.pashchenko_maksym.analytics.GradeDistribution;
+import ua.knu.pashchenko_maksym.analytics.GradeSketch;
 import ua.knu.pashchenko_maksym.dao.CourseDao;
 import ua.knu.pashchenko_maksym.dao.GradeDao;
+import ua.knu.pashchenko_maksym.dao.GradeScanDao;
 import ua.knu.pashchenko_maksym.dao.GroupDao;
+import ua.knu.pashchenko_maksym.dao.Page;
 import ua.knu.pashchenko_maksym.dao.StudentDao;
 import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.dao.TransactionScope;
+import ua.knu.pashchenko_maksym.dao.UnitOfWork;
 import ua.knu.pashchenko_maksym.model.Course;
 import ua.knu.pashchenko_maksym.model.Grade;
 import ua.knu.pashchenko_maksym.model.Group;
 import ua.knu.pashchenko_maksym.model.Student;
+import ua.knu.pashchenko_maksym.model.StudentRank;
 import ua.knu.pashchenko_maksym.model.Teacher;
 
 public class GradeBookService {
@@ -22,17 +35,49 @@ public class GradeBookService {
     private final CourseDao courseDao;
     private final TeacherDao teacherDao;
     private final GradeDao gradeDao;
+    private final GradeScanDao gradeScanDao;
+    private final GradeWriteBehindQueue gradeQueue;
 
     public GradeBookService(StudentDao studentDao,
                             GroupDao groupDao,
                             CourseDao courseDao,
                             TeacherDao teacherDao,
                             GradeDao gradeDao) {
+        this(studentDao, groupDao, courseDao, teacherDao, gradeDao, null);
+    }
+
+    /**
+     * @param gradeScanDao джерело розподілу оцінок, агрегованого в БД; якщо {@code null},
+     *                     статистика розподілу рахується потоковим проходом по оцінках курсу
+     */
+    public GradeBookService(StudentDao studentDao,
+                            GroupDao groupDao,
+                            CourseDao courseDao,
+                            TeacherDao teacherDao,
+                            GradeDao gradeDao,
+                            GradeScanDao gradeScanDao) {
+        this(studentDao, groupDao, courseDao, teacherDao, gradeDao, gradeScanDao, null);
+    }
+
+    /**
+     * @param gradeScanDao джерело розподілу оцінок, агрегованого в БД, або {@code null}
+     * @param gradeQueue   черга відкладеного запису, через яку {@link #addGrade} зберігає оцінки
+     *                     поза транзакціями, або {@code null} — кожна оцінка фіксується окремо
+     */
+    public GradeBookService(StudentDao studentDao,
+                            GroupDao groupDao,
+                            CourseDao courseDao,
+                            TeacherDao teacherDao,
+                            GradeDao gradeDao,
+                            GradeScanDao gradeScanDao,
+                            GradeWriteBehindQueue gradeQueue) {
         this.studentDao = studentDao;
         this.groupDao = groupDao;
         this.courseDao = courseDao;
         this.teacherDao = teacherDao;
         this.gradeDao = gradeDao;
+        this.gradeScanDao = gradeScanDao;
+        this.gradeQueue = gradeQueue;
     }
 
 
@@ -66,6 +111,13 @@ public class GradeBookService {
         return studentDao.findAll();
     }
 
+    /**
+     * Сторінка студентів; для наступної сторінки передайте {@link Page#getLast()}.
+     */
+    public Page<Student> getStudentsPage(Student after, int pageSize) {
+        return studentDao.findPage(after, pageSize);
+    }
+
     public List<Student> getStudentsByGroup(Long groupId) {
         return studentDao.findByGroupId(groupId);
     }
@@ -75,17 +127,23 @@ public class GradeBookService {
     }
 
 
+    /**
+     * Повертає групу з такою назвою або створює нову.
+     * Пошук і вставка виконуються в одній транзакції на одному з'єднанні.
+     */
     public Group createGroup(String name, short year) {
-        Group existing = groupDao.findByName(name);
-        if (existing != null) {
-            return existing;
-        }
+        return UnitOfWork.inTransaction(() -> {
+            Group existing = groupDao.findByName(name);
+            if (existing != null) {
+                return existing;
+            }
 
-        Group group = new Group();
-        group.setName(name);
-        group.setYear(year);
+            Group group = new Group();
+            group.setName(name);
+            group.setYear(year);
 
-        return groupDao.insert(group);
+            return groupDao.insert(group);
+        });
     }
 
     public boolean updateGroup(Group group) {
@@ -152,6 +210,10 @@ public class GradeBookService {
         return courseDao.findAll();
     }
 
+    public Page<Course> getCoursesPage(Course after, int pageSize) {
+        return courseDao.findPage(after, pageSize);
+    }
+
     public List<Course> getCoursesByTeacher(Long teacherId) {
         return courseDao.findByTeacherId(teacherId);
     }
@@ -185,35 +247,104 @@ public class GradeBookService {
         return teacherDao.findAll();
     }
 
+    public Page<Teacher> getTeachersPage(Teacher after, int pageSize) {
+        return teacherDao.findPage(after, pageSize);
+    }
+
     public List<Teacher> findTeachersByLastName(String lastName) {
         return teacherDao.findByLastName(lastName);
     }
 
-
+    /**
+     * Додає оцінку одним зверненням до БД.
+     *
+     * <p>Існування студента, курсу та викладача окремо не перевіряється:
+     * вставку відхиляють зовнішні ключі таблиці {@code grades}, а DAO перетворює
+     * порушення на {@link IllegalArgumentException}.
+     *
+     * <p>Якщо сервіс створено з {@link GradeWriteBehindQueue}, оцінка поза транзакцією
+     * зберігається через чергу разом з оцінками інших потоків, а метод чекає на фіксацію
+     * її пакета (без очікування — {@link #submitGrade}). Усередині {@link TransactionScope}
+     * оцінка вставляється синхронно, щоб вона фіксувалася й відкочувалася разом
+     * з транзакцією викликача; відхилена вставка відкочується до точки збереження
+     * і транзакцію не перериває.
+     *
+     * @param teacherId id викладача або {@code null}
+     * @param date      дата оцінки; {@code null} — сьогодні
+     * @return збережена оцінка з id
+     * @throws IllegalArgumentException якщо студента, курсу або викладача не знайдено
+     */
     public Grade addGrade(Long studentId,
                           Long courseId,
                           Long teacherId,
                           double value,
                           LocalDate date) {
-
-        if (studentDao.findById(studentId) == null) {
-            throw new IllegalArgumentException("Student with id " + studentId + " not found");
+        if (gradeQueue != null && TransactionScope.current() == null) {
+            try {
+                return gradeQueue.submit(studentId, courseId, teacherId, value, date).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
         }
-        if (courseDao.findById(courseId) == null) {
-            throw new IllegalArgumentException("Course with id " + courseId + " not found");
+        return gradeDao.insert(newGrade(studentId, courseId, teacherId, value, date));
+    }
+
+    /**
+     * Неблокувальний варіант {@link #addGrade} для викликачів, яким не потрібен id одразу.
+     *
+     * <p>З {@link GradeWriteBehindQueue} поза транзакцією повертає future черги, не чекаючи
+     * фіксації пакета. Інакше оцінка вставляється синхронно, як у {@link #addGrade},
+     * і повертається вже завершений future.
+     *
+     * @param teacherId id викладача або {@code null}
+     * @param date      дата оцінки; {@code null} — сьогодні
+     * @return future зі збереженою оцінкою; завершується з {@link IllegalArgumentException},
+     *         якщо студента, курсу або викладача не знайдено
+     */
+    public CompletableFuture<Grade> submitGrade(Long studentId,
+                                                Long courseId,
+                                                Long teacherId,
+                                                double value,
+                                                LocalDate date) {
+        if (gradeQueue != null && TransactionScope.current() == null) {
+            return gradeQueue.submit(studentId, courseId, teacherId, value, date);
         }
-        if (teacherId != null && teacherDao.findById(teacherId) == null) {
-            throw new IllegalArgumentException("Teacher with id " + teacherId + " not found");
+        try {
+            return CompletableFuture.completedFuture(
+                    gradeDao.insert(newGrade(studentId, courseId, teacherId, value, date)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
+    }
 
+    /**
+     * Створює ще не збережену оцінку так само, як {@link #addGrade}.
+     */
+    static Grade newGrade(Long studentId, Long courseId, Long teacherId, double value, LocalDate date) {
         Grade grade = new Grade();
         grade.setStudentId(studentId);
         grade.setCourseId(courseId);
         grade.setTeacherId(teacherId);
         grade.setValue(BigDecimal.valueOf(value));
         grade.setGradeDate(date != null ? date : LocalDate.now());
+        return grade;
+    }
 
-        return gradeDao.insert(grade);
+    /**
+     * Масове додавання оцінок (наприклад, результати іспиту) однією транзакцією.
+     *
+     * <p>Існування студентів, курсів та викладачів перевіряється одним запитом
+     * на весь пакет; повідомлення про помилки такі самі, як у {@link #addGrade}.
+     *
+     * @param grades оцінки без id; відсутня дата замінюється на сьогоднішню
+     * @return згенеровані id у порядку вхідного списку
+     * @throws IllegalArgumentException якщо хоча б одна оцінка посилається на неіснуючий запис
+     */
+    public List<Long> addGrades(List<Grade> grades) {
+        return gradeDao.insertAll(grades);
     }
 
     public boolean updateGrade(Grade grade) {
@@ -228,6 +359,10 @@ public class GradeBookService {
         return gradeDao.findById(id);
     }
 
+    public Page<Grade> getGradesPage(Grade after, int pageSize) {
+        return gradeDao.findPage(after, pageSize);
+    }
+
     public List<Grade> getGradesForStudent(Long studentId) {
         return gradeDao.findByStudentId(studentId);
     }
@@ -251,52 +386,186 @@ public class GradeBookService {
     /**
      * Середній бал студента по всім його оцінкам.
      *
+     * <p>Читає готовий агрегат (сума/кількість), тож вартість не залежить
+     * від кількості оцінок студента.
+     *
      * @return 0.0, якщо оцінок немає
      */
     public double getStudentAverageGrade(Long studentId) {
-        List<Grade> grades = gradeDao.findByStudentId(studentId);
-        return averageFromGrades(grades);
+        return gradeDao.summarizeByStudent(studentId).getAverage();
     }
 
     /**
      * Середній бал групи по конкретному курсу.
      *
      * <p>Бере всі оцінки з таблиці grades для всіх студентів цієї групи по цьому курсу.
+     * Агрегація виконується на стороні БД одним запитом, незалежно від розміру групи.
      */
     public double getGroupAverageForCourse(Long groupId, Long courseId) {
-        List<Student> students = studentDao.findByGroupId(groupId);
-        List<Grade> allGrades = new ArrayList<>();
-
-        for (Student s : students) {
-            allGrades.addAll(gradeDao.findByStudentAndCourse(s.getId(), courseId));
-        }
+        return gradeDao.summarizeByGroupAndCourse(groupId, courseId).getAverage();
+    }
 
-        return averageFromGrades(allGrades);
+    /**
+     * Середній бал по курсу (усі оцінки з цього курсу).
+     */
+    public double getCourseAverageGrade(Long courseId) {
+        return gradeDao.summarizeByCourse(courseId).getAverage();
     }
 
     /**
      * Середній бал по викладачу: усі оцінки, де виставляв цей викладач.
      */
     public double getTeacherAverageGrade(Long teacherId) {
-        List<Grade> grades = gradeDao.findByTeacherId(teacherId);
-        return averageFromGrades(grades);
+        return gradeDao.summarizeByTeacher(teacherId).getAverage();
+    }
+
+    // =========================
+    // RANKINGS
+    // =========================
+
+    /**
+     * Найкращі студенти курсу за середнім балом.
+     *
+     * <p>Рейтинг будується в БД з готових агрегатів (один рядок на студента),
+     * тож вартість не залежить від кількості оцінок. Студенти з однаковим середнім
+     * мають однаковий {@link StudentRank#getDenseRank()}; якщо N-те місце ділять кілька
+     * студентів, повертаються всі вони.
+     *
+     * @param n кількість місць (&gt; 0)
+     */
+    public List<StudentRank> getTopStudentsByCourse(Long courseId, int n) {
+        return gradeDao.rankStudentsByCourse(courseId, requirePositive(n), true);
+    }
+
+    /**
+     * Студенти курсу з найнижчим середнім балом (див. {@link #getTopStudentsByCourse}).
+     */
+    public List<StudentRank> getBottomStudentsByCourse(Long courseId, int n) {
+        return gradeDao.rankStudentsByCourse(courseId, requirePositive(n), false);
+    }
+
+    /**
+     * Найкращі студенти групи за середнім балом по всіх курсах.
+     */
+    public List<StudentRank> getTopStudentsByGroup(Long groupId, int n) {
+        return gradeDao.rankStudentsByGroup(groupId, requirePositive(n), true);
+    }
+
+    /**
+     * Студенти групи з найнижчим середнім балом по всіх курсах.
+     */
+    public List<StudentRank> getBottomStudentsByGroup(Long groupId, int n) {
+        return gradeDao.rankStudentsByGroup(groupId, requirePositive(n), false);
     }
 
-    private double averageFromGrades(List<Grade> grades) {
-        if (grades == null || grades.isEmpty()) {
-            return 0.0;
+    private static int requirePositive(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("N must be positive: " + n);
         }
-        double sum = 0.0;
-        int count = 0;
-        for (Grade grade : grades) {
-            if (grade.getValue() != null) {
-                sum += grade.getValue().doubleValue();
-                count++;
+        return n;
+    }
+
+    // =========================
+    // DISTRIBUTIONS
+    // =========================
+
+    /**
+     * Розподіл оцінок по курсу: медіана, p10/p90, стандартне відхилення та гістограма.
+     *
+     * @return статистика (з нульовою кількістю, якщо оцінок немає)
+     */
+    public GradeDistribution getCourseDistribution(Long courseId) {
+        return mergeSketches(getCourseSketchesByGroup(courseId).values()).toDistribution();
+    }
+
+    /**
+     * Розподіл оцінок групи по конкретному курсу.
+     *
+     * <p>Читає лише оцінки цієї групи; для кількох груп одного курсу вигідніше
+     * один раз побудувати {@link #getCourseSketchesByGroup(Long)}.
+     */
+    public GradeDistribution getGroupCourseDistribution(Long groupId, Long courseId) {
+        GradeSketch sketch = new GradeSketch();
+        if (gradeScanDao != null) {
+            gradeScanDao.scanValueCountsByGroupAndCourse(groupId, courseId,
+                    (group, valueCenti, count) -> sketch.add(valueCenti, count));
+        } else {
+            for (Grade grade : gradeDao.findByGroupAndCourse(groupId, courseId)) {
+                sketch.add(grade.getValue().movePointRight(2).intValue());
             }
         }
-        if (count == 0) {
-            return 0.0;
+        return sketch.toDistribution();
+    }
+
+    /**
+     * Спільний розподіл оцінок кількох груп (наприклад, потоку) по курсу.
+     *
+     * <p>Скетчі окремих груп об'єднуються без повторного читання оцінок.
+     */
+    public GradeDistribution getGroupsCourseDistribution(Collection<Long> groupIds, Long courseId) {
+        Map<Long, GradeSketch> byGroup = getCourseSketchesByGroup(courseId);
+        GradeSketch merged = new GradeSketch();
+        for (Long groupId : groupIds) {
+            GradeSketch sketch = byGroup.get(groupId);
+            if (sketch != null) {
+                merged.merge(sketch);
+            }
+        }
+        return merged.toDistribution();
+    }
+
+    /**
+     * Будує скетч розподілу оцінок курсу окремо для кожної групи за один прохід.
+     *
+     * <p>Оцінки студентів без групи потрапляють під ключ {@code 0}. Результат можна
+     * зберігати та об'єднувати через {@link GradeSketch#merge(GradeSketch)}.
+     *
+     * @return скетчі за id групи (лише групи, що мають оцінки з курсу)
+     */
+    public Map<Long, GradeSketch> getCourseSketchesByGroup(Long courseId) {
+        Map<Long, GradeSketch> byGroup = new HashMap<>();
+
+        if (gradeScanDao != null) {
+            gradeScanDao.scanValueCountsByCourse(courseId, (groupId, valueCenti, count) ->
+                    byGroup.computeIfAbsent(groupId, id -> new GradeSketch()).add(valueCenti, count));
+            return byGroup;
+        }
+
+        // студенти й оцінки читаються з одного знімка, щоб групи відповідали оцінкам
+        return UnitOfWork.readOnly(() -> {
+            Map<Long, Long> groupByStudent = new HashMap<>();
+            for (Student student : studentDao.findByCourseId(courseId)) {
+                groupByStudent.put(student.getId(), student.getGroupId() != null ? student.getGroupId() : 0L);
+            }
+            try (Stream<Grade> grades = gradeDao.streamByCourseId(courseId)) {
+                grades.forEach(grade -> {
+                    long groupId = groupByStudent.getOrDefault(grade.getStudentId(), 0L);
+                    int valueCenti = grade.getValue().movePointRight(2).intValue();
+                    byGroup.computeIfAbsent(groupId, id -> new GradeSketch()).add(valueCenti);
+                });
+            }
+            return byGroup;
+        });
+    }
+
+    /**
+     * Завантажує всю таблицю {@code grades} у колонкове сховище для аналітики в пам'яті.
+     *
+     * @return незмінне сховище з оцінками на момент завантаження
+     * @throws IllegalStateException якщо сервіс створено без {@link GradeScanDao}
+     */
+    public GradeColumnStore loadGradeColumnStore() {
+        if (gradeScanDao == null) {
+            throw new IllegalStateException("GradeScanDao is not configured");
+        }
+        return GradeColumnStore.load(gradeScanDao);
+    }
+
+    private static GradeSketch mergeSketches(Collection<GradeSketch> sketches) {
+        GradeSketch merged = new GradeSketch();
+        for (GradeSketch sketch : sketches) {
+            merged.merge(sketch);
         }
-        return sum / count;
+        return merged;
     }
 }
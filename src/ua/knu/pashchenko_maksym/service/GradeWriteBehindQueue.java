@@ -0,0 +1,378 @@
+package ua.knu.pashchenko_maksym.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import ua.knu.pashchenko_maksym.dao.GradeDao;
+import ua.knu.pashchenko_maksym.dao.TransactionScope;
+import ua.knu.pashchenko_maksym.dao.exception.DaoException;
+import ua.knu.pashchenko_maksym.model.Grade;
+
+/**
+ * Відкладений запис оцінок (write-behind) з груповою фіксацією.
+ *
+ * <p>{@link #submit} кладе оцінку в обмежену чергу й одразу повертає future.
+ * Фоновий потік збирає оцінки в пакети до {@code maxBatchSize} штук і зберігає кожен пакет
+ * однією транзакцією через {@link GradeDao#insertAll} (пакетна вставка, одна фіксація
+ * на весь пакет). Пакет записується, щойно він заповнився або найстаріша оцінка в ньому
+ * чекає {@code maxLatency}. Future завершується лише після фіксації, тож викликач,
+ * що чекає на нього, отримує ту саму гарантію збереження, що й від {@link GradeBookService#addGrade}.
+ *
+ * <p>Якщо пакет відхилено через помилку в окремих оцінках (неіснуючий студент, курс
+ * чи викладач, порушення обмеження), оцінки пакета записуються поодинці, і з помилкою
+ * завершуються лише future некоректних оцінок. Інші помилки БД завершують з помилкою весь пакет.
+ *
+ * <p>Коли черга заповнена, {@link #submit} блокується до появи місця — так швидкість
+ * приймання не перевищує швидкість запису. {@link #close()} припиняє приймання,
+ * дописує все, що залишилося в черзі, і чекає на завершення фонового потоку;
+ * його треба викликати до {@link ua.knu.pashchenko_maksym.dao.DataSourceProvider#shutdown()}.
+ *
+ * <p>Запис виконується у власних транзакціях фонового потоку, тому черга не може брати участі
+ * в {@link TransactionScope} викликача: {@link #submit} усередині відкритої транзакції
+ * відхиляється, щоб оцінка не пережила відкат цієї транзакції.
+ *
+ * @author Pashchenko Maksym
+ * @since 26.11.2025
+ */
+public class GradeWriteBehindQueue implements AutoCloseable {
+
+    /**
+     * Місткість черги за замовчуванням.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /**
+     * Максимальний розмір пакета за замовчуванням.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    /**
+     * Максимальна затримка запису за замовчуванням.
+     */
+    public static final Duration DEFAULT_MAX_LATENCY = Duration.ofMillis(5);
+
+    /**
+     * Як часто простоюючий фоновий потік перевіряє, чи не закрито чергу.
+     */
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    private final GradeDao gradeDao;
+    private final BlockingQueue<PendingGrade> queue;
+    private final int maxBatchSize;
+    private final long maxLatencyNanos;
+    private final Thread writer;
+
+    /**
+     * Приймання ({@code submit}) — під читацьким блокуванням, закриття — під записувацьким,
+     * тож після закриття в черзі не з'явиться оцінка, яку вже ніхто не запише.
+     */
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * Створює чергу з параметрами за замовчуванням.
+     */
+    public GradeWriteBehindQueue(GradeDao gradeDao) {
+        this(gradeDao, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_LATENCY);
+    }
+
+    /**
+     * @param gradeDao     DAO, через яке зберігаються пакети
+     * @param capacity     місткість черги (&gt; 0)
+     * @param maxBatchSize максимальна кількість оцінок в одній транзакції (&gt; 0)
+     * @param maxLatency   скільки найдовше оцінка чекає на запис у черзі (не від'ємне)
+     * @throws IllegalArgumentException якщо параметри некоректні
+     */
+    public GradeWriteBehindQueue(GradeDao gradeDao, int capacity, int maxBatchSize, Duration maxLatency) {
+        if (gradeDao == null) {
+            throw new IllegalArgumentException("gradeDao must not be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        if (maxLatency == null || maxLatency.isNegative()) {
+            throw new IllegalArgumentException("maxLatency must not be negative");
+        }
+        this.gradeDao = gradeDao;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.writer = new Thread(this::runWriter, "gradebook-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Приймає оцінку на відкладений запис; блокується, поки в черзі немає місця.
+     *
+     * @param teacherId id викладача або {@code null}
+     * @param date      дата оцінки; {@code null} — сьогодні
+     * @return future зі збереженою оцінкою, що завершується після фіксації її пакета;
+     *         з {@link IllegalArgumentException}, якщо студента, курсу або викладача не знайдено
+     *         чи значення поза межами 0..100; з {@link InterruptedException}, якщо потік
+     *         перервано під час очікування місця в черзі
+     * @throws IllegalStateException якщо чергу закрито або потік має відкриту
+     *                               {@link TransactionScope}
+     */
+    public CompletableFuture<Grade> submit(Long studentId,
+                                           Long courseId,
+                                           Long teacherId,
+                                           double value,
+                                           LocalDate date) {
+        if (TransactionScope.current() != null) {
+            throw new IllegalStateException(
+                    "Grade write-behind queue must not be used inside a TransactionScope");
+        }
+        if (!(value >= 0 && value <= 100)) {
+            // інакше обмеження CHECK відхилило б увесь пакет
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Grade value must be between 0 and 100: " + value));
+        }
+        PendingGrade pending = new PendingGrade(
+                GradeBookService.newGrade(studentId, courseId, teacherId, value, date));
+
+        lifecycle.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Grade write-behind queue is closed");
+            }
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+        accepted.increment();
+        return pending.future;
+    }
+
+    /**
+     * @return кількість оцінок, що очікують на запис
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * @return знімок лічильників черги
+     */
+    public Stats getStats() {
+        return new Stats(accepted.sum(), written.sum(), failed.sum(), batches.sum(), queue.size());
+    }
+
+    /**
+     * Припиняє приймання оцінок, записує всі оцінки з черги й чекає на фоновий потік.
+     */
+    @Override
+    public void close() {
+        lifecycle.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                // дописати чергу важливіше за швидке завершення
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<PendingGrade> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            PendingGrade first;
+            try {
+                first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first == null) {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+
+            batch.add(first);
+            fill(batch, first.enqueuedAt + maxLatencyNanos);
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Добирає оцінки до пакета, поки він не заповниться або не настане {@code deadline}.
+     * Після закриття черги пакет не чекає — записується все, що вже є.
+     */
+    private void fill(List<PendingGrade> batch, long deadline) {
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || closed) {
+                return;
+            }
+            PendingGrade next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingGrade> batch) {
+        List<Grade> grades = new ArrayList<>(batch.size());
+        for (PendingGrade pending : batch) {
+            grades.add(pending.grade);
+        }
+
+        try {
+            gradeDao.insertAll(grades);
+            batches.increment();
+            for (PendingGrade pending : batch) {
+                complete(pending);
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() > 1 && isRowError(e)) {
+                for (PendingGrade pending : batch) {
+                    flushOne(pending);
+                }
+            } else {
+                for (PendingGrade pending : batch) {
+                    fail(pending, e);
+                }
+            }
+        }
+    }
+
+    private void flushOne(PendingGrade pending) {
+        try {
+            gradeDao.insertAll(List.of(pending.grade));
+            batches.increment();
+            complete(pending);
+        } catch (RuntimeException e) {
+            fail(pending, e);
+        }
+    }
+
+    private void complete(PendingGrade pending) {
+        written.increment();
+        pending.future.complete(pending.grade);
+    }
+
+    private void fail(PendingGrade pending, RuntimeException e) {
+        failed.increment();
+        pending.future.completeExceptionally(e);
+    }
+
+    /**
+     * Помилка, спричинена даними окремих рядків, а не станом БД: неіснуючі посилання
+     * або порушення обмежень (SQLSTATE класів 22 і 23).
+     */
+    private static boolean isRowError(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return true;
+        }
+        if (e instanceof DaoException && e.getCause() instanceof SQLException) {
+            String state = ((SQLException) e.getCause()).getSQLState();
+            return state != null && (state.startsWith("22") || state.startsWith("23"));
+        }
+        return false;
+    }
+
+    private static final class PendingGrade {
+
+        private final Grade grade;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Grade> future = new CompletableFuture<>();
+
+        private PendingGrade(Grade grade) {
+            this.grade = grade;
+        }
+    }
+
+    /**
+     * Знімок лічильників черги.
+     */
+    public static final class Stats {
+
+        private final long accepted;
+        private final long written;
+        private final long failed;
+        private final long batches;
+        private final int queued;
+
+        private Stats(long accepted, long written, long failed, long batches, int queued) {
+            this.accepted = accepted;
+            this.written = written;
+            this.failed = failed;
+            this.batches = batches;
+            this.queued = queued;
+        }
+
+        public long getAccepted() {
+            return accepted;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        /**
+         * @return середня кількість оцінок на одну фіксацію
+         */
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0.0 : (double) written / batches;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("WriteBehindStats{accepted=%d, written=%d, failed=%d, batches=%d, "
+                            + "avgBatch=%.1f, queued=%d}",
+                    accepted, written, failed, batches, getAverageBatchSize(), queued);
+        }
+    }
+}
@@ -2,18 +2,25 @@ package ua.knu.pashchenko_maksym.service;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import ua.knu.pashchenko_maksym.dao.CourseDao;
 import ua.knu.pashchenko_maksym.dao.GradeDao;
+import ua.knu.pashchenko_maksym.dao.GradeExportDao;
 import ua.knu.pashchenko_maksym.dao.GroupDao;
 import ua.knu.pashchenko_maksym.dao.StudentDao;
 import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.dao.UnitOfWork;
 import ua.knu.pashchenko_maksym.model.Course;
 import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.model.GradeDetails;
 import ua.knu.pashchenko_maksym.model.Group;
 import ua.knu.pashchenko_maksym.model.Student;
 import ua.knu.pashchenko_maksym.model.Teacher;
@@ -21,6 +28,10 @@ import ua.knu.pashchenko_maksym.util.CsvUtil;
 
 /**
  * Generates reports and exports them to console and CSV files.
+ *
+ * <p>If a {@link GradeExportDao} is supplied, CSV exports are streamed directly
+ * from the database into the target file (constant memory); otherwise grades are
+ * loaded via {@link GradeDao} and written with {@link CsvUtil}.
  */
 public class ReportService {
 
@@ -29,20 +40,28 @@ public class ReportService {
     private final CourseDao courseDao;
     private final TeacherDao teacherDao;
     private final GradeDao gradeDao;
-    private final GradeBookService gradeBookService;
+    private final GradeExportDao gradeExportDao;
+
+    public ReportService(StudentDao studentDao,
+                         GroupDao groupDao,
+                         CourseDao courseDao,
+                         TeacherDao teacherDao,
+                         GradeDao gradeDao) {
+        this(studentDao, groupDao, courseDao, teacherDao, gradeDao, null);
+    }
 
     public ReportService(StudentDao studentDao,
                          GroupDao groupDao,
                          CourseDao courseDao,
                          TeacherDao teacherDao,
                          GradeDao gradeDao,
-                         GradeBookService gradeBookService) {
+                         GradeExportDao gradeExportDao) {
         this.studentDao = studentDao;
         this.groupDao = groupDao;
         this.courseDao = courseDao;
         this.teacherDao = teacherDao;
         this.gradeDao = gradeDao;
-        this.gradeBookService = gradeBookService;
+        this.gradeExportDao = gradeExportDao;
     }
 
     // =========================
@@ -51,45 +70,65 @@ public class ReportService {
 
     /**
      * Prints to console full report for a student: all courses and average grade.
+     * Grades are loaded together with course names in a single query.
      */
     public void printStudentReport(Long studentId) {
+        writeStudentReport(studentId, System.out);
+    }
+
+    /**
+     * Writes the student report to the given stream.
+     * The student and their grades are read from one snapshot.
+     *
+     * @return {@code false} if the student does not exist
+     */
+    public boolean writeStudentReport(Long studentId, PrintStream out) {
+        return UnitOfWork.readOnly(() -> renderStudentReport(studentId, out));
+    }
+
+    private boolean renderStudentReport(Long studentId, PrintStream out) {
         Student student = studentDao.findById(studentId);
         if (student == null) {
-            System.out.println("Student with id " + studentId + " not found.");
-            return;
+            out.println("Student with id " + studentId + " not found.");
+            return false;
         }
 
-        List<Grade> grades = gradeDao.findByStudentId(studentId);
-        double avg = gradeBookService.getStudentAverageGrade(studentId);
+        List<GradeDetails> grades = gradeDao.findDetailsByStudentId(studentId);
+        double avg = averageOf(grades);
 
-        System.out.println("=== Student report ===");
-        System.out.printf("Student: %s %s (id=%d)%n",
+        out.println("=== Student report ===");
+        out.printf("Student: %s %s (id=%d)%n",
                 student.getFirstName(), student.getLastName(), student.getId());
-        System.out.println("Email: " + student.getEmail());
-        System.out.println("Grades:");
+        out.println("Email: " + student.getEmail());
+        out.println("Grades:");
 
         if (grades.isEmpty()) {
-            System.out.println("  No grades yet.");
+            out.println("  No grades yet.");
         } else {
-            for (Grade g : grades) {
-                Course course = courseDao.findById(g.getCourseId());
-                String courseName = course != null ? course.getName() : ("courseId=" + g.getCourseId());
-                System.out.printf("  - %s: %.2f (%s)%n",
-                        courseName,
+            for (GradeDetails d : grades) {
+                Grade g = d.getGrade();
+                out.printf("  - %s: %.2f (%s)%n",
+                        d.getCourseName(),
                         g.getValue() != null ? g.getValue().doubleValue() : 0.0,
                         g.getGradeDate());
             }
         }
 
-        System.out.printf("Average grade: %.2f%n", avg);
+        out.printf("Average grade: %.2f%n", avg);
+        return true;
     }
 
     /**
      * Exports all grades of a student to CSV using CsvUtil.
      */
     public void exportStudentGradesToCsv(Long studentId, Path file) throws IOException {
-        List<Grade> grades = gradeDao.findByStudentId(studentId);
-        CsvUtil.writeGradesToCsv(grades, file);
+        if (gradeExportDao != null) {
+            gradeExportDao.exportByStudent(studentId, file);
+            return;
+        }
+        try (Stream<Grade> grades = gradeDao.streamByStudentId(studentId)) {
+            CsvUtil.writeGradesToCsv(grades, file);
+        }
     }
 
     // =========================
@@ -101,40 +140,60 @@ public class ReportService {
      * each student's grades and group average.
      */
     public void printGroupCourseReport(Long groupId, Long courseId) {
+        writeGroupCourseReport(groupId, courseId, System.out);
+    }
+
+    /**
+     * Writes the group-course report to the given stream.
+     * All grades of the group are loaded with one query and matched to students in memory;
+     * all queries run in one read-only transaction, so students and grades are consistent.
+     *
+     * @return {@code false} if the group or the course does not exist
+     */
+    public boolean writeGroupCourseReport(Long groupId, Long courseId, PrintStream out) {
+        return UnitOfWork.readOnly(() -> renderGroupCourseReport(groupId, courseId, out));
+    }
+
+    private boolean renderGroupCourseReport(Long groupId, Long courseId, PrintStream out) {
         Group group = groupDao.findById(groupId);
         Course course = courseDao.findById(courseId);
 
         if (group == null) {
-            System.out.println("Group with id " + groupId + " not found.");
-            return;
+            out.println("Group with id " + groupId + " not found.");
+            return false;
         }
         if (course == null) {
-            System.out.println("Course with id " + courseId + " not found.");
-            return;
+            out.println("Course with id " + courseId + " not found.");
+            return false;
         }
 
         List<Student> students = studentDao.findByGroupId(groupId);
-        System.out.println("=== Group-course report ===");
-        System.out.printf("Group: %s (id=%d)%n", group.getName(), group.getId());
-        System.out.printf("Course: %s (id=%d)%n", course.getName(), course.getId());
+        out.println("=== Group-course report ===");
+        out.printf("Group: %s (id=%d)%n", group.getName(), group.getId());
+        out.printf("Course: %s (id=%d)%n", course.getName(), course.getId());
 
         if (students.isEmpty()) {
-            System.out.println("No students in this group.");
-            return;
+            out.println("No students in this group.");
+            return true;
+        }
+
+        Map<Long, List<Grade>> gradesByStudent = new HashMap<>();
+        for (Grade g : gradeDao.findByGroupAndCourse(groupId, courseId)) {
+            gradesByStudent.computeIfAbsent(g.getStudentId(), id -> new ArrayList<>()).add(g);
         }
 
         double groupSum = 0.0;
         int gradeCount = 0;
 
         for (Student s : students) {
-            List<Grade> grades = gradeDao.findByStudentAndCourse(s.getId(), courseId);
+            List<Grade> grades = gradesByStudent.getOrDefault(s.getId(), List.of());
             if (grades.isEmpty()) {
-                System.out.printf("  %s %s: no grades%n", s.getFirstName(), s.getLastName());
+                out.printf("  %s %s: no grades%n", s.getFirstName(), s.getLastName());
             } else {
-                System.out.printf("  %s %s:%n", s.getFirstName(), s.getLastName());
+                out.printf("  %s %s:%n", s.getFirstName(), s.getLastName());
                 for (Grade g : grades) {
                     double v = g.getValue() != null ? g.getValue().doubleValue() : 0.0;
-                    System.out.printf("    - %.2f (%s)%n", v, g.getGradeDate());
+                    out.printf("    - %.2f (%s)%n", v, g.getGradeDate());
                     groupSum += v;
                     gradeCount++;
                 }
@@ -142,8 +201,9 @@ public class ReportService {
         }
 
         double groupAverage = gradeCount == 0 ? 0.0 : groupSum / gradeCount;
-        System.out.printf("Group average for course '%s': %.2f%n",
+        out.printf("Group average for course '%s': %.2f%n",
                 course.getName(), groupAverage);
+        return true;
     }
 
     /**
@@ -153,14 +213,12 @@ public class ReportService {
     public void exportGroupCourseGradesToCsv(Long groupId, Long courseId, Path file)
             throws IOException {
 
-        List<Student> students = studentDao.findByGroupId(groupId);
-        List<Grade> allGrades = new ArrayList<>();
-
-        for (Student s : students) {
-            allGrades.addAll(gradeDao.findByStudentAndCourse(s.getId(), courseId));
+        if (gradeExportDao != null) {
+            gradeExportDao.exportByGroupAndCourse(groupId, courseId, file);
+            return;
         }
 
-        CsvUtil.writeGradesToCsv(allGrades, file);
+        CsvUtil.writeGradesToCsv(gradeDao.findByGroupAndCourse(groupId, courseId), file);
     }
 
     // =========================
@@ -169,52 +227,82 @@ public class ReportService {
 
     /**
      * Prints report for a teacher: all grades they issued and average.
+     * Grades are loaded together with course and student names in a single query.
      */
     public void printTeacherReport(Long teacherId) {
+        writeTeacherReport(teacherId, System.out);
+    }
+
+    /**
+     * Writes the teacher report to the given stream.
+     * The teacher and their grades are read from one snapshot.
+     *
+     * @return {@code false} if the teacher does not exist
+     */
+    public boolean writeTeacherReport(Long teacherId, PrintStream out) {
+        return UnitOfWork.readOnly(() -> renderTeacherReport(teacherId, out));
+    }
+
+    private boolean renderTeacherReport(Long teacherId, PrintStream out) {
         Teacher teacher = teacherDao.findById(teacherId);
         if (teacher == null) {
-            System.out.println("Teacher with id " + teacherId + " not found.");
-            return;
+            out.println("Teacher with id " + teacherId + " not found.");
+            return false;
         }
 
-        List<Grade> grades = gradeDao.findByTeacherId(teacherId);
-        double avg = gradeBookService.getTeacherAverageGrade(teacherId);
+        List<GradeDetails> grades = gradeDao.findDetailsByTeacherId(teacherId);
+        double avg = averageOf(grades);
 
-        System.out.println("=== Teacher report ===");
-        System.out.printf("Teacher: %s %s (id=%d)%n",
+        out.println("=== Teacher report ===");
+        out.printf("Teacher: %s %s (id=%d)%n",
                 teacher.getFirstName(), teacher.getLastName(), teacher.getId());
-        System.out.println("Department: " + teacher.getDepartment());
-        System.out.println("Email: " + teacher.getEmail());
+        out.println("Department: " + teacher.getDepartment());
+        out.println("Email: " + teacher.getEmail());
 
         if (grades.isEmpty()) {
-            System.out.println("No grades issued by this teacher.");
+            out.println("No grades issued by this teacher.");
         } else {
-            System.out.println("Grades:");
-            for (Grade g : grades) {
-                Course course = courseDao.findById(g.getCourseId());
-                Student student = studentDao.findById(g.getStudentId());
-                String courseName = course != null ? course.getName() : ("courseId=" + g.getCourseId());
-                String studentName = student != null
-                        ? student.getFirstName() + " " + student.getLastName()
-                        : ("studentId=" + g.getStudentId());
-
-                System.out.printf("  %s -> %s: %.2f (%s)%n",
-                        courseName,
-                        studentName,
+            out.println("Grades:");
+            for (GradeDetails d : grades) {
+                Grade g = d.getGrade();
+                out.printf("  %s -> %s: %.2f (%s)%n",
+                        d.getCourseName(),
+                        d.getStudentFirstName() + " " + d.getStudentLastName(),
                         g.getValue() != null ? g.getValue().doubleValue() : 0.0,
                         g.getGradeDate());
             }
         }
 
-        System.out.printf("Average grade for teacher: %.2f%n", avg);
+        out.printf("Average grade for teacher: %.2f%n", avg);
+        return true;
     }
 
     /**
      * Exports all grades issued by a teacher to CSV.
      */
     public void exportTeacherGradesToCsv(Long teacherId, Path file) throws IOException {
-        List<Grade> grades = gradeDao.findByTeacherId(teacherId);
-        CsvUtil.writeGradesToCsv(grades, file);
+        if (gradeExportDao != null) {
+            gradeExportDao.exportByTeacher(teacherId, file);
+            return;
+        }
+        try (Stream<Grade> grades = gradeDao.streamByTeacherId(teacherId)) {
+            CsvUtil.writeGradesToCsv(grades, file);
+        }
+    }
+
+    /**
+     * Average of already loaded report rows, so a report needs no extra query for it.
+     */
+    private static double averageOf(List<GradeDetails> grades) {
+        double sum = 0.0;
+        int count = 0;
+        for (GradeDetails d : grades) {
+            if (d.getGrade().getValue() != null) {
+                sum += d.getGrade().getValue().doubleValue();
+                count++;
+            }
+        }
+        return count == 0 ? 0.0 : sum / count;
     }
 
     /**
@@ -0,0 +1,265 @@
+package ua.knu.pashchenko_maksym.test;
+
+import ua.knu.pashchenko_maksym.dao.CourseDao;
+import ua.knu.pashchenko_maksym.dao.Page;
+import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingCourseDao;
+import ua.knu.pashchenko_maksym.dao.cache.CachingTeacherDao;
+import ua.knu.pashchenko_maksym.model.Course;
+import ua.knu.pashchenko_maksym.model.Teacher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Простий "ручний" тест-клас для кешуючих DAO.
+ * Запускається як звичайний main-клас, без JUnit і без БД:
+ * таблиці courses і teachers емулюються в пам'яті разом із
+ * {@code courses.teacher_id ... ON DELETE SET NULL} зі schema.sql.
+ */
+public class CachingDaoTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    public static void main(String[] args) {
+        System.out.println("===================================");
+        System.out.println("       Caching DAO TESTS           ");
+        System.out.println("===================================");
+
+        try {
+            CachingDaoTest tester = new CachingDaoTest();
+            tester.runAllTests();
+
+            System.out.println("\n===================================");
+            System.out.println("   TESTS FINISHED. SEE OUTPUT ↑    ");
+            System.out.println("===================================");
+
+        } catch (Exception e) {
+            System.out.println("Global test failure:");
+            e.printStackTrace();
+        }
+    }
+
+    public void runAllTests() {
+        testRepeatedReadsHitCache();
+        testTeacherDeleteClearsCourseCache();
+    }
+
+    // ======================
+    // ОКРЕМІ ТЕСТИ
+    // ======================
+
+    private void testRepeatedReadsHitCache() {
+        System.out.println("\n--- TEST: repeated course reads ---");
+
+        Tables db = new Tables();
+        Teacher teacher = db.teachers.insert(new Teacher(null, "Olha", "Teacher", "Dept", "olha@example.com"));
+        Course course = db.courses.insert(new Course(null, "Algebra", (short) 1, (short) 2025, teacher.getId(), (short) 5));
+
+        CachingCourseDao courses = new CachingCourseDao(db.courses, 100, TTL);
+        courses.findById(course.getId());
+        courses.findById(course.getId());
+        courses.findByName("Algebra");
+        courses.findByName("Algebra");
+
+        assertEquals("Database reads for 2x findById + 2x findByName", 2, db.courseReads.get());
+        assertEquals("Cache hits", 2, courses.getCacheStats().getHits());
+    }
+
+    private void testTeacherDeleteClearsCourseCache() {
+        System.out.println("\n--- TEST: teacher delete → course teacher_id is NULL ---");
+
+        Tables db = new Tables();
+        Teacher teacher = db.teachers.insert(new Teacher(null, "Olha", "Teacher", "Dept", "olha@example.com"));
+        Course course = db.courses.insert(new Course(null, "Algebra", (short) 1, (short) 2025, teacher.getId(), (short) 5));
+
+        CachingCourseDao courses = new CachingCourseDao(db.courses, 100, TTL);
+        CachingTeacherDao teachers = new CachingTeacherDao(db.teachers, 100, TTL, courses);
+
+        // прогріваємо всі ключі кешу курсів
+        assertEquals("Cached course teacher before delete", teacher.getId(),
+                courses.findById(course.getId()).getTeacherId());
+        courses.findByName("Algebra");
+        assertEquals("Cached courses of teacher before delete", 1, courses.findByTeacherId(teacher.getId()).size());
+
+        assertTrue("Teacher deleted", teachers.delete(teacher.getId()));
+
+        assertEquals("findById: teacher_id is NULL", null, courses.findById(course.getId()).getTeacherId());
+        assertEquals("findByName: teacher_id is NULL", null, courses.findByName("Algebra").getTeacherId());
+        assertEquals("findByTeacherId(deleted teacher) is empty", 0, courses.findByTeacherId(teacher.getId()).size());
+        assertEquals("findAll: teacher_id is NULL", null, courses.findAll().get(0).getTeacherId());
+        assertEquals("Teacher not found after delete", null, teachers.findById(teacher.getId()));
+    }
+
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    /**
+     * Таблиці в пам'яті; видалення викладача обнуляє teacher_id його курсів.
+     */
+    private static final class Tables {
+
+        private final Map<Long, Course> courseRows = new TreeMap<>();
+        private final Map<Long, Teacher> teacherRows = new TreeMap<>();
+        private final AtomicInteger courseReads = new AtomicInteger();
+        private long nextId = 1;
+
+        private final CourseDao courses = new CourseDao() {
+            @Override
+            public Course findById(Long id) {
+                courseReads.incrementAndGet();
+                return copy(courseRows.get(id));
+            }
+
+            @Override
+            public List<Course> findAll() {
+                courseReads.incrementAndGet();
+                List<Course> result = new ArrayList<>();
+                courseRows.values().forEach(c -> result.add(copy(c)));
+                return result;
+            }
+
+            @Override
+            public Page<Course> findPage(Course after, int pageSize) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Course findByName(String name) {
+                courseReads.incrementAndGet();
+                for (Course c : courseRows.values()) {
+                    if (c.getName().equals(name)) {
+                        return copy(c);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public List<Course> findByTeacherId(Long teacherId) {
+                courseReads.incrementAndGet();
+                List<Course> result = new ArrayList<>();
+                for (Course c : courseRows.values()) {
+                    if (teacherId.equals(c.getTeacherId())) {
+                        result.add(copy(c));
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            public Course insert(Course course) {
+                course.setId(nextId++);
+                courseRows.put(course.getId(), copy(course));
+                return course;
+            }
+
+            @Override
+            public boolean update(Course course) {
+                return courseRows.replace(course.getId(), copy(course)) != null;
+            }
+
+            @Override
+            public boolean delete(Long id) {
+                return courseRows.remove(id) != null;
+            }
+        };
+
+        private final TeacherDao teachers = new TeacherDao() {
+            @Override
+            public Teacher findById(Long id) {
+                Teacher t = teacherRows.get(id);
+                return t == null ? null
+                        : new Teacher(t.getId(), t.getFirstName(), t.getLastName(), t.getDepartment(), t.getEmail());
+            }
+
+            @Override
+            public List<Teacher> findAll() {
+                List<Teacher> result = new ArrayList<>();
+                teacherRows.keySet().forEach(id -> result.add(findById(id)));
+                return result;
+            }
+
+            @Override
+            public Page<Teacher> findPage(Teacher after, int pageSize) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<Teacher> findByLastName(String lastName) {
+                List<Teacher> result = new ArrayList<>();
+                for (Teacher t : findAll()) {
+                    if (t.getLastName().equals(lastName)) {
+                        result.add(t);
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            public Teacher insert(Teacher teacher) {
+                teacher.setId(nextId++);
+                teacherRows.put(teacher.getId(), teacher);
+                return teacher;
+            }
+
+            @Override
+            public boolean update(Teacher teacher) {
+                return teacherRows.replace(teacher.getId(), teacher) != null;
+            }
+
+            @Override
+            public boolean delete(Long id) {
+                if (teacherRows.remove(id) == null) {
+                    return false;
+                }
+                // ON DELETE SET NULL
+                for (Course c : courseRows.values()) {
+                    if (id.equals(c.getTeacherId())) {
+                        c.setTeacherId(null);
+                    }
+                }
+                return true;
+            }
+        };
+
+        private static Course copy(Course c) {
+            if (c == null) {
+                return null;
+            }
+            return new Course(c.getId(), c.getName(), c.getSemester(), c.getYear(), c.getTeacherId(), c.getCredits());
+        }
+    }
+
+    private static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (FAILED)%n", testName);
+        }
+    }
+
+    private static void assertEquals(String testName, Object expected, Object actual) {
+        if (expected == null ? actual == null : expected.equals(actual)) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected=%s, actual=%s)%n",
+                    testName, expected, actual);
+        }
+    }
+
+    private static void assertEquals(String testName, long expected, long actual) {
+        if (expected == actual) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected=%d, actual=%d)%n",
+                    testName, expected, actual);
+        }
+    }
+}
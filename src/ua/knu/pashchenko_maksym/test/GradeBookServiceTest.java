@@ -9,8 +9,10 @@ import ua.knu.pashchenko_maksym.dao.JdbcGradeDao;
 import ua.knu.pashchenko_maksym.dao.JdbcGroupDao;
 import ua.knu.pashchenko_maksym.dao.JdbcStudentDao;
 import ua.knu.pashchenko_maksym.dao.JdbcTeacherDao;
+import ua.knu.pashchenko_maksym.dao.PgCopyImporter;
 import ua.knu.pashchenko_maksym.dao.StudentDao;
 import ua.knu.pashchenko_maksym.dao.TeacherDao;
+import ua.knu.pashchenko_maksym.dao.TransactionScope;
 import ua.knu.pashchenko_maksym.model.Course;
 import ua.knu.pashchenko_maksym.model.Grade;
 import ua.knu.pashchenko_maksym.model.Group;
@@ -18,6 +20,10 @@ import ua.knu.pashchenko_maksym.model.Student;
 import ua.knu.pashchenko_maksym.model.Teacher;
 import ua.knu.pashchenko_maksym.service.GradeBookService;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -74,6 +80,8 @@ public class GradeBookServiceTest {
         testCreateStudentAndFind();
         testCreateCourseAndTeacherAndGetByTeacher();
         testAddGradeAndGetStudentAverage();
+        testImportKeepsValidRowAfterRejectedDuplicateId();
+        testTwoImportsInOneTransactionScope();
     }
 
     // ======================
@@ -195,11 +203,81 @@ public class GradeBookServiceTest {
         assertEquals("Grades for student+course count", 2, grades.size());
     }
 
+    private void testImportKeepsValidRowAfterRejectedDuplicateId() {
+        System.out.println("\n--- TEST: importGrades / duplicate id after rejected row ---");
+
+        Group g = service.createGroup("TEST-GROUP-4", (short) 1);
+        Student s = service.createStudent("Iryna", "ImportTest", "iryna.import@example.com",
+                g.getId(), 2024);
+        Teacher t = service.createTeacher("Import", "Teacher", "ImportDept", "import@example.com");
+        Course c = service.createCourse("Import Course", 1, 2024, t.getId(), 3);
+
+        // Запис 2 відхиляється через неіснуючого студента, запис 3 з тим самим id — коректний
+        long gradeId = 900_005L;
+        String csv = "id;student_id;course_id;teacher_id;value;grade_date\n"
+                + gradeId + ";999999999;" + c.getId() + ";" + t.getId() + ";70;2024-01-01\n"
+                + gradeId + ";" + s.getId() + ";" + c.getId() + ";" + t.getId() + ";88;2024-01-02\n";
+
+        PgCopyImporter.ImportReport report = importGradesCsv(csv);
+
+        assertEquals("Import rejected count", 1L, report.getRejected());
+        assertEquals("Import imported count", 1L, report.getImported());
+        assertEquals("Rejected reason", "student not found",
+                report.getRejections().get(0).getReason());
+
+        Grade imported = service.getGradeById(gradeId);
+        assertNotNull("Valid duplicate-id row imported", imported);
+        assertDouble("Imported grade value", 88.0,
+                imported == null ? Double.NaN : imported.getValue().doubleValue());
+    }
+
+    private void testTwoImportsInOneTransactionScope() {
+        System.out.println("\n--- TEST: importGrades twice inside one TransactionScope ---");
+
+        Group g = service.createGroup("TEST-GROUP-5", (short) 1);
+        Student s = service.createStudent("Taras", "ScopeImport", "taras.scope@example.com",
+                g.getId(), 2024);
+        Teacher t = service.createTeacher("Scope", "Teacher", "ScopeDept", "scope@example.com");
+        Course c = service.createCourse("Scope Course", 1, 2024, t.getId(), 3);
+
+        String header = "id;student_id;course_id;teacher_id;value;grade_date\n";
+        String row = ";" + s.getId() + ";" + c.getId() + ";" + t.getId() + ";";
+
+        // staging-таблиці ON COMMIT DROP живуть до фіксації області, тож друге
+        // створення мусить бути повторно-вхідним
+        PgCopyImporter.ImportReport first;
+        PgCopyImporter.ImportReport second;
+        try (TransactionScope tx = TransactionScope.begin()) {
+            first = importGradesCsv(header + 900_011L + row + "71;2024-02-01\n");
+            second = importGradesCsv(header + 900_012L + row + "72;2024-02-02\n");
+            tx.commit();
+        }
+
+        assertEquals("First import in scope", 1L, first.getImported());
+        assertEquals("Second import in scope", 1L, second.getImported());
+        assertNotNull("First scoped import committed", service.getGradeById(900_011L));
+        assertNotNull("Second scoped import committed", service.getGradeById(900_012L));
+    }
+
 
     // ======================
     // HELPERS
     // ======================
 
+    private static PgCopyImporter.ImportReport importGradesCsv(String csv) {
+        try {
+            Path file = Files.createTempFile("grades-import-", ".csv");
+            try {
+                Files.writeString(file, csv, StandardCharsets.UTF_8);
+                return new PgCopyImporter().importGrades(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error preparing import test file", e);
+        }
+    }
+
     private static void resetDatabase() {
         try (Connection connection = DataSourceProvider.getConnection();
              Statement st = connection.createStatement()) {
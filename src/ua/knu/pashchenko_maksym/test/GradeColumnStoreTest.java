@@ -0,0 +1,344 @@
+package ua.knu.pashchenko_maksym.test;
+
+import ua.knu.pashchenko_maksym.analytics.GradeAggregate;
+import ua.knu.pashchenko_maksym.analytics.GradeColumnStore;
+import ua.knu.pashchenko_maksym.analytics.GradeColumnStore.Dimension;
+import ua.knu.pashchenko_maksym.dao.GradeScanDao;
+import ua.knu.pashchenko_maksym.model.Grade;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Простий "ручний" тест-клас для GradeColumnStore.
+ * Запускається як звичайний main-клас, без JUnit і без БД:
+ * рядки оцінок генеруються в пам'яті й подаються через GradeScanDao.
+ */
+public class GradeColumnStoreTest {
+
+    public static void main(String[] args) {
+        System.out.println("===================================");
+        System.out.println("     GradeColumnStore TESTS        ");
+        System.out.println("===================================");
+
+        try {
+            GradeColumnStoreTest tester = new GradeColumnStoreTest();
+            tester.runAllTests();
+
+            System.out.println("\n===================================");
+            System.out.println("   TESTS FINISHED. SEE OUTPUT ↑    ");
+            System.out.println("===================================");
+
+        } catch (Exception e) {
+            System.out.println("Global test failure:");
+            e.printStackTrace();
+        }
+    }
+
+    public void runAllTests() {
+        testAggregatesMatchPlainComputation();
+        testDictionaryGrowth();
+        testMemoryEstimate();
+    }
+
+    // ======================
+    // ОКРЕМІ ТЕСТИ
+    // ======================
+
+    private void testAggregatesMatchPlainComputation() {
+        System.out.println("\n--- TEST: aggregateBy / aggregateFor / aggregateAll ---");
+
+        Rows rows = Rows.random(50_000, 3_000, 40, 25, 12, 42);
+        GradeColumnStore store = GradeColumnStore.load(rows);
+
+        assertEquals("Store size", rows.size, store.size());
+
+        for (Dimension dimension : Dimension.values()) {
+            Map<Long, long[]> expected = rows.aggregate(dimension, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            Map<Long, GradeAggregate> actual = store.aggregateBy(dimension);
+            assertEquals("aggregateBy(" + dimension + ") keys", expected.size(), actual.size());
+            assertAggregates("aggregateBy(" + dimension + ") values", expected, actual);
+        }
+
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 5, 31);
+        Map<Long, long[]> expectedRange =
+                rows.aggregate(Dimension.COURSE, (int) from.toEpochDay(), (int) to.toEpochDay());
+        assertAggregates("aggregateBy(COURSE, 2024-03-01..2024-05-31)",
+                expectedRange, store.aggregateBy(Dimension.COURSE, from, to));
+
+        long teacherId = rows.teacherId[0] != 0 ? rows.teacherId[0] : rows.teacherId[1];
+        long[] teacher = rows.aggregate(Dimension.TEACHER, Integer.MIN_VALUE, Integer.MAX_VALUE).get(teacherId);
+        assertAggregate("aggregateFor(TEACHER, " + teacherId + ")",
+                teacher, store.aggregateFor(Dimension.TEACHER, teacherId));
+
+        assertEquals("aggregateFor(unknown id) is empty",
+                0, (int) store.aggregateFor(Dimension.STUDENT, -5L).getCount());
+        assertEquals("aggregateAll count", rows.size, (int) store.aggregateAll().getCount());
+    }
+
+    /**
+     * Кожна оцінка має власного студента, тож словник студентів (LongIntHashMap) росте
+     * з початкових 128 слотів у кілька разів. Id відрізняються лише старшими бітами,
+     * щоб без перемішування хешу всі вони потрапляли в один слот.
+     */
+    private void testDictionaryGrowth() {
+        System.out.println("\n--- TEST: dictionary growth (LongIntHashMap) ---");
+
+        int n = 100_000;
+        Rows rows = new Rows(n);
+        for (int i = 0; i < n; i++) {
+            rows.set(i, (long) (i + 1) << 32, 1, 1, 1, 5_000 + i % 5_000, 19_000);
+        }
+        GradeColumnStore store = GradeColumnStore.load(rows);
+
+        assertEquals("Distinct students after growth", n, store.aggregateBy(Dimension.STUDENT).size());
+
+        int wrong = 0;
+        for (int i = 0; i < n; i++) {
+            GradeAggregate aggregate = store.aggregateFor(Dimension.STUDENT, (long) (i + 1) << 32);
+            if (aggregate.getCount() != 1 || Math.round(aggregate.getMax() * 100) != 5_000 + i % 5_000) {
+                wrong++;
+            }
+        }
+        assertEquals("Students with wrong aggregate", 0, wrong);
+        assertEquals("Missing id between existing ones",
+                0, (int) store.aggregateFor(Dimension.STUDENT, (1L << 32) + 1).getCount());
+    }
+
+    /**
+     * Перевіряє формулу estimatedMemoryBytes (24 байти на рядок + словники)
+     * і порівнює її з реально зайнятою пам'яттю та зі списком Grade.
+     */
+    private void testMemoryEstimate() {
+        System.out.println("\n--- TEST: estimatedMemoryBytes / memory vs List<Grade> ---");
+
+        int n = 500_000;
+        int students = 20_000;
+        int courses = 300;
+        int teachers = 150;
+        int groups = 600;
+        Rows rows = Rows.random(n, students, courses, teachers, groups, 7);
+
+        long before = usedHeap();
+        GradeColumnStore store = GradeColumnStore.load(rows);
+        long storeHeap = usedHeap() - before;
+
+        long expected = (long) n * 24;
+        for (Dimension dimension : Dimension.values()) {
+            int keys = rows.aggregate(dimension, Integer.MIN_VALUE, Integer.MAX_VALUE).size();
+            expected += (long) keys * Long.BYTES + (long) tableCapacity(keys) * (Long.BYTES + Integer.BYTES);
+        }
+        assertEquals("Estimated bytes", expected, store.estimatedMemoryBytes());
+
+        double deviation = Math.abs(storeHeap - store.estimatedMemoryBytes()) / (double) storeHeap;
+        assertTrue(String.format("Measured heap %d KB within 20%% of estimate %d KB",
+                        storeHeap / 1024, store.estimatedMemoryBytes() / 1024),
+                deviation < 0.2);
+
+        before = usedHeap();
+        List<Grade> grades = rows.toGrades();
+        long listHeap = usedHeap() - before;
+        assertTrue(String.format("List<Grade> (%d KB) at least 5x larger than store (%d KB), ratio %.1f",
+                        listHeap / 1024, storeHeap / 1024, listHeap / (double) storeHeap),
+                listHeap >= 5 * storeHeap);
+
+        // обидві структури мають жити до останнього вимірювання
+        assertEquals("Store and list sizes", grades.size(), store.size());
+    }
+
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    /**
+     * Рядки оцінок у вигляді, в якому їх віддає JdbcGradeScanDao.
+     */
+    private static final class Rows implements GradeScanDao {
+
+        private final int size;
+        private final long[] studentId;
+        private final long[] courseId;
+        private final long[] teacherId;
+        private final long[] groupId;
+        private final int[] valueCenti;
+        private final int[] epochDay;
+
+        private Rows(int size) {
+            this.size = size;
+            studentId = new long[size];
+            courseId = new long[size];
+            teacherId = new long[size];
+            groupId = new long[size];
+            valueCenti = new int[size];
+            epochDay = new int[size];
+        }
+
+        /**
+         * Id не менші за 1000 (Long не береться з кешу), близько 10% оцінок без викладача
+         * і 5% студентів без групи.
+         */
+        private static Rows random(int size, int students, int courses, int teachers, int groups, long seed) {
+            Random random = new Random(seed);
+            int firstDay = (int) LocalDate.of(2024, 1, 1).toEpochDay();
+            Rows rows = new Rows(size);
+            for (int i = 0; i < size; i++) {
+                int student = random.nextInt(students);
+                long group = student % 20 == 0 ? 0 : 1_000 + student % groups;
+                long teacher = random.nextInt(10) == 0 ? 0 : 1_000 + random.nextInt(teachers);
+                rows.set(i, 1_000 + student, 1_000 + random.nextInt(courses), teacher, group,
+                        random.nextInt(10_001), firstDay + random.nextInt(366));
+            }
+            return rows;
+        }
+
+        private void set(int i, long student, long course, long teacher, long group, int value, int day) {
+            studentId[i] = student;
+            courseId[i] = course;
+            teacherId[i] = teacher;
+            groupId[i] = group;
+            valueCenti[i] = value;
+            epochDay[i] = day;
+        }
+
+        @Override
+        public void scanAll(GradeRowConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(studentId[i], courseId[i], teacherId[i], groupId[i], valueCenti[i], epochDay[i]);
+            }
+        }
+
+        @Override
+        public void scanValueCountsByCourse(long courseId, ValueCountConsumer consumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void scanValueCountsByGroupAndCourse(long groupId, long courseId, ValueCountConsumer consumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * @return {count, sum, min, max} у сотих частках за id сутності
+         */
+        private Map<Long, long[]> aggregate(Dimension dimension, int fromDay, int toDay) {
+            Map<Long, long[]> result = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                long id = switch (dimension) {
+                    case STUDENT -> studentId[i];
+                    case COURSE -> courseId[i];
+                    case TEACHER -> teacherId[i];
+                    case GROUP -> groupId[i];
+                };
+                if (id == 0 || epochDay[i] < fromDay || epochDay[i] > toDay) {
+                    continue;
+                }
+                long[] a = result.computeIfAbsent(id, k -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+                a[0]++;
+                a[1] += valueCenti[i];
+                a[2] = Math.min(a[2], valueCenti[i]);
+                a[3] = Math.max(a[3], valueCenti[i]);
+            }
+            return result;
+        }
+
+        private List<Grade> toGrades() {
+            List<Grade> grades = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Grade grade = new Grade();
+                grade.setId(1_000L + i);
+                grade.setStudentId(studentId[i]);
+                grade.setCourseId(courseId[i]);
+                grade.setTeacherId(teacherId[i] == 0 ? null : teacherId[i]);
+                grade.setValue(BigDecimal.valueOf(valueCenti[i], 2));
+                grade.setGradeDate(LocalDate.ofEpochDay(epochDay[i]));
+                grades.add(grade);
+            }
+            return grades;
+        }
+    }
+
+    /**
+     * Розмір таблиці LongIntHashMap після вставки {@code keys} ключів:
+     * 128 слотів на старті, подвоєння, коли заповнено більше половини.
+     */
+    private static int tableCapacity(int keys) {
+        int capacity = 128;
+        while (keys * 2 > capacity) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void assertAggregates(String testName, Map<Long, long[]> expected,
+                                         Map<Long, GradeAggregate> actual) {
+        int wrong = 0;
+        for (Map.Entry<Long, long[]> e : expected.entrySet()) {
+            if (!matches(e.getValue(), actual.get(e.getKey()))) {
+                wrong++;
+            }
+        }
+        if (wrong == 0 && expected.size() == actual.size()) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (mismatched=%d of %d, actual keys=%d)%n",
+                    testName, wrong, expected.size(), actual.size());
+        }
+    }
+
+    private static void assertAggregate(String testName, long[] expected, GradeAggregate actual) {
+        if (matches(expected, actual)) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected count=%d, actual=%s)%n", testName, expected[0], actual);
+        }
+    }
+
+    private static boolean matches(long[] expected, GradeAggregate actual) {
+        return actual != null
+                && actual.getCount() == expected[0]
+                && Math.abs(actual.getAverage() - expected[1] / 100.0 / expected[0]) < 1e-9
+                && Math.round(actual.getMin() * 100) == expected[2]
+                && Math.round(actual.getMax() * 100) == expected[3];
+    }
+
+    private static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (FAILED)%n", testName);
+        }
+    }
+
+    private static void assertEquals(String testName, int expected, int actual) {
+        if (expected == actual) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected=%d, actual=%d)%n",
+                    testName, expected, actual);
+        }
+    }
+
+    private static void assertEquals(String testName, long expected, long actual) {
+        if (expected == actual) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected=%d, actual=%d)%n",
+                    testName, expected, actual);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package ua.knu.pashchenko_maksym.test;
+
+import ua.knu.pashchenko_maksym.analytics.GradeSketch;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Простий "ручний" тест-клас для GradeSketch.
+ * Запускається як звичайний main-клас, без JUnit і без БД.
+ */
+public class GradeSketchTest {
+
+    public static void main(String[] args) {
+        System.out.println("===================================");
+        System.out.println("        GradeSketch TESTS          ");
+        System.out.println("===================================");
+
+        try {
+            GradeSketchTest tester = new GradeSketchTest();
+            tester.runAllTests();
+
+            System.out.println("\n===================================");
+            System.out.println("   TESTS FINISHED. SEE OUTPUT ↑    ");
+            System.out.println("===================================");
+
+        } catch (Exception e) {
+            System.out.println("Global test failure:");
+            e.printStackTrace();
+        }
+    }
+
+    public void runAllTests() {
+        testSmallSample();
+        testEvenCountMedian();
+        testMergeEqualsSinglePass();
+        testWeightedAdd();
+        testEmptyAndInvalid();
+        testHistogramEdges();
+    }
+
+    // ======================
+    // ОКРЕМІ ТЕСТИ
+    // ======================
+
+    private void testSmallSample() {
+        System.out.println("\n--- TEST: median / percentile / min / max / mean ---");
+
+        GradeSketch sketch = sketchOf(90.0, 75.0, 60.0, 100.0, 82.5);
+
+        assertEquals("Count", 5, sketch.getCount());
+        assertDouble("Median (odd count)", 82.5, sketch.median());
+        assertDouble("p10 = rank 1", 60.0, sketch.percentile(0.1));
+        assertDouble("p40 = rank 2", 75.0, sketch.percentile(0.4));
+        assertDouble("p90 = rank 5", 100.0, sketch.percentile(0.9));
+        assertDouble("p100", 100.0, sketch.percentile(1.0));
+        assertDouble("Min", 60.0, sketch.getMin());
+        assertDouble("Max", 100.0, sketch.getMax());
+        assertDouble("Mean", 81.5, sketch.getMean());
+        // (8.5² + 6.5² + 21.5² + 18.5² + 1²) / 5 = 184.0
+        assertDouble("Population std dev", Math.sqrt(184.0), sketch.getStdDev());
+    }
+
+    private void testEvenCountMedian() {
+        System.out.println("\n--- TEST: median for even count ---");
+
+        assertDouble("Median of 70, 80", 75.0, sketchOf(70.0, 80.0).median());
+        assertDouble("Median of 55.55, 55.56", 55.555, sketchOf(55.56, 55.55).median());
+    }
+
+    /**
+     * Оцінки розкладаються по 7 частковим скетчам (як по групах курсу),
+     * а результат об'єднання порівнюється з одним скетчем та з відсортованим масивом.
+     */
+    private void testMergeEqualsSinglePass() {
+        System.out.println("\n--- TEST: merge ---");
+
+        Random random = new Random(11);
+        int n = 20_001;
+        int[] values = new int[n];
+        GradeSketch single = new GradeSketch();
+        GradeSketch[] parts = new GradeSketch[7];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new GradeSketch();
+        }
+        for (int i = 0; i < n; i++) {
+            // скошений розподіл, щоб медіана й середнє відрізнялися
+            values[i] = (int) Math.round(GradeSketch.MAX_CENTI * Math.pow(random.nextDouble(), 0.5));
+            single.add(values[i]);
+            parts[random.nextInt(parts.length)].add(values[i]);
+        }
+
+        GradeSketch merged = new GradeSketch();
+        for (GradeSketch part : parts) {
+            merged.merge(part);
+        }
+        long partCount = parts[0].getCount();
+        merged.merge(new GradeSketch());
+
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals("Merged count", n, merged.getCount());
+        assertDouble("Merged mean = single pass", single.getMean(), merged.getMean());
+        assertDouble("Merged std dev = single pass", single.getStdDev(), merged.getStdDev());
+        assertDouble("Merged median = sorted middle", sorted[n / 2] / 100.0, merged.median());
+        for (double p : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            int rank = (int) Math.ceil(p * n);
+            assertDouble("Merged p" + Math.round(p * 100) + " = nearest rank",
+                    sorted[rank - 1] / 100.0, merged.percentile(p));
+        }
+        assertTrue("Merged histogram = single pass",
+                Arrays.equals(single.histogram(10), merged.histogram(10)));
+        assertEquals("Merge does not change its argument", partCount, parts[0].getCount());
+    }
+
+    private void testWeightedAdd() {
+        System.out.println("\n--- TEST: add(value, times) ---");
+
+        GradeSketch weighted = new GradeSketch();
+        weighted.add(6000, 3);
+        weighted.add(9000, 2);
+        weighted.add(7000, 0);
+
+        GradeSketch repeated = sketchOf(60.0, 60.0, 60.0, 90.0, 90.0);
+
+        assertEquals("Count", repeated.getCount(), weighted.getCount());
+        assertDouble("Mean", repeated.getMean(), weighted.getMean());
+        assertDouble("Std dev", repeated.getStdDev(), weighted.getStdDev());
+        assertDouble("Median", 60.0, weighted.median());
+    }
+
+    private void testEmptyAndInvalid() {
+        System.out.println("\n--- TEST: empty sketch / invalid arguments ---");
+
+        GradeSketch empty = new GradeSketch();
+        assertEquals("Empty count", 0, empty.getCount());
+        assertDouble("Empty median", 0.0, empty.median());
+        assertDouble("Empty p90", 0.0, empty.percentile(0.9));
+        assertDouble("Empty std dev", 0.0, empty.getStdDev());
+
+        assertThrows("add(10001) rejected", () -> empty.add(GradeSketch.MAX_CENTI + 1));
+        assertThrows("add(-1) rejected", () -> empty.add(-1));
+        assertThrows("add(value, -1) rejected", () -> empty.add(5000, -1));
+        assertThrows("percentile(0) rejected", () -> empty.percentile(0));
+        assertThrows("percentile(1.5) rejected", () -> empty.percentile(1.5));
+        assertEquals("Rejected values not counted", 0, empty.getCount());
+    }
+
+    private void testHistogramEdges() {
+        System.out.println("\n--- TEST: histogram bins ---");
+
+        GradeSketch sketch = sketchOf(0.0, 9.99, 10.0, 55.0, 99.99, 100.0);
+        long[] bins = sketch.histogram(10);
+
+        assertEquals("0 and 9.99 in bin 0", 2, bins[0]);
+        assertEquals("10.00 in bin 1", 1, bins[1]);
+        assertEquals("55.00 in bin 5", 1, bins[5]);
+        assertEquals("99.99 and 100 in last bin", 2, bins[9]);
+        assertEquals("Single bin holds everything", 6, sketch.histogram(1)[0]);
+        assertThrows("histogram(0) rejected", () -> sketch.histogram(0));
+    }
+
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    private static GradeSketch sketchOf(double... grades) {
+        GradeSketch sketch = new GradeSketch();
+        for (double grade : grades) {
+            sketch.add((int) Math.round(grade * 100));
+        }
+        return sketch;
+    }
+
+    private static void assertThrows(String testName, Runnable action) {
+        try {
+            action.run();
+            System.out.printf("%s (no exception)%n", testName);
+        } catch (IllegalArgumentException e) {
+            System.out.printf("%s%n", testName);
+        }
+    }
+
+    private static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (FAILED)%n", testName);
+        }
+    }
+
+    private static void assertEquals(String testName, long expected, long actual) {
+        if (expected == actual) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected=%d, actual=%d)%n",
+                    testName, expected, actual);
+        }
+    }
+
+    private static void assertDouble(String testName, double expected, double actual) {
+        double eps = 1e-9;
+        if (Math.abs(expected - actual) < eps) {
+            System.out.printf("%s (expected=%.4f, actual=%.4f)%n",
+                    testName, expected, actual);
+        } else {
+            System.out.printf("%s FAILED (expected=%.4f, actual=%.4f)%n",
+                    testName, expected, actual);
+        }
+    }
+}
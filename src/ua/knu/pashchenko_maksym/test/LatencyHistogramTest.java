@@ -0,0 +1,243 @@
+package ua.knu.pashchenko_maksym.test;
+
+import ua.knu.pashchenko_maksym.util.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Простий "ручний" тест-клас для LatencyHistogram.
+ * Запускається як звичайний main-клас, без JUnit і без БД.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Заявлена похибка: ширина кошика — 1/16 його нижньої межі.
+     */
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 16;
+
+    public static void main(String[] args) {
+        System.out.println("===================================");
+        System.out.println("     LatencyHistogram TESTS        ");
+        System.out.println("===================================");
+
+        try {
+            LatencyHistogramTest tester = new LatencyHistogramTest();
+            tester.runAllTests();
+
+            System.out.println("\n===================================");
+            System.out.println("   TESTS FINISHED. SEE OUTPUT ↑    ");
+            System.out.println("===================================");
+
+        } catch (Exception e) {
+            System.out.println("Global test failure:");
+            e.printStackTrace();
+        }
+    }
+
+    public void runAllTests() {
+        testSmallValuesAreExact();
+        testBucketUpperBounds();
+        testPercentilesAgainstSortedSample();
+        testCountMeanMax();
+        testOutOfRangeAndInvalid();
+        testConcurrentRecording();
+    }
+
+    // ======================
+    // ОКРЕМІ ТЕСТИ
+    // ======================
+
+    private void testSmallValuesAreExact() {
+        System.out.println("\n--- TEST: values 0..15 have their own buckets ---");
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int v = 0; v < 16; v++) {
+            histogram.record(v);
+        }
+        int wrong = 0;
+        for (int k = 1; k <= 16; k++) {
+            if (histogram.percentileMicros(k * 100.0 / 16) != k - 1) {
+                wrong++;
+            }
+        }
+        assertEquals("Percentiles of 0..15 with wrong value", 0, wrong);
+    }
+
+    /**
+     * Верхня межа кошика значення {@code v} читається як p50 гістограми з двох значень:
+     * {@code v} і набагато більшого, тож обрізання максимумом не спрацьовує.
+     */
+    private void testBucketUpperBounds() {
+        System.out.println("\n--- TEST: bucket upper bounds ---");
+
+        assertEquals("Bucket of 16 is [16, 16]", 16, upperBound(16));
+        assertEquals("Bucket of 32 is [32, 33]", 33, upperBound(32));
+        assertEquals("Bucket of 33 is [32, 33]", 33, upperBound(33));
+        assertEquals("Bucket of 1000 is [992, 1023]", 1023, upperBound(1000));
+        assertEquals("Bucket of 1024 is [1024, 1087]", 1087, upperBound(1024));
+
+        int tooWide = 0;
+        int notFixedPoint = 0;
+        int notBoundary = 0;
+        long previous = -1;
+        int notMonotonic = 0;
+        for (long v = 1; v < (1L << 38); v = v + 1 + v / 7) {
+            long upper = upperBound(v);
+            if (upper < v || upper - v > v * MAX_RELATIVE_ERROR) {
+                tooWide++;
+            }
+            if (upperBound(upper) != upper) {
+                notFixedPoint++;
+            }
+            if (upperBound(upper + 1) <= upper) {
+                notBoundary++;
+            }
+            if (upper < previous) {
+                notMonotonic++;
+            }
+            previous = upper;
+        }
+        assertEquals("Buckets wider than 1/16 of the value", 0, tooWide);
+        assertEquals("Upper bound outside its own bucket", 0, notFixedPoint);
+        assertEquals("Upper bound + 1 in the same bucket", 0, notBoundary);
+        assertEquals("Upper bounds not monotonic", 0, notMonotonic);
+    }
+
+    /**
+     * Лог-рівномірні затримки від 1 мкс до ~17 хв: перцентиль гістограми не менший
+     * за точний і більший за нього не більше ніж на 1/16.
+     */
+    private void testPercentilesAgainstSortedSample() {
+        System.out.println("\n--- TEST: percentiles vs sorted sample ---");
+
+        Random random = new Random(18);
+        int n = 200_000;
+        long[] values = new long[n];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < n; i++) {
+            values[i] = (long) Math.pow(2, random.nextDouble() * 30);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[]{1, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(p / 100 * n) - 1];
+            long estimate = histogram.percentileMicros(p);
+            boolean ok = estimate >= exact && estimate - exact <= exact * MAX_RELATIVE_ERROR;
+            assertTrue(String.format("p%s: exact=%d, histogram=%d", p, exact, estimate), ok);
+        }
+    }
+
+    private void testCountMeanMax() {
+        System.out.println("\n--- TEST: count / mean / max ---");
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals("Empty p99", 0, histogram.percentileMicros(99));
+        assertDouble("Empty mean", 0.0, histogram.getMeanMicros());
+
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-50);
+
+        assertEquals("Count", 3, histogram.getCount());
+        assertDouble("Mean (negative recorded as 0)", 400.0 / 3, histogram.getMeanMicros());
+        assertEquals("Max", 300, histogram.getMaxMicros());
+        assertEquals("p100 capped by max, not bucket bound", 300, histogram.percentileMicros(100));
+        assertEquals("p1 = 0 for the negative value", 0, histogram.percentileMicros(1));
+    }
+
+    private void testOutOfRangeAndInvalid() {
+        System.out.println("\n--- TEST: out-of-range values / invalid percentile ---");
+
+        long trackable = (1L << 41) - 1;
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE / 4);
+
+        assertEquals("Max keeps the exact value", Long.MAX_VALUE / 4, histogram.getMaxMicros());
+        assertEquals("p100 reported as the last bucket bound (~25 days)",
+                trackable, histogram.percentileMicros(100));
+
+        assertThrows("percentile(0) rejected", () -> histogram.percentileMicros(0));
+        assertThrows("percentile(100.1) rejected", () -> histogram.percentileMicros(100.1));
+        assertThrows("percentile(NaN) rejected", () -> histogram.percentileMicros(Double.NaN));
+    }
+
+    private void testConcurrentRecording() {
+        System.out.println("\n--- TEST: concurrent record ---");
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 100_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(i % 1000);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        assertEquals("Count", (long) threads * perThread, histogram.getCount());
+        assertDouble("Mean", 499.5, histogram.getMeanMicros());
+        assertEquals("Max", 999, histogram.getMaxMicros());
+    }
+
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    private static long upperBound(long micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(micros);
+        histogram.record(1L << 40);
+        return histogram.percentileMicros(50);
+    }
+
+    private static void assertThrows(String testName, Runnable action) {
+        try {
+            action.run();
+            System.out.printf("%s (no exception)%n", testName);
+        } catch (IllegalArgumentException e) {
+            System.out.printf("%s%n", testName);
+        }
+    }
+
+    private static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (FAILED)%n", testName);
+        }
+    }
+
+    private static void assertEquals(String testName, long expected, long actual) {
+        if (expected == actual) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected=%d, actual=%d)%n",
+                    testName, expected, actual);
+        }
+    }
+
+    private static void assertDouble(String testName, double expected, double actual) {
+        double eps = 1e-6;
+        if (Math.abs(expected - actual) < eps) {
+            System.out.printf("%s (expected=%.2f, actual=%.2f)%n",
+                    testName, expected, actual);
+        } else {
+            System.out.printf("%s FAILED (expected=%.2f, actual=%.2f)%n",
+                    testName, expected, actual);
+        }
+    }
+}
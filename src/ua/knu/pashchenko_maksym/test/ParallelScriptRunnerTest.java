@@ -0,0 +1,459 @@
+package ua.knu.pashchenko_maksym.test;
+
+import ua.knu.pashchenko_maksym.model.Course;
+import ua.knu.pashchenko_maksym.model.Grade;
+import ua.knu.pashchenko_maksym.model.Group;
+import ua.knu.pashchenko_maksym.model.Student;
+import ua.knu.pashchenko_maksym.model.Teacher;
+import ua.knu.pashchenko_maksym.script.ParallelScriptRunner;
+import ua.knu.pashchenko_maksym.script.ScriptCommandExecutor;
+import ua.knu.pashchenko_maksym.service.GradeBookService;
+import ua.knu.pashchenko_maksym.service.ReportService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * Простий "ручний" тест-клас для ParallelScriptRunner.
+ * Запускається як звичайний main-клас, без JUnit і без БД.
+ *
+ * <p>Сценарій виконується двічі на сервісі в пам'яті: послідовно через ScriptCommandExecutor
+ * і паралельно через ParallelScriptRunner, де кожен запис затримується на випадковий час.
+ * Якщо граф залежностей пропустить ребро, паралельний прогін видасть інші id сутностей,
+ * помилки "not found" або звіти з іншою кількістю оцінок.
+ */
+public class ParallelScriptRunnerTest {
+
+    private static final int WORKERS = 8;
+
+    public static void main(String[] args) {
+        System.out.println("===================================");
+        System.out.println("    ParallelScriptRunner TESTS     ");
+        System.out.println("===================================");
+
+        try {
+            ParallelScriptRunnerTest tester = new ParallelScriptRunnerTest();
+            tester.runAllTests();
+
+            System.out.println("\n===================================");
+            System.out.println("   TESTS FINISHED. SEE OUTPUT ↑    ");
+            System.out.println("===================================");
+
+        } catch (Exception e) {
+            System.out.println("Global test failure:");
+            e.printStackTrace();
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        testSameResultAsSequential(randomScript(600, 23), "one window");
+        testSameResultAsSequential(randomScript(ParallelScriptRunner.WINDOW_SIZE + 1_500, 29), "two windows");
+        testReportSeesOnlyEarlierGrades();
+    }
+
+    // ======================
+    // ОКРЕМІ ТЕСТИ
+    // ======================
+
+    private void testSameResultAsSequential(List<String> script, String label) throws IOException {
+        System.out.println("\n--- TEST: parallel run = sequential run (" + label + ", "
+                + script.size() + " commands) ---");
+
+        Run sequential = runSequential(script);
+        Run parallel = runParallel(script);
+
+        assertEquals("Commands executed", script.size(), parallel.summary.getCommands());
+        assertEquals("Errors", 0, parallel.summary.getErrors());
+        assertTrue("Log in file order, same ids and averages as sequential run",
+                parallel.log.equals(withoutGradeIds(sequential.log)));
+        assertTrue("Reports in file order with the same grades as sequential run",
+                parallel.reports.equals(sequential.reports));
+        assertTrue("SET_GRADE for one student ran concurrently (max "
+                        + parallel.book.maxConcurrentSameStudent.get() + ")",
+                parallel.book.maxConcurrentSameStudent.get() > 1);
+        assertTrue("Longest chain shorter than the script (" + parallel.summary.getLongestChain() + ")",
+                parallel.summary.getLongestChain() < script.size());
+    }
+
+    /**
+     * Звіт стоїть між двома серіями оцінок одного студента: він має дочекатися першої серії
+     * й не побачити жодної оцінки з другої, навіть якщо вони виконуються раніше.
+     */
+    private void testReportSeesOnlyEarlierGrades() throws IOException {
+        System.out.println("\n--- TEST: REPORT_* between two series of SET_GRADE ---");
+
+        List<String> script = new ArrayList<>();
+        script.add("ADD_GROUP;G1;1");
+        script.add("ADD_TEACHER;T;One;Dept;t1@example.com");
+        script.add("ADD_COURSE;C1;1;2025;1;5");
+        script.add("ADD_STUDENT;S;One;s1@example.com;1;2025");
+        for (int i = 0; i < 40; i++) {
+            script.add("SET_GRADE;1;1;1;90;2025-01-10");
+        }
+        script.add("REPORT_STUDENT;1");
+        script.add("REPORT_GROUP_COURSE;1;1");
+        script.add("REPORT_TEACHER;1");
+        for (int i = 0; i < 40; i++) {
+            script.add("SET_GRADE;1;1;1;70;2025-01-11");
+        }
+        script.add("REPORT_STUDENT;1");
+
+        Run parallel = runParallel(script);
+
+        assertEquals("Errors", 0, parallel.summary.getErrors());
+        assertTrue("Reports see 40, 40, 40, then 80 grades",
+                parallel.reports.equals("Student 1: 40 grades, sum=3600.00\n"
+                        + "Group 1, course 1: 40 grades, sum=3600.00\n"
+                        + "Teacher 1: 40 grades, sum=3600.00\n"
+                        + "Student 1: 80 grades, sum=6400.00\n"));
+    }
+
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    /**
+     * Випадковий сценарій, у якому кожне посилання вказує на сутність, створену вище у файлі.
+     * Студентів мало, тож оцінки одного студента часто йдуть поруч.
+     */
+    private static List<String> randomScript(int size, long seed) {
+        Random random = new Random(seed);
+        List<String> script = new ArrayList<>();
+        int groups = 1;
+        int teachers = 1;
+        int courses = 1;
+        int students = 1;
+        script.add("ADD_GROUP;G1;1");
+        script.add("ADD_TEACHER;T;1;Dept;t1@example.com");
+        script.add("ADD_COURSE;C1;1;2025;1;5");
+        script.add("ADD_STUDENT;S;1;s1@example.com;1;2025");
+
+        while (script.size() < size) {
+            int r = random.nextInt(100);
+            if (r < 2) {
+                groups++;
+                script.add("ADD_GROUP;G" + groups + ";" + (1 + random.nextInt(4)));
+            } else if (r < 4) {
+                teachers++;
+                script.add("ADD_TEACHER;T;" + teachers + ";Dept;t" + teachers + "@example.com");
+            } else if (r < 6) {
+                courses++;
+                script.add("ADD_COURSE;C" + courses + ";1;2025;" + (1 + random.nextInt(teachers)) + ";5");
+            } else if (r < 9) {
+                students++;
+                script.add("ADD_STUDENT;S;" + students + ";s" + students + "@example.com;"
+                        + (1 + random.nextInt(groups)) + ";2025");
+            } else if (r < 85) {
+                int teacher = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(teachers);
+                script.add("SET_GRADE;" + (1 + random.nextInt(students)) + ";" + (1 + random.nextInt(courses))
+                        + ";" + teacher + ";" + (60 + random.nextInt(81) / 2.0) + ";2025-01-" + (10 + random.nextInt(20)));
+            } else if (r < 92) {
+                script.add("REPORT_STUDENT;" + (1 + random.nextInt(students)));
+            } else if (r < 96) {
+                script.add("REPORT_GROUP_COURSE;" + (1 + random.nextInt(groups)) + ";" + (1 + random.nextInt(courses)));
+            } else {
+                script.add("REPORT_TEACHER;" + (1 + random.nextInt(teachers)));
+            }
+        }
+        return script;
+    }
+
+    /**
+     * Лог і звіти в тому вигляді, як їх пише ParallelScriptRunner, але команди виконуються
+     * по черзі в порядку файлу.
+     */
+    private static Run runSequential(List<String> script) {
+        InMemoryGradeBook book = new InMemoryGradeBook(false);
+        ByteArrayOutputStream reports = new ByteArrayOutputStream();
+        StringBuilder log = new StringBuilder("=== Test run log ===\n");
+        try (PrintStream reportStream = new PrintStream(reports, true, StandardCharsets.UTF_8)) {
+            ScriptCommandExecutor executor =
+                    new ScriptCommandExecutor(book, new InMemoryReports(book), reportStream);
+            for (String line : script) {
+                StringBuilder commandLog = new StringBuilder();
+                try {
+                    executor.execute(line, commandLog);
+                } catch (RuntimeException e) {
+                    commandLog.append("  ERROR: ").append(e.getMessage()).append('\n');
+                }
+                log.append("Command: ").append(line).append('\n').append(commandLog).append('\n');
+            }
+        }
+        return new Run(book, null, log.toString(), reports.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Run runParallel(List<String> script) throws IOException {
+        Path dir = Files.createTempDirectory("parallel-script-test");
+        try {
+            Path scriptFile = Files.write(dir.resolve("script.txt"), script, StandardCharsets.UTF_8);
+            Path logFile = dir.resolve("result.txt");
+
+            InMemoryGradeBook book = new InMemoryGradeBook(true);
+            ByteArrayOutputStream reports = new ByteArrayOutputStream();
+            ParallelScriptRunner.Summary summary;
+            try (PrintStream reportStream = new PrintStream(reports, true, StandardCharsets.UTF_8)) {
+                summary = new ParallelScriptRunner(book, new InMemoryReports(book), reportStream, WORKERS)
+                        .run(scriptFile, logFile);
+            }
+            String log = Files.readString(logFile, StandardCharsets.UTF_8);
+            return new Run(book, summary, log, reports.toString(StandardCharsets.UTF_8));
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * Паралельний режим пише оцінки без id (їх видає послідовність у порядку вставок).
+     */
+    private static String withoutGradeIds(String log) {
+        return log.replaceAll("Grade\\{\\d+, ", "Grade{");
+    }
+
+    private static final class Run {
+
+        private final InMemoryGradeBook book;
+        private final ParallelScriptRunner.Summary summary;
+        private final String log;
+        private final String reports;
+
+        private Run(InMemoryGradeBook book, ParallelScriptRunner.Summary summary, String log, String reports) {
+            this.book = book;
+            this.summary = summary;
+            this.log = log;
+            this.reports = reports;
+        }
+    }
+
+    /**
+     * Сервіс у пам'яті: id видаються лічильниками в порядку викликів, як послідовність БД,
+     * а посилання на ще не створену сутність відхиляються, як зовнішні ключі.
+     */
+    private static final class InMemoryGradeBook extends GradeBookService {
+
+        private final boolean randomDelays;
+        private final AtomicLong groupIds = new AtomicLong();
+        private final AtomicLong teacherIds = new AtomicLong();
+        private final AtomicLong courseIds = new AtomicLong();
+        private final AtomicLong studentIds = new AtomicLong();
+        private final AtomicLong gradeIds = new AtomicLong();
+        private final Map<Long, Long> groupByStudent = new ConcurrentHashMap<>();
+        private final List<Grade> grades = new ArrayList<>();
+
+        private final Map<Long, AtomicInteger> inFlightByStudent = new ConcurrentHashMap<>();
+        private final AtomicInteger maxConcurrentSameStudent = new AtomicInteger();
+
+        private InMemoryGradeBook(boolean randomDelays) {
+            super(null, null, null, null, null);
+            this.randomDelays = randomDelays;
+        }
+
+        @Override
+        public Group createGroup(String name, short year) {
+            pause();
+            Group group = new Group();
+            group.setId(groupIds.incrementAndGet());
+            group.setName(name);
+            group.setYear(year);
+            return group;
+        }
+
+        @Override
+        public Teacher createTeacher(String firstName, String lastName, String department, String email) {
+            pause();
+            Teacher teacher = new Teacher();
+            teacher.setId(teacherIds.incrementAndGet());
+            teacher.setFirstName(firstName);
+            teacher.setLastName(lastName);
+            teacher.setDepartment(department);
+            teacher.setEmail(email);
+            return teacher;
+        }
+
+        @Override
+        public Course createCourse(String name, Integer semester, Integer year, Long teacherId, Integer credits) {
+            require("Teacher", teacherId, teacherIds);
+            pause();
+            Course course = new Course();
+            course.setId(courseIds.incrementAndGet());
+            course.setName(name);
+            course.setTeacherId(teacherId);
+            return course;
+        }
+
+        @Override
+        public Student createStudent(String firstName, String lastName, String email, Long groupId,
+                                     int enrollmentYear) {
+            require("Group", groupId, groupIds);
+            pause();
+            Student student = new Student();
+            student.setId(studentIds.incrementAndGet());
+            student.setFirstName(firstName);
+            student.setLastName(lastName);
+            student.setEmail(email);
+            student.setGroupId(groupId);
+            groupByStudent.put(student.getId(), groupId);
+            return student;
+        }
+
+        @Override
+        public Grade addGrade(Long studentId, Long courseId, Long teacherId, double value, LocalDate date) {
+            require("Student", studentId, studentIds);
+            require("Course", courseId, courseIds);
+            if (teacherId != null) {
+                require("Teacher", teacherId, teacherIds);
+            }
+
+            AtomicInteger inFlight = inFlightByStudent.computeIfAbsent(studentId, id -> new AtomicInteger());
+            maxConcurrentSameStudent.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                pause();
+                Grade grade = new Grade();
+                grade.setId(gradeIds.incrementAndGet());
+                grade.setStudentId(studentId);
+                grade.setCourseId(courseId);
+                grade.setTeacherId(teacherId);
+                grade.setValue(BigDecimal.valueOf(value));
+                grade.setGradeDate(date);
+                synchronized (grades) {
+                    grades.add(grade);
+                }
+                return grade;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public double getStudentAverageGrade(Long studentId) {
+            return average(g -> g.getStudentId().equals(studentId));
+        }
+
+        @Override
+        public double getGroupAverageForCourse(Long groupId, Long courseId) {
+            return average(inGroupCourse(groupId, courseId));
+        }
+
+        @Override
+        public double getTeacherAverageGrade(Long teacherId) {
+            return average(g -> teacherId.equals(g.getTeacherId()));
+        }
+
+        private Predicate<Grade> inGroupCourse(Long groupId, Long courseId) {
+            return g -> g.getCourseId().equals(courseId) && groupId.equals(groupByStudent.get(g.getStudentId()));
+        }
+
+        /**
+         * Кількість і сума оцінок; не залежить від порядку вставки.
+         */
+        private String summary(Predicate<Grade> filter) {
+            BigDecimal sum = BigDecimal.ZERO.setScale(2);
+            int count = 0;
+            synchronized (grades) {
+                for (Grade grade : grades) {
+                    if (filter.test(grade)) {
+                        sum = sum.add(grade.getValue());
+                        count++;
+                    }
+                }
+            }
+            return count + " grades, sum=" + sum;
+        }
+
+        private double average(Predicate<Grade> filter) {
+            BigDecimal sum = BigDecimal.ZERO;
+            int count = 0;
+            synchronized (grades) {
+                for (Grade grade : grades) {
+                    if (filter.test(grade)) {
+                        sum = sum.add(grade.getValue());
+                        count++;
+                    }
+                }
+            }
+            return count == 0 ? 0.0 : sum.doubleValue() / count;
+        }
+
+        private static void require(String entity, Long id, AtomicLong ids) {
+            if (id == null || id < 1 || id > ids.get()) {
+                throw new IllegalArgumentException(entity + " with id " + id + " not found");
+            }
+        }
+
+        private void pause() {
+            if (randomDelays) {
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(200_000));
+            }
+        }
+    }
+
+    /**
+     * Звіти виводять кількість і суму оцінок, які бачить команда в момент виконання.
+     */
+    private static final class InMemoryReports extends ReportService {
+
+        private final InMemoryGradeBook book;
+
+        private InMemoryReports(InMemoryGradeBook book) {
+            super(null, null, null, null, null);
+            this.book = book;
+        }
+
+        @Override
+        public boolean writeStudentReport(Long studentId, PrintStream out) {
+            out.println("Student " + studentId + ": " + book.summary(g -> g.getStudentId().equals(studentId)));
+            return true;
+        }
+
+        @Override
+        public boolean writeGroupCourseReport(Long groupId, Long courseId, PrintStream out) {
+            out.println("Group " + groupId + ", course " + courseId + ": "
+                    + book.summary(book.inGroupCourse(groupId, courseId)));
+            return true;
+        }
+
+        @Override
+        public boolean writeTeacherReport(Long teacherId, PrintStream out) {
+            out.println("Teacher " + teacherId + ": " + book.summary(g -> teacherId.equals(g.getTeacherId())));
+            return true;
+        }
+    }
+
+    private static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (FAILED)%n", testName);
+        }
+    }
+
+    private static void assertEquals(String testName, long expected, long actual) {
+        if (expected == actual) {
+            System.out.printf("%s%n", testName);
+        } else {
+            System.out.printf("%s (expected=%d, actual=%d)%n",
+                    testName, expected, actual);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 import ua.knu.pashchenko_maksym.model.Grade;
 import ua.knu.pashchenko_maksym.model.Student;
 
@@ -52,6 +54,16 @@ public final class CsvUtil {
 
     public static void writeGradesToCsv(List<Grade> grades, Path file)
             throws IOException {
+        writeGradesToCsv(grades.iterator(), file);
+    }
+
+    public static void writeGradesToCsv(Stream<Grade> grades, Path file)
+            throws IOException {
+        writeGradesToCsv(grades.iterator(), file);
+    }
+
+    private static void writeGradesToCsv(Iterator<Grade> grades, Path file)
+            throws IOException {
 
         try (BufferedWriter writer =
                      Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
@@ -59,7 +71,8 @@ public final class CsvUtil {
             writer.write("id;student_id;course_id;teacher_id;value;grade_date");
             writer.newLine();
 
-            for (Grade g : grades) {
+            while (grades.hasNext()) {
+                Grade g = grades.next();
                 String id = g.getId() != null ? g.getId().toString() : "";
                 String studentId = g.getStudentId() != null ? g.getStudentId().toString() : "";
                 String courseId = g.getCourseId() != null ? g.getCourseId().toString() : "";